@@ -0,0 +1,228 @@
+package com.ibm.fscc.apigateway.audit;
+
+import com.ibm.fscc.kafka.dto.AuditEventCodec;
+import com.ibm.fscc.kafka.dto.AuditEventRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves audit events off the request path. The filter only enqueues the
+ * event into a bounded ring buffer; a dedicated thread drains it in batches,
+ * writes each event with {@link AuditEventCodec} and hands it to Kafka keyed
+ * by correlation id, so events of one request chain land on the same
+ * partition in order.
+ *
+ * When the buffer is full the overflow policy decides what the caller pays:
+ * DROP discards the event, SAMPLE starts keeping only one in
+ * {@code sample-rate} events once the buffer is half full, and BLOCK waits
+ * up to {@code block-timeout-ms} for space (this parks the calling Netty
+ * thread, so keep the timeout small).
+ */
+@Component
+public class AuditEventPublisher implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        DROP,
+        SAMPLE,
+        BLOCK
+    }
+
+    record PendingEvent(AuditEventRecord event, long enqueuedAt) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventPublisher.class);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.kafka.topic:audit.api-gateway}")
+    private String auditTopic;
+
+    @Value("${audit.publisher.capacity:8192}")
+    private int capacity;
+
+    @Value("${audit.publisher.batch-size:256}")
+    private int batchSize;
+
+    @Value("${audit.publisher.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.publisher.sample-rate:10}")
+    private int sampleRate;
+
+    @Value("${audit.publisher.block-timeout-ms:5}")
+    private long blockTimeoutMs;
+
+    @Value("${audit.publisher.idle-wait-ms:5}")
+    private long idleWaitMs;
+
+    @Value("${audit.publisher.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private AuditRingBuffer<PendingEvent> buffer;
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private Counter droppedFull;
+    private Counter droppedSampled;
+    private Counter droppedTimeout;
+    private Counter failed;
+    private Timer emitLatency;
+
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    public AuditEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        buffer = new AuditRingBuffer<>(capacity);
+
+        Gauge.builder("audit.publisher.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be published")
+                .register(meterRegistry);
+        droppedFull = dropCounter("full");
+        droppedSampled = dropCounter("sampled");
+        droppedTimeout = dropCounter("timeout");
+        failed = Counter.builder("audit.publisher.failed")
+                .description("Audit events that could not be serialized or sent")
+                .register(meterRegistry);
+        emitLatency = Timer.builder("audit.publisher.emit.latency")
+                .description("Time from enqueueing an audit event to its acknowledgement by Kafka")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enqueues an event for publishing. Never throws; events that cannot be
+     * accepted under the overflow policy are counted and discarded.
+     */
+    public void publish(AuditEventRecord event) {
+        PendingEvent pending = new PendingEvent(event, System.nanoTime());
+        switch (overflowPolicy) {
+            case DROP -> {
+                if (!buffer.offer(pending)) {
+                    droppedFull.increment();
+                }
+            }
+            case SAMPLE -> {
+                if (buffer.size() >= buffer.capacity() / 2
+                        && sampleCounter.getAndIncrement() % sampleRate != 0) {
+                    droppedSampled.increment();
+                } else if (!buffer.offer(pending)) {
+                    droppedFull.increment();
+                }
+            }
+            case BLOCK -> {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+                while (!buffer.offer(pending)) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        droppedTimeout.increment();
+                        return;
+                    }
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drains and sends one batch. Returns the number of events taken from
+     * the buffer. Called from the publisher thread only.
+     */
+    int publishBatch(List<PendingEvent> batch) {
+        batch.clear();
+        int drained = buffer.drainTo(batch, batchSize);
+        for (PendingEvent pending : batch) {
+            try {
+                AuditEventRecord event = pending.event();
+                kafkaTemplate.send(auditTopic, event.getCorrelationId(), AuditEventCodec.toBytes(event))
+                        .whenComplete((result, ex) -> {
+                            if (ex != null) {
+                                failed.increment();
+                                logger.error("Failed to send audit event to Kafka: {}", ex.getMessage());
+                            } else {
+                                emitLatency.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+                            }
+                        });
+            } catch (Exception e) {
+                failed.increment();
+                logger.error("Error publishing audit event: {}", e.getMessage(), e);
+            }
+        }
+        return drained;
+    }
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        long idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+        while (running) {
+            if (publishBatch(batch) == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+            }
+        }
+        // Flush what the filters enqueued before shutdown
+        while (publishBatch(batch) > 0) {
+            // keep draining
+        }
+        kafkaTemplate.flush();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        publisherThread = new Thread(this::run, "audit-publisher");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+        logger.info("Audit publisher started: capacity={}, batchSize={}, overflowPolicy={}",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(publisherThread);
+        try {
+            publisherThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (publisherThread.isAlive()) {
+            logger.warn("Audit publisher did not drain within {} ms, {} events left", shutdownTimeoutMs, buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lower than the web server's phase: started before it, stopped after it
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private Counter dropCounter(String reason) {
+        return Counter.builder("audit.publisher.dropped")
+                .description("Audit events discarded because the buffer was full")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
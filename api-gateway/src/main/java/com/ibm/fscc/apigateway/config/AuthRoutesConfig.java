@@ -0,0 +1,17 @@
+package com.ibm.fscc.apigateway.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ibm.fscc.apigateway.filters.RouteMatcher;
+
+@Configuration
+@EnableConfigurationProperties(AuthRoutesProperties.class)
+public class AuthRoutesConfig {
+
+    @Bean
+    public RouteMatcher routeMatcher(AuthRoutesProperties properties) {
+        return RouteMatcher.compile(properties);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ibm.fscc.apigateway.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Which requests JwtAuthenticationGlobalFilter lets through without a token
+ * and which it requires one for, bound from {@code gateway.auth.*}.
+ * Paths are matched case-insensitively and ignoring a trailing slash.
+ */
+@ConfigurationProperties(prefix = "gateway.auth")
+public class AuthRoutesProperties {
+
+    // "METHOD /path" pairs matched exactly
+    private List<String> publicRoutes = new ArrayList<>(List.of(
+            "POST /api/login/authenticate",
+            "POST /api/login/set-password",
+            "POST /api/login/request-password-reset",
+            "POST /api/login/reset-password",
+            "GET /api/login/status/check",
+            "POST /api/registration",
+            "GET /api/registration/status/check",
+            "GET /api/employees/status/check",
+            // OpenAPI documentation endpoints (all services)
+            "GET /employee-service/v3/api-docs",
+            "GET /employee-service/swagger-ui.html",
+            "GET /registration-service/v3/api-docs",
+            "GET /registration-service/swagger-ui.html",
+            "GET /login-service/v3/api-docs",
+            "GET /login-service/swagger-ui.html",
+            "GET /notification-service/v3/api-docs",
+            "GET /notification-service/swagger-ui.html"));
+
+    // Any method, anywhere in the path: Swagger UI resources and OpenAPI docs
+    private List<String> publicPathSegments = new ArrayList<>(List.of(
+            "/swagger-ui",
+            "/v3/api-docs",
+            "/swagger-resources",
+            "/webjars/"));
+
+    private List<String> protectedPathPrefixes = new ArrayList<>(List.of(
+            "/api/employees",
+            "/api/registration/"));
+
+    public List<String> getPublicRoutes() {
+        return publicRoutes;
+    }
+
+    public void setPublicRoutes(List<String> publicRoutes) {
+        this.publicRoutes = publicRoutes;
+    }
+
+    public List<String> getPublicPathSegments() {
+        return publicPathSegments;
+    }
+
+    public void setPublicPathSegments(List<String> publicPathSegments) {
+        this.publicPathSegments = publicPathSegments;
+    }
+
+    public List<String> getProtectedPathPrefixes() {
+        return protectedPathPrefixes;
+    }
+
+    public void setProtectedPathPrefixes(List<String> protectedPathPrefixes) {
+        this.protectedPathPrefixes = protectedPathPrefixes;
+    }
+}
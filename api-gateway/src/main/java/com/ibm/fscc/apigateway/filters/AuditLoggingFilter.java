@@ -1,39 +1,36 @@
 package com.ibm.fscc.apigateway.filters;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.fscc.apigateway.audit.AuditEventPublisher;
+import com.ibm.fscc.kafka.dto.AuditEventRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class AuditLoggingFilter implements GlobalFilter, Ordered {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditLoggingFilter.class);
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private static final String EVENT_TYPE = "API_GATEWAY_REQUEST";
+    private static final String SERVICE_NAME = "api-gateway";
+    private static final String SERVICE_VERSION = "1.0.0";
 
-    @Value("${audit.kafka.topic:audit.api-gateway}")
-    private String auditTopic;
+    private final AuditEventPublisher auditEventPublisher;
 
-    public AuditLoggingFilter(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+    public AuditLoggingFilter(AuditEventPublisher auditEventPublisher) {
+        this.auditEventPublisher = auditEventPublisher;
     }
 
     @Override
@@ -46,64 +43,58 @@ public class AuditLoggingFilter implements GlobalFilter, Ordered {
             long responseTime = System.currentTimeMillis() - startTime;
 
             try {
-                Map<String, Object> auditEvent = buildAuditEvent(request, response, responseTime);
-                String auditJson = objectMapper.writeValueAsString(auditEvent);
-
-                kafkaTemplate.send(auditTopic, auditJson)
-                        .whenComplete((result, ex) -> {
-                            if (ex != null) {
-                                logger.error("Failed to send audit event to Kafka: {}", ex.getMessage());
-                            } else {
-                                logger.debug("Audit event sent to Kafka: {}", auditEvent.get("eventId"));
-                            }
-                        });
+                auditEventPublisher.publish(buildAuditEvent(request, response, responseTime));
             } catch (Exception e) {
                 logger.error("Error creating audit event: {}", e.getMessage(), e);
             }
         }));
     }
 
-    private Map<String, Object> buildAuditEvent(ServerHttpRequest request, ServerHttpResponse response,
+    private AuditEventRecord buildAuditEvent(ServerHttpRequest request, ServerHttpResponse response,
             long responseTime) {
-        Map<String, Object> event = new HashMap<>();
-
-        // Event metadata
-        event.put("eventId", UUID.randomUUID().toString());
-        event.put("eventType", "API_GATEWAY_REQUEST");
-        event.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
-        event.put("serviceName", "api-gateway");
-        event.put("serviceVersion", "1.0.0");
-
-        // Request details
-        event.put("httpMethod", request.getMethod().toString());
-        event.put("requestPath", request.getURI().getPath());
-        event.put("action", request.getMethod().toString());
+        String method = request.getMethod().name();
+        HttpStatusCode statusCode = response.getStatusCode();
 
         // User details from headers (set by JWT filter)
         String userId = request.getHeaders().getFirst("X-User-Id");
         String userRole = request.getHeaders().getFirst("X-User-Role");
-        event.put("userId", userId != null ? userId : "anonymous");
-        event.put("metadata", String.format("{\"role\":\"%s\"}", userRole != null ? userRole : "NONE"));
-
-        // Client details
-        String ipAddress = getClientIp(request);
-        event.put("ipAddress", ipAddress);
-        event.put("userAgent", request.getHeaders().getFirst(HttpHeaders.USER_AGENT));
 
-        // Response details
-        event.put("responseCode", response.getStatusCode() != null ? response.getStatusCode().value() : 0);
-        event.put("responseTimeMs", responseTime);
-        event.put("status",
-                response.getStatusCode() != null && response.getStatusCode().is2xxSuccessful() ? "SUCCESS" : "FAILURE");
-
-        // Correlation
         String correlationId = request.getHeaders().getFirst("X-Correlation-Id");
         if (correlationId == null) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = randomUuid();
         }
-        event.put("correlationId", correlationId);
 
-        return event;
+        return AuditEventRecord.builder()
+                // Event metadata
+                .eventId(randomUuid())
+                .eventType(EVENT_TYPE)
+                .timestamp(LocalDateTime.now())
+                .serviceName(SERVICE_NAME)
+                .serviceVersion(SERVICE_VERSION)
+                // Request details
+                .httpMethod(method)
+                .requestPath(request.getURI().getPath())
+                .action(method)
+                .userId(userId != null ? userId : "anonymous")
+                .metadata("{\"role\":\"" + (userRole != null ? userRole : "NONE") + "\"}")
+                // Client details
+                .ipAddress(getClientIp(request))
+                .userAgent(request.getHeaders().getFirst(HttpHeaders.USER_AGENT))
+                // Response details
+                .responseCode(statusCode != null ? statusCode.value() : 0)
+                .responseTimeMs(responseTime)
+                .status(statusCode != null && statusCode.is2xxSuccessful() ? "SUCCESS" : "FAILURE")
+                .correlationId(correlationId)
+                .build();
+    }
+
+    // Random (version 4) UUID from ThreadLocalRandom; event and correlation ids
+    // only need to be unique, not unguessable, so skip UUID.randomUUID()'s SecureRandom
+    private static String randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
     }
 
     private String getClientIp(ServerHttpRequest request) {
@@ -0,0 +1,94 @@
+package com.ibm.fscc.apigateway.filters;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpMethod;
+
+import com.ibm.fscc.apigateway.config.AuthRoutesProperties;
+
+/**
+ * Route table for JwtAuthenticationGlobalFilter, normalized once at startup.
+ * A request path is normalized once per lookup (lowercased, one trailing
+ * slash dropped; both return the same string for typical paths) and then
+ * resolved with a hash lookup for exact public routes and a few contains
+ * and startsWith checks, instead of re-normalizing every configured route
+ * on every request.
+ */
+public final class RouteMatcher {
+
+    public enum Access {
+        PUBLIC,
+        PROTECTED,
+        UNRESTRICTED
+    }
+
+    // Normalized exact public paths per HTTP method
+    private final Map<HttpMethod, Set<String>> publicRoutes;
+
+    // Public for any method when found anywhere in the normalized path
+    private final String[] publicSegments;
+
+    private final String[] protectedPrefixes;
+
+    private RouteMatcher(Map<HttpMethod, Set<String>> publicRoutes, String[] publicSegments,
+            String[] protectedPrefixes) {
+        this.publicRoutes = publicRoutes;
+        this.publicSegments = publicSegments;
+        this.protectedPrefixes = protectedPrefixes;
+    }
+
+    public static RouteMatcher compile(AuthRoutesProperties properties) {
+        Map<HttpMethod, Set<String>> publicRoutes = new HashMap<>();
+        for (String route : properties.getPublicRoutes()) {
+            String[] parts = route.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Public route must be 'METHOD /path': " + route);
+            }
+            HttpMethod method = HttpMethod.valueOf(parts[0].toUpperCase(Locale.ROOT));
+            publicRoutes.computeIfAbsent(method, m -> new HashSet<>()).add(normalize(parts[1]));
+        }
+        publicRoutes.replaceAll((method, paths) -> Set.copyOf(paths));
+
+        String[] publicSegments = properties.getPublicPathSegments().stream()
+                .map(segment -> segment.toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+        String[] protectedPrefixes = properties.getProtectedPathPrefixes().stream()
+                .map(RouteMatcher::normalize)
+                .toArray(String[]::new);
+        return new RouteMatcher(Map.copyOf(publicRoutes), publicSegments, protectedPrefixes);
+    }
+
+    public Access classify(HttpMethod method, String path) {
+        String normalized = normalize(path);
+
+        Set<String> routes = publicRoutes.get(method);
+        if (routes != null && routes.contains(normalized)) {
+            return Access.PUBLIC;
+        }
+        for (String segment : publicSegments) {
+            if (normalized.contains(segment)) {
+                return Access.PUBLIC;
+            }
+        }
+        for (String prefix : protectedPrefixes) {
+            if (normalized.startsWith(prefix)) {
+                return Access.PROTECTED;
+            }
+        }
+        return Access.UNRESTRICTED;
+    }
+
+    private static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String noSlash = (path.endsWith("/") && path.length() > 1)
+                ? path.substring(0, path.length() - 1)
+                : path;
+        return noSlash.toLowerCase(Locale.ROOT);
+    }
+}
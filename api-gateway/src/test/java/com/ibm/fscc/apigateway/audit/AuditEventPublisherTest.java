@@ -0,0 +1,124 @@
+package com.ibm.fscc.apigateway.audit;
+
+import com.ibm.fscc.kafka.dto.AuditEventRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new AuditEventPublisher(kafkaTemplate, meterRegistry);
+        ReflectionTestUtils.setField(publisher, "auditTopic", "audit.api-gateway");
+        ReflectionTestUtils.setField(publisher, "batchSize", 10);
+        ReflectionTestUtils.setField(publisher, "sampleRate", 2);
+        ReflectionTestUtils.setField(publisher, "blockTimeoutMs", 1L);
+    }
+
+    @Test
+    void shouldSendBatchKeyedByCorrelationId() {
+        configure(8, AuditEventPublisher.OverflowPolicy.DROP);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        publisher.publish(event("e1", "corr-1"));
+        publisher.publish(event("e2", "corr-2"));
+        int sent = publisher.publishBatch(new ArrayList<>());
+
+        assertEquals(2, sent);
+        verify(kafkaTemplate).send("audit.api-gateway", "corr-1",
+                "{\"eventId\":\"e1\",\"correlationId\":\"corr-1\"}".getBytes(StandardCharsets.UTF_8));
+        verify(kafkaTemplate).send("audit.api-gateway", "corr-2",
+                "{\"eventId\":\"e2\",\"correlationId\":\"corr-2\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(2, meterRegistry.get("audit.publisher.emit.latency").timer().count());
+        assertEquals(0.0, meterRegistry.get("audit.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void shouldDropWhenFullUnderDropPolicy() {
+        configure(2, AuditEventPublisher.OverflowPolicy.DROP);
+
+        publishEvents(3);
+
+        assertEquals(1.0, dropped("full"));
+        assertEquals(2.0, meterRegistry.get("audit.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void shouldSampleOnceHalfFullUnderSamplePolicy() {
+        configure(8, AuditEventPublisher.OverflowPolicy.SAMPLE);
+
+        // 4 admitted unconditionally, then 1 of every 2
+        publishEvents(8);
+
+        assertEquals(2.0, dropped("sampled"));
+        assertEquals(6.0, meterRegistry.get("audit.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void shouldGiveUpAfterTimeoutUnderBlockPolicy() {
+        configure(2, AuditEventPublisher.OverflowPolicy.BLOCK);
+
+        publishEvents(3);
+
+        assertEquals(1.0, dropped("timeout"));
+    }
+
+    @Test
+    void shouldCountFailedSends() {
+        configure(8, AuditEventPublisher.OverflowPolicy.DROP);
+        when(kafkaTemplate.send(anyString(), eq("corr-1"), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        publisher.publish(event("e1", "corr-1"));
+        publisher.publishBatch(new ArrayList<>());
+
+        assertEquals(1.0, meterRegistry.get("audit.publisher.failed").counter().count());
+    }
+
+    private void configure(int capacity, AuditEventPublisher.OverflowPolicy policy) {
+        ReflectionTestUtils.setField(publisher, "capacity", capacity);
+        ReflectionTestUtils.setField(publisher, "overflowPolicy", policy);
+        publisher.init();
+    }
+
+    private void publishEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            publisher.publish(event("e" + i, "corr-" + i));
+        }
+    }
+
+    private AuditEventRecord event(String eventId, String correlationId) {
+        return AuditEventRecord.builder().eventId(eventId).correlationId(correlationId).build();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("audit.publisher.dropped").tag("reason", reason).counter().count();
+    }
+}
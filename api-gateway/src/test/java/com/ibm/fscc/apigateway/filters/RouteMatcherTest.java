@@ -0,0 +1,72 @@
+package com.ibm.fscc.apigateway.filters;
+
+import com.ibm.fscc.apigateway.config.AuthRoutesProperties;
+import com.ibm.fscc.apigateway.filters.RouteMatcher.Access;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteMatcherTest {
+
+    private final RouteMatcher matcher = RouteMatcher.compile(new AuthRoutesProperties());
+
+    @Test
+    void shouldMatchPublicRoutesByMethodAndExactPath() {
+        assertEquals(Access.PUBLIC, matcher.classify(HttpMethod.POST, "/api/login/authenticate"));
+        assertEquals(Access.UNRESTRICTED, matcher.classify(HttpMethod.GET, "/api/login/authenticate"));
+        assertEquals(Access.UNRESTRICTED, matcher.classify(HttpMethod.POST, "/api/login/authenticate/extra"));
+        assertEquals(Access.PROTECTED, matcher.classify(HttpMethod.POST, "/api/registration/pending"));
+    }
+
+    @Test
+    void shouldIgnoreCaseAndTrailingSlash() {
+        assertEquals(Access.PUBLIC, matcher.classify(HttpMethod.POST, "/API/Login/Authenticate/"));
+        assertEquals(Access.PROTECTED, matcher.classify(HttpMethod.GET, "/API/EMPLOYEES/"));
+    }
+
+    @Test
+    void shouldTreatSwaggerResourcesAsPublicForAnyMethod() {
+        assertEquals(Access.PUBLIC, matcher.classify(HttpMethod.GET, "/employee-service/swagger-ui/index.html"));
+        assertEquals(Access.PUBLIC, matcher.classify(HttpMethod.POST, "/login-service/v3/api-docs/swagger-config"));
+        assertEquals(Access.PUBLIC, matcher.classify(HttpMethod.GET, "/webjars/swagger-ui/swagger-ui.css"));
+        assertEquals(Access.UNRESTRICTED, matcher.classify(HttpMethod.GET, "/webjars"));
+    }
+
+    @Test
+    void shouldRequireAuthenticationForProtectedPrefixes() {
+        assertEquals(Access.PROTECTED, matcher.classify(HttpMethod.GET, "/api/employees"));
+        assertEquals(Access.PROTECTED, matcher.classify(HttpMethod.DELETE, "/api/employees/42"));
+        assertEquals(Access.PUBLIC, matcher.classify(HttpMethod.GET, "/api/employees/status/check"));
+        assertEquals(Access.UNRESTRICTED, matcher.classify(HttpMethod.GET, "/"));
+        assertEquals(Access.UNRESTRICTED, matcher.classify(HttpMethod.GET, null));
+    }
+
+    @Test
+    void shouldUseConfiguredRoutes() {
+        AuthRoutesProperties properties = new AuthRoutesProperties();
+        properties.setPublicRoutes(List.of("GET /api/public/info", "delete /api/public/cache"));
+        properties.setPublicPathSegments(List.of("/Health"));
+        properties.setProtectedPathPrefixes(List.of("/api/private"));
+
+        RouteMatcher configured = RouteMatcher.compile(properties);
+
+        assertEquals(Access.PUBLIC, configured.classify(HttpMethod.GET, "/api/public/info"));
+        assertEquals(Access.PUBLIC, configured.classify(HttpMethod.DELETE, "/api/public/cache"));
+        assertEquals(Access.PUBLIC, configured.classify(HttpMethod.GET, "/actuator/HEALTH/liveness"));
+        assertEquals(Access.UNRESTRICTED, configured.classify(HttpMethod.POST, "/api/login/authenticate"));
+        assertEquals(Access.UNRESTRICTED, configured.classify(HttpMethod.GET, "/swagger-ui/index.html"));
+        assertEquals(Access.PROTECTED, configured.classify(HttpMethod.GET, "/api/private/data"));
+        assertEquals(Access.UNRESTRICTED, configured.classify(HttpMethod.GET, "/api/employees"));
+    }
+
+    @Test
+    void shouldRejectMalformedPublicRoute() {
+        AuthRoutesProperties properties = new AuthRoutesProperties();
+        properties.setPublicRoutes(List.of("/api/no-method"));
+
+        assertThrows(IllegalArgumentException.class, () -> RouteMatcher.compile(properties));
+    }
+}
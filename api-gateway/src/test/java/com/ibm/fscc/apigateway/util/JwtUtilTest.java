@@ -11,10 +11,15 @@ import javax.crypto.SecretKey;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @SpringBootTest
 @TestPropertySource(properties = {
@@ -26,6 +31,9 @@ public class JwtUtilTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private String validToken;
 
     private SecretKey getTestSigningKey() {
@@ -89,4 +97,53 @@ public class JwtUtilTest {
         assertEquals("testuser", username);
     }
 
+    @Test
+    public void shouldVerifyTokenAndReturnClaims() {
+        Claims claims = jwtUtil.verify(validToken);
+
+        assertNotNull(claims);
+        assertEquals("123", claims.get("userId", String.class));
+        assertEquals("ADMIN", claims.get("role", String.class));
+    }
+
+    @Test
+    public void shouldServeRepeatedVerificationFromCache() {
+        String token = Jwts.builder()
+                .subject("cacheduser")
+                .expiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(getTestSigningKey())
+                .compact();
+        Timer verifyTimer = meterRegistry.get(JwtUtil.VERIFY_TIMER).timer();
+        long verifiedBefore = verifyTimer.count();
+
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        assertEquals("cacheduser", second.getSubject());
+        assertSame(first, second);
+        assertEquals(verifiedBefore + 1, verifyTimer.count());
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(getTestSigningKey())
+                .compact();
+
+        assertNull(jwtUtil.verify(token));
+    }
+
+    @Test
+    public void shouldRejectTokenSignedWithAnotherKey() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(Keys.hmacShaKeyFor("anotherSecret12345678901234567890123456".getBytes()))
+                .compact();
+
+        assertNull(jwtUtil.verify(token));
+    }
+
 }
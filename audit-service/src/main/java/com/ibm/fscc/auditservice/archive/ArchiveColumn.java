@@ -0,0 +1,137 @@
+package com.ibm.fscc.auditservice.archive;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The columns of an archive file, one per AuditEvent attribute, in file
+ * order. Strings are dictionary-encoded; numbers and timestamps (as UTC
+ * epoch microseconds) are delta-encoded.
+ */
+enum ArchiveColumn {
+    ID("id", Type.LONG, AuditEvent::getId, (e, v) -> e.setId((Long) v)),
+    EVENT_ID("eventId", Type.STRING, AuditEvent::getEventId, (e, v) -> e.setEventId((String) v)),
+    EVENT_TYPE("eventType", Type.STRING, AuditEvent::getEventType, (e, v) -> e.setEventType((String) v)),
+    AGGREGATE_TYPE("aggregateType", Type.STRING, AuditEvent::getAggregateType,
+            (e, v) -> e.setAggregateType((String) v)),
+    AGGREGATE_ID("aggregateId", Type.STRING, AuditEvent::getAggregateId, (e, v) -> e.setAggregateId((String) v)),
+    TIMESTAMP("timestamp", Type.TIMESTAMP, AuditEvent::getTimestamp, (e, v) -> e.setTimestamp((LocalDateTime) v)),
+    USER_ID("userId", Type.STRING, AuditEvent::getUserId, (e, v) -> e.setUserId((String) v)),
+    USER_EMAIL("userEmail", Type.STRING, AuditEvent::getUserEmail, (e, v) -> e.setUserEmail((String) v)),
+    IP_ADDRESS("ipAddress", Type.STRING, AuditEvent::getIpAddress, (e, v) -> e.setIpAddress((String) v)),
+    USER_AGENT("userAgent", Type.STRING, AuditEvent::getUserAgent, (e, v) -> e.setUserAgent((String) v)),
+    SERVICE_NAME("serviceName", Type.STRING, AuditEvent::getServiceName, (e, v) -> e.setServiceName((String) v)),
+    SERVICE_VERSION("serviceVersion", Type.STRING, AuditEvent::getServiceVersion,
+            (e, v) -> e.setServiceVersion((String) v)),
+    CORRELATION_ID("correlationId", Type.STRING, AuditEvent::getCorrelationId,
+            (e, v) -> e.setCorrelationId((String) v)),
+    SESSION_ID("sessionId", Type.STRING, AuditEvent::getSessionId, (e, v) -> e.setSessionId((String) v)),
+    ACTION("action", Type.STRING, AuditEvent::getAction, (e, v) -> e.setAction((String) v)),
+    STATUS("status", Type.STRING, AuditEvent::getStatus, (e, v) -> e.setStatus((String) v)),
+    BEFORE_STATE("beforeState", Type.STRING, AuditEvent::getBeforeState, (e, v) -> e.setBeforeState((String) v)),
+    AFTER_STATE("afterState", Type.STRING, AuditEvent::getAfterState, (e, v) -> e.setAfterState((String) v)),
+    CHANGES("changes", Type.STRING, AuditEvent::getChanges, (e, v) -> e.setChanges((String) v)),
+    ERROR_MESSAGE("errorMessage", Type.STRING, AuditEvent::getErrorMessage, (e, v) -> e.setErrorMessage((String) v)),
+    METADATA("metadata", Type.STRING, AuditEvent::getMetadata, (e, v) -> e.setMetadata((String) v)),
+    RESOURCE_TYPE("resourceType", Type.STRING, AuditEvent::getResourceType, (e, v) -> e.setResourceType((String) v)),
+    RESOURCE_ID("resourceId", Type.STRING, AuditEvent::getResourceId, (e, v) -> e.setResourceId((String) v)),
+    HTTP_METHOD("httpMethod", Type.STRING, AuditEvent::getHttpMethod, (e, v) -> e.setHttpMethod((String) v)),
+    REQUEST_PATH("requestPath", Type.STRING, AuditEvent::getRequestPath, (e, v) -> e.setRequestPath((String) v)),
+    RESPONSE_CODE("responseCode", Type.INT, AuditEvent::getResponseCode, (e, v) -> e.setResponseCode((Integer) v)),
+    RESPONSE_TIME_MS("responseTimeMs", Type.LONG, AuditEvent::getResponseTimeMs,
+            (e, v) -> e.setResponseTimeMs((Long) v)),
+    COMPLIANCE_TAG("complianceTag", Type.STRING, AuditEvent::getComplianceTag,
+            (e, v) -> e.setComplianceTag((String) v)),
+    RETENTION_DATE("retentionDate", Type.TIMESTAMP, AuditEvent::getRetentionDate,
+            (e, v) -> e.setRetentionDate((LocalDateTime) v));
+
+    enum Type {
+        STRING,
+        LONG,
+        INT,
+        TIMESTAMP
+    }
+
+    static final ArchiveColumn[] COLUMNS = values();
+
+    final String attribute;
+    final Type type;
+    final Function<AuditEvent, Object> getter;
+    final BiConsumer<AuditEvent, Object> setter;
+
+    ArchiveColumn(String attribute, Type type, Function<AuditEvent, Object> getter,
+            BiConsumer<AuditEvent, Object> setter) {
+        this.attribute = attribute;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    static ArchiveColumn forAttribute(String attribute) {
+        for (ArchiveColumn column : COLUMNS) {
+            if (column.attribute.equals(attribute)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit event attribute: " + attribute);
+    }
+
+    long toLong(Object value) {
+        return switch (type) {
+            case TIMESTAMP -> micros((LocalDateTime) value);
+            case INT -> (Integer) value;
+            default -> (Long) value;
+        };
+    }
+
+    Object fromLong(long value) {
+        return switch (type) {
+            case TIMESTAMP -> fromMicros(value);
+            case INT -> (int) value;
+            default -> value;
+        };
+    }
+
+    static long micros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
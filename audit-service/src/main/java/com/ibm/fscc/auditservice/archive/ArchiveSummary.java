@@ -0,0 +1,11 @@
+package com.ibm.fscc.auditservice.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * What an archive file holds. maxRetentionDate is null when any of its
+ * events has no retention date, so the file never expires.
+ */
+public record ArchiveSummary(long rowCount, LocalDateTime minTimestamp, LocalDateTime maxTimestamp,
+        LocalDateTime maxRetentionDate) {
+}
@@ -0,0 +1,217 @@
+package com.ibm.fscc.auditservice.archive;
+
+import com.ibm.fscc.auditservice.archive.ColumnarArchiveWriter.RowGroup;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Scans archive files written by {@link ColumnarArchiveWriter}. Row groups
+ * outside the time range are skipped by their min/max timestamp without
+ * reading them. In the others the filter columns are read first, and a
+ * group whose dictionary lacks a filter value is skipped there; the
+ * remaining columns are only read for groups with matching rows, and only
+ * matching rows are turned into events.
+ */
+public final class ColumnarArchiveReader {
+
+    private ColumnarArchiveReader() {
+    }
+
+    /**
+     * Passes the events in [startDate, endDate] whose attributes equal the
+     * given filters, keyed by AuditEvent attribute name, to sink in file
+     * order, until sink returns false.
+     *
+     * @return false if sink stopped the scan
+     */
+    public static boolean scan(Path file, Map<String, String> filters, LocalDateTime startDate,
+            LocalDateTime endDate, Predicate<AuditEvent> sink) throws IOException {
+        long start = ArchiveColumn.micros(startDate);
+        long end = ArchiveColumn.micros(endDate);
+        Map<ArchiveColumn, String> predicates = new LinkedHashMap<>();
+        filters.forEach((attribute, value) -> predicates.put(ArchiveColumn.forAttribute(attribute), value));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (RowGroup group : readFooter(channel)) {
+                if (group.maxTimestamp() < start || group.minTimestamp() > end) {
+                    continue;
+                }
+                Object[][] columns = new Object[ArchiveColumn.COLUMNS.length][];
+                BitSet rows = new BitSet(group.rowCount());
+                rows.set(0, group.rowCount());
+
+                if (group.minTimestamp() < start || group.maxTimestamp() > end) {
+                    Object[] timestamps = decode(channel, group, ArchiveColumn.TIMESTAMP);
+                    columns[ArchiveColumn.TIMESTAMP.ordinal()] = timestamps;
+                    for (int i = 0; i < timestamps.length; i++) {
+                        long timestamp = ArchiveColumn.micros((LocalDateTime) timestamps[i]);
+                        if (timestamp < start || timestamp > end) {
+                            rows.clear(i);
+                        }
+                    }
+                }
+                for (Map.Entry<ArchiveColumn, String> predicate : predicates.entrySet()) {
+                    if (rows.isEmpty()) {
+                        break;
+                    }
+                    ArchiveColumn column = predicate.getKey();
+                    StringChunk chunk = readStrings(channel, group, column);
+                    int code = chunk.codeOf(predicate.getValue());
+                    if (code == 0) {
+                        rows.clear();
+                        break;
+                    }
+                    for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+                        if (chunk.codes()[i] != code) {
+                            rows.clear(i);
+                        }
+                    }
+                    columns[column.ordinal()] = chunk.values();
+                }
+                if (rows.isEmpty()) {
+                    continue;
+                }
+
+                for (ArchiveColumn column : ArchiveColumn.COLUMNS) {
+                    if (columns[column.ordinal()] == null) {
+                        columns[column.ordinal()] = decode(channel, group, column);
+                    }
+                }
+                for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+                    AuditEvent event = new AuditEvent();
+                    for (ArchiveColumn column : ArchiveColumn.COLUMNS) {
+                        column.setter.accept(event, columns[column.ordinal()][i]);
+                    }
+                    if (!sink.test(event)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    static List<RowGroup> readFooter(FileChannel channel) throws IOException {
+        int magicLength = ColumnarArchiveWriter.MAGIC.length;
+        long size = channel.size();
+        DataInputStream tail = new DataInputStream(new ByteArrayInputStream(
+                read(channel, size - Long.BYTES - magicLength, Long.BYTES + magicLength)));
+        long footerOffset = tail.readLong();
+        byte[] magic = tail.readNBytes(magicLength);
+        byte[] header = read(channel, 0, magicLength);
+        if (!Arrays.equals(magic, ColumnarArchiveWriter.MAGIC) || !Arrays.equals(header, ColumnarArchiveWriter.MAGIC)) {
+            throw new IOException("Not an audit archive file");
+        }
+
+        DataInputStream footer = new DataInputStream(new ByteArrayInputStream(
+                read(channel, footerOffset, (int) (size - Long.BYTES - magicLength - footerOffset))));
+        int groupCount = footer.readInt();
+        List<RowGroup> groups = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            long offset = footer.readLong();
+            int rowCount = footer.readInt();
+            long minTimestamp = footer.readLong();
+            long maxTimestamp = footer.readLong();
+            int[] lengths = new int[ArchiveColumn.COLUMNS.length];
+            for (int c = 0; c < lengths.length; c++) {
+                lengths[c] = footer.readInt();
+            }
+            groups.add(new RowGroup(offset, rowCount, minTimestamp, maxTimestamp, lengths));
+        }
+        return groups;
+    }
+
+    static Object[] decode(FileChannel channel, RowGroup group, ArchiveColumn column) throws IOException {
+        if (column.type == ArchiveColumn.Type.STRING) {
+            return readStrings(channel, group, column).values();
+        }
+        Object[] values = new Object[group.rowCount()];
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = openChunk(channel, group, column, inflater)) {
+            long previous = 0;
+            for (int i = 0; i < values.length; i++) {
+                long encoded = ArchiveColumn.readVarLong(in);
+                if (encoded != 0) {
+                    previous += ArchiveColumn.unZigZag(encoded - 1);
+                    values[i] = column.fromLong(previous);
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+        return values;
+    }
+
+    static StringChunk readStrings(FileChannel channel, RowGroup group, ArchiveColumn column) throws IOException {
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = openChunk(channel, group, column, inflater)) {
+            String[] dictionary = new String[in.readInt()];
+            for (int d = 0; d < dictionary.length; d++) {
+                dictionary[d] = new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            }
+            int[] codes = new int[group.rowCount()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = (int) ArchiveColumn.readVarLong(in);
+            }
+            return new StringChunk(dictionary, codes);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static DataInputStream openChunk(FileChannel channel, RowGroup group, ArchiveColumn column,
+            Inflater inflater) throws IOException {
+        byte[] chunk = read(channel, group.chunkOffset(column), group.chunkLengths()[column.ordinal()]);
+        return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(chunk), inflater));
+    }
+
+    private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated audit archive file");
+            }
+        }
+        return buffer.array();
+    }
+
+    record StringChunk(String[] dictionary, int[] codes) {
+
+        // 0 when the value is not in the dictionary, so no row can match it
+        int codeOf(String value) {
+            for (int d = 0; d < dictionary.length; d++) {
+                if (dictionary[d].equals(value)) {
+                    return d + 1;
+                }
+            }
+            return 0;
+        }
+
+        Object[] values() {
+            Object[] values = new Object[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                values[i] = codes[i] == 0 ? null : dictionary[codes[i] - 1];
+            }
+            return values;
+        }
+    }
+}
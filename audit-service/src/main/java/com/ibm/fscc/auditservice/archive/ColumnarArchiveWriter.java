@@ -0,0 +1,178 @@
+package com.ibm.fscc.auditservice.archive;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes audit events to a columnar archive file:
+ *
+ * <pre>
+ * MAGIC
+ * row group*     one deflated chunk per column, in ArchiveColumn order
+ * footer         group count, then per group: offset, row count,
+ *                min and max timestamp, and the length of every chunk
+ * footer offset
+ * MAGIC
+ * </pre>
+ *
+ * Events are expected in timestamp order, so row groups cover narrow time
+ * ranges and readers can skip them by their min/max timestamp. Only one row
+ * group is held in memory at a time.
+ */
+public final class ColumnarArchiveWriter {
+
+    static final byte[] MAGIC = "AUDARC01".getBytes(StandardCharsets.US_ASCII);
+
+    private ColumnarArchiveWriter() {
+    }
+
+    /**
+     * Writes the events to a new file, forcing it to disk before returning
+     */
+    public static ArchiveSummary write(Path file, Iterator<AuditEvent> events, int rowGroupSize) throws IOException {
+        List<RowGroup> groups = new ArrayList<>();
+        List<AuditEvent> batch = new ArrayList<>(rowGroupSize);
+        long rowCount = 0;
+        LocalDateTime minTimestamp = null;
+        LocalDateTime maxTimestamp = null;
+        LocalDateTime maxRetentionDate = null;
+        boolean retainedForever = false;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.write(MAGIC);
+            long position = MAGIC.length;
+
+            while (events.hasNext()) {
+                AuditEvent event = events.next();
+                batch.add(event);
+                rowCount++;
+                minTimestamp = minTimestamp == null || event.getTimestamp().isBefore(minTimestamp)
+                        ? event.getTimestamp() : minTimestamp;
+                maxTimestamp = maxTimestamp == null || event.getTimestamp().isAfter(maxTimestamp)
+                        ? event.getTimestamp() : maxTimestamp;
+                if (event.getRetentionDate() == null) {
+                    retainedForever = true;
+                } else if (maxRetentionDate == null || event.getRetentionDate().isAfter(maxRetentionDate)) {
+                    maxRetentionDate = event.getRetentionDate();
+                }
+                if (batch.size() == rowGroupSize || !events.hasNext()) {
+                    RowGroup group = writeGroup(out, position, batch);
+                    groups.add(group);
+                    position += group.length();
+                    batch.clear();
+                }
+            }
+
+            out.writeInt(groups.size());
+            for (RowGroup group : groups) {
+                out.writeLong(group.offset());
+                out.writeInt(group.rowCount());
+                out.writeLong(group.minTimestamp());
+                out.writeLong(group.maxTimestamp());
+                for (int length : group.chunkLengths()) {
+                    out.writeInt(length);
+                }
+            }
+            out.writeLong(position);
+            out.write(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        return new ArchiveSummary(rowCount, minTimestamp, maxTimestamp, retainedForever ? null : maxRetentionDate);
+    }
+
+    private static RowGroup writeGroup(DataOutputStream out, long offset, List<AuditEvent> rows) throws IOException {
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        for (AuditEvent row : rows) {
+            long timestamp = ArchiveColumn.micros(row.getTimestamp());
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+        int[] lengths = new int[ArchiveColumn.COLUMNS.length];
+        for (ArchiveColumn column : ArchiveColumn.COLUMNS) {
+            byte[] chunk = encode(column, rows);
+            out.write(chunk);
+            lengths[column.ordinal()] = chunk.length;
+        }
+        return new RowGroup(offset, rows.size(), minTimestamp, maxTimestamp, lengths);
+    }
+
+    // Strings: dictionary, then a code per row (0 for null). Numbers: per row
+    // 0 for null, else the zigzagged delta from the previous value plus one.
+    static byte[] encode(ArchiveColumn column, List<AuditEvent> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            if (column.type == ArchiveColumn.Type.STRING) {
+                Map<String, Integer> dictionary = new LinkedHashMap<>();
+                long[] codes = new long[rows.size()];
+                for (int i = 0; i < codes.length; i++) {
+                    String value = (String) column.getter.apply(rows.get(i));
+                    codes[i] = value == null ? 0 : dictionary.computeIfAbsent(value, v -> dictionary.size()) + 1;
+                }
+                out.writeInt(dictionary.size());
+                for (String value : dictionary.keySet()) {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+                for (long code : codes) {
+                    ArchiveColumn.writeVarLong(out, code);
+                }
+            } else {
+                long previous = 0;
+                for (AuditEvent row : rows) {
+                    Object value = column.getter.apply(row);
+                    if (value == null) {
+                        ArchiveColumn.writeVarLong(out, 0);
+                    } else {
+                        long current = column.toLong(value);
+                        ArchiveColumn.writeVarLong(out, ArchiveColumn.zigZag(current - previous) + 1);
+                        previous = current;
+                    }
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    record RowGroup(long offset, int rowCount, long minTimestamp, long maxTimestamp, int[] chunkLengths) {
+
+        long length() {
+            long length = 0;
+            for (int chunkLength : chunkLengths) {
+                length += chunkLength;
+            }
+            return length;
+        }
+
+        long chunkOffset(ArchiveColumn column) {
+            long chunkOffset = offset;
+            for (int i = 0; i < column.ordinal(); i++) {
+                chunkOffset += chunkLengths[i];
+            }
+            return chunkOffset;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ibm.fscc.auditservice.config;
+
+import com.ibm.fscc.auditservice.partition.AuditPartitionManager;
+import com.ibm.fscc.auditservice.rollup.AuditRollupStore;
+import com.ibm.fscc.auditservice.service.AuditArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulingConfig {
+
+    private final AuditPartitionManager auditPartitionManager;
+    private final AuditRollupStore auditRollupStore;
+    private final AuditArchiveService auditArchiveService;
+
+    /**
+     * Keeps monthly audit partitions created ahead of time, so a long-running
+     * instance never writes a new month into the default partition
+     */
+    @Scheduled(initialDelayString = "${audit.partitioning.maintenance-interval-ms:86400000}",
+            fixedDelayString = "${audit.partitioning.maintenance-interval-ms:86400000}")
+    public void createUpcomingPartitions() {
+        try {
+            auditPartitionManager.ensurePartitions(YearMonth.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to create upcoming audit partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drops hourly statistics rollups older than the hourly retention;
+     * windows reaching further back are answered from the daily rollups
+     */
+    @Scheduled(initialDelayString = "${audit.rollup.maintenance-interval-ms:86400000}",
+            fixedDelayString = "${audit.rollup.maintenance-interval-ms:86400000}")
+    public void pruneHourlyRollups() {
+        try {
+            auditRollupStore.pruneHourlyRollups(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to prune hourly audit rollups: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves whole months older than the archive age out of audit_events into
+     * archive files; does nothing unless audit.archive.enabled is set
+     */
+    @Scheduled(initialDelayString = "${audit.archive.interval-ms:86400000}",
+            fixedDelayString = "${audit.archive.interval-ms:86400000}")
+    public void archiveAgedEvents() {
+        try {
+            auditArchiveService.archiveAgedEvents();
+        } catch (RuntimeException e) {
+            log.error("Failed to archive aged audit events: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.ibm.fscc.auditservice.controller;
 
+import com.ibm.fscc.auditservice.dto.AuditPurgeStatus;
 import com.ibm.fscc.auditservice.dto.AuditQueryRequest;
+import com.ibm.fscc.auditservice.dto.AuditStatEntry;
+import com.ibm.fscc.auditservice.dto.RouteResponseTimes;
+import com.ibm.fscc.auditservice.export.AuditExportFormat;
 import com.ibm.fscc.auditservice.model.AuditEvent;
+import com.ibm.fscc.auditservice.repository.AuditEventProjections;
+import com.ibm.fscc.auditservice.service.AuditArchiveService;
+import com.ibm.fscc.auditservice.service.AuditPurgeService;
 import com.ibm.fscc.auditservice.service.AuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -9,14 +16,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/audit")
@@ -27,11 +42,14 @@ import java.util.Map;
 public class AuditController {
 
     private final AuditService auditService;
+    private final AuditPurgeService auditPurgeService;
+    private final AuditArchiveService auditArchiveService;
 
     @GetMapping("/events")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Query audit events", description = "Search and filter audit events with pagination")
-    public ResponseEntity<Page<AuditEvent>> queryAuditEvents(
+    @Operation(summary = "Query audit events", description = "Search and filter audit events with pagination; "
+            + "fields=summary or a comma-separated field list returns only those fields of each event")
+    public ResponseEntity<Page<?>> queryAuditEvents(
             @RequestParam(required = false) String eventType,
             @RequestParam(required = false) String userId,
             @RequestParam(required = false) String serviceName,
@@ -46,10 +64,21 @@ public class AuditController {
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") Boolean estimatedCount,
+            @RequestParam(required = false) String fields) {
 
         log.info("Querying audit events with filters");
 
+        List<String> attributes = null;
+        if (fields != null) {
+            try {
+                attributes = AuditEventProjections.parse(fields);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+
         AuditQueryRequest request = AuditQueryRequest.builder()
                 .eventType(eventType)
                 .userId(userId)
@@ -66,12 +95,114 @@ public class AuditController {
                 .size(size)
                 .sortBy(sortBy)
                 .sortDirection(sortDirection)
+                .estimatedCount(estimatedCount)
+                .fields(attributes)
                 .build();
 
+        if (attributes != null) {
+            return ResponseEntity.ok(auditService.queryAuditEventFields(request));
+        }
         Page<AuditEvent> events = auditService.queryAuditEvents(request);
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/events/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export audit events", description = "Stream every audit event matching the filters as NDJSON or CSV, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportAuditEvents(
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) String aggregateId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(required = false) String correlationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        AuditExportFormat exportFormat;
+        try {
+            exportFormat = AuditExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        log.info("Exporting audit events as {}", exportFormat);
+
+        AuditQueryRequest request = AuditQueryRequest.builder()
+                .eventType(eventType)
+                .userId(userId)
+                .serviceName(serviceName)
+                .aggregateId(aggregateId)
+                .action(action)
+                .status(status)
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .correlationId(correlationId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+
+        // The service opens its transaction, and so the cursor, on the thread writing the response
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                auditService.exportAuditEvents(request, exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                auditService.exportAuditEvents(request, exportFormat, out);
+            }
+        };
+
+        String filename = "audit-events." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+
+    @GetMapping("/archive/events")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Query archived audit events", description = "Search audit events moved to the archive tier, oldest first")
+    public ResponseEntity<Slice<AuditEvent>> queryArchivedEvents(
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) String aggregateId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(required = false) String correlationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        log.info("Querying archived audit events with filters");
+
+        AuditQueryRequest request = AuditQueryRequest.builder()
+                .eventType(eventType)
+                .userId(userId)
+                .serviceName(serviceName)
+                .aggregateId(aggregateId)
+                .action(action)
+                .status(status)
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .correlationId(correlationId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .page(page)
+                .size(size)
+                .build();
+
+        return ResponseEntity.ok(auditArchiveService.queryArchivedEvents(request));
+    }
+
     @GetMapping("/events/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get audit event by ID", description = "Retrieve a specific audit event by its ID")
@@ -126,17 +257,54 @@ public class AuditController {
         return ResponseEntity.ok(stats);
     }
 
-    @DeleteMapping("/cleanup")
+    @GetMapping("/stats/top-users")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get top users", description = "Get the users with the most audit events")
+    public ResponseEntity<List<AuditStatEntry>> getTopUsers(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("Getting top {} users for last {} days", limit, days);
+        return ResponseEntity.ok(auditService.getTopUsers(days, limit));
+    }
+
+    @GetMapping("/stats/top-event-types")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Delete expired audit events", description = "Remove audit events that have passed their retention date")
-    public ResponseEntity<Map<String, Object>> cleanupExpiredEvents() {
-        log.info("Cleaning up expired audit events");
-        int deletedCount = auditService.deleteExpiredAuditEvents();
+    @Operation(summary = "Get top event types", description = "Get the event types with the most audit events")
+    public ResponseEntity<List<AuditStatEntry>> getTopEventTypes(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "10") int limit) {
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("deletedCount", deletedCount);
-        result.put("message", "Successfully deleted " + deletedCount + " expired audit events");
+        log.info("Getting top {} event types for last {} days", limit, days);
+        return ResponseEntity.ok(auditService.getTopEventTypes(days, limit));
+    }
+
+    @GetMapping("/stats/response-times")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get response time percentiles", description = "Get p50/p95/p99 response times of the busiest routes")
+    public ResponseEntity<List<RouteResponseTimes>> getResponseTimes(
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        log.info("Getting response time percentiles of top {} routes for last {} days", limit, days);
+        return ResponseEntity.ok(auditService.getResponseTimePercentiles(days, limit));
+    }
 
-        return ResponseEntity.ok(result);
+    @DeleteMapping("/cleanup")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete expired audit events", description = "Start a background purge of audit events that have passed their retention date")
+    public ResponseEntity<AuditPurgeStatus> cleanupExpiredEvents() {
+        log.info("Starting purge of expired audit events");
+        AuditPurgeStatus status = auditPurgeService.startPurge();
+        return ResponseEntity.accepted().body(status);
+    }
+
+    @GetMapping("/cleanup/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get purge progress", description = "Get the progress of a background purge of expired audit events")
+    public ResponseEntity<AuditPurgeStatus> getPurgeStatus(@PathVariable String jobId) {
+        log.info("Getting audit purge status: {}", jobId);
+        AuditPurgeStatus status = auditPurgeService.getPurgeStatus(jobId);
+        return ResponseEntity.ok(status);
     }
 }
@@ -0,0 +1,26 @@
+package com.ibm.fscc.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditPurgeStatus {
+    private String jobId;
+    private String status;
+    private LocalDateTime cutoff;
+    private long deletedRows;
+    private int droppedPartitions;
+    private double rowsPerSecond;
+    private long estimatedRemainingRows;
+    private Long estimatedSecondsRemaining;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
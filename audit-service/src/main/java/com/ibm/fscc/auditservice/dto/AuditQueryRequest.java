@@ -6,6 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -27,4 +30,31 @@ public class AuditQueryRequest {
     private Integer size;
     private String sortBy;
     private String sortDirection;
+    // Page total from planner statistics instead of a COUNT query
+    private Boolean estimatedCount;
+    // Attributes to return instead of whole events, see AuditEventProjections
+    private List<String> fields;
+
+    /**
+     * The equality filters that were supplied, keyed by AuditEvent attribute
+     */
+    public Map<String, String> suppliedFilters() {
+        Map<String, String> filters = new LinkedHashMap<>();
+        putIfPresent(filters, "eventType", eventType);
+        putIfPresent(filters, "userId", userId);
+        putIfPresent(filters, "serviceName", serviceName);
+        putIfPresent(filters, "aggregateId", aggregateId);
+        putIfPresent(filters, "action", action);
+        putIfPresent(filters, "status", status);
+        putIfPresent(filters, "resourceType", resourceType);
+        putIfPresent(filters, "resourceId", resourceId);
+        putIfPresent(filters, "correlationId", correlationId);
+        return filters;
+    }
+
+    private static void putIfPresent(Map<String, String> filters, String attribute, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(attribute, value);
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.ibm.fscc.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditStatEntry {
+    private String value;
+    private long eventCount;
+}
@@ -0,0 +1,19 @@
+package com.ibm.fscc.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteResponseTimes {
+    // HTTP method and path, with numeric and UUID segments as {id}
+    private String route;
+    private long requestCount;
+    private long p50Ms;
+    private long p95Ms;
+    private long p99Ms;
+}
@@ -0,0 +1,131 @@
+package com.ibm.fscc.auditservice.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes audit events to an output stream one at a time, as NDJSON (one JSON
+ * object per line, the same shape as the query API) or CSV with a header row.
+ * Nothing is buffered beyond the writer's own buffer, so memory use does not
+ * depend on how many events are exported. The output stream is flushed but
+ * not closed.
+ */
+@Component
+public class AuditEventExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, Function<AuditEvent, Object>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("id", AuditEvent::getId);
+        CSV_COLUMNS.put("eventId", AuditEvent::getEventId);
+        CSV_COLUMNS.put("eventType", AuditEvent::getEventType);
+        CSV_COLUMNS.put("aggregateType", AuditEvent::getAggregateType);
+        CSV_COLUMNS.put("aggregateId", AuditEvent::getAggregateId);
+        CSV_COLUMNS.put("timestamp", AuditEvent::getTimestamp);
+        CSV_COLUMNS.put("userId", AuditEvent::getUserId);
+        CSV_COLUMNS.put("userEmail", AuditEvent::getUserEmail);
+        CSV_COLUMNS.put("ipAddress", AuditEvent::getIpAddress);
+        CSV_COLUMNS.put("userAgent", AuditEvent::getUserAgent);
+        CSV_COLUMNS.put("serviceName", AuditEvent::getServiceName);
+        CSV_COLUMNS.put("serviceVersion", AuditEvent::getServiceVersion);
+        CSV_COLUMNS.put("correlationId", AuditEvent::getCorrelationId);
+        CSV_COLUMNS.put("sessionId", AuditEvent::getSessionId);
+        CSV_COLUMNS.put("action", AuditEvent::getAction);
+        CSV_COLUMNS.put("status", AuditEvent::getStatus);
+        CSV_COLUMNS.put("beforeState", AuditEvent::getBeforeState);
+        CSV_COLUMNS.put("afterState", AuditEvent::getAfterState);
+        CSV_COLUMNS.put("changes", AuditEvent::getChanges);
+        CSV_COLUMNS.put("errorMessage", AuditEvent::getErrorMessage);
+        CSV_COLUMNS.put("metadata", AuditEvent::getMetadata);
+        CSV_COLUMNS.put("resourceType", AuditEvent::getResourceType);
+        CSV_COLUMNS.put("resourceId", AuditEvent::getResourceId);
+        CSV_COLUMNS.put("httpMethod", AuditEvent::getHttpMethod);
+        CSV_COLUMNS.put("requestPath", AuditEvent::getRequestPath);
+        CSV_COLUMNS.put("responseCode", AuditEvent::getResponseCode);
+        CSV_COLUMNS.put("responseTimeMs", AuditEvent::getResponseTimeMs);
+        CSV_COLUMNS.put("complianceTag", AuditEvent::getComplianceTag);
+        CSV_COLUMNS.put("retentionDate", AuditEvent::getRetentionDate);
+    }
+
+    private final ObjectWriter jsonWriter;
+
+    public AuditEventExportWriter(ObjectMapper objectMapper) {
+        // Flushing after every event would defeat the buffer and gzip
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every event of the stream and returns how many were written
+     */
+    public long write(Stream<AuditEvent> events, AuditExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long written = format == AuditExportFormat.CSV ? writeCsv(events, writer) : writeNdjson(events, writer);
+        writer.flush();
+        return written;
+    }
+
+    private long writeNdjson(Stream<AuditEvent> events, Writer writer) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = jsonWriter.getFactory().createGenerator(writer)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            for (Iterator<AuditEvent> it = events.iterator(); it.hasNext(); written++) {
+                jsonWriter.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+
+    private long writeCsv(Stream<AuditEvent> events, Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_COLUMNS.keySet()));
+        writer.write("\r\n");
+        long written = 0;
+        for (Iterator<AuditEvent> it = events.iterator(); it.hasNext(); written++) {
+            AuditEvent event = it.next();
+            boolean first = true;
+            for (Function<AuditEvent, Object> column : CSV_COLUMNS.values()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writeCsvField(writer, column.apply(event));
+            }
+            writer.write("\r\n");
+        }
+        return written;
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,72 +1,213 @@
 package com.ibm.fscc.auditservice.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.fscc.auditservice.dto.AuditEventDto;
 import com.ibm.fscc.auditservice.service.AuditService;
+import com.ibm.fscc.kafka.dto.AuditEventCodec;
+import com.ibm.fscc.kafka.dto.AuditEventRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Ingests audit events a poll at a time. Each batch is decoded (in parallel
+ * once it is large enough to pay for it), written in a single transaction
+ * and only then acknowledged, so committed offsets never run ahead of what
+ * is in the database. Records that cannot be decoded are logged and
+ * skipped; a failed write rewinds the batch for redelivery.
+ *
+ * Writes are idempotent on eventId, so redelivery after a rebalance or
+ * crash costs at most one batch of duplicate inserts that are skipped.
+ * Events without an eventId get one derived from their topic, partition
+ * and offset, and events without a timestamp take the record's, so a
+ * replayed record always maps to the same row. Replay mode
+ * (audit.kafka.replay.enabled) rewinds every partition once, to a fixed
+ * offset or a point in time, to rebuild the table from the topics.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class AuditEventConsumer {
+public class AuditEventConsumer extends AbstractConsumerSeekAware {
+
+    static final int PARALLEL_DECODE_THRESHOLD = 64;
+    static final Duration REDELIVERY_DELAY = Duration.ofSeconds(1);
 
     private final AuditService auditService;
-    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-    @KafkaListener(topics = "${audit.kafka.topics.audit-events}", groupId = "${audit.kafka.consumer.group-id}", containerFactory = "auditKafkaListenerContainerFactory")
-    public void consumeAuditEvent(
-            @Payload String message,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+    @Value("${audit.kafka.replay.enabled:false}")
+    private boolean replayEnabled;
 
-        log.debug("Received audit event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
+    @Value("${audit.kafka.replay.from-offset:0}")
+    private long replayFromOffset;
 
-        try {
-            AuditEventDto auditEventDto = objectMapper.readValue(message, AuditEventDto.class);
-            auditService.saveAuditEvent(auditEventDto);
-            log.info("Successfully processed audit event: {}", auditEventDto.getEventType());
-        } catch (Exception e) {
-            log.error("Error processing audit event from topic {}: {}", topic, e.getMessage(), e);
-            // In production, you might want to send this to a dead letter queue
+    // ISO-8601 instant; when set, takes precedence over from-offset
+    @Value("${audit.kafka.replay.from-timestamp:}")
+    private String replayFromTimestamp;
+
+    // Partitions already rewound, so a later rebalance does not restart the replay
+    private final Set<TopicPartition> replayed = ConcurrentHashMap.newKeySet();
+
+    private Counter decodeFailures;
+    private Timer batchWrite;
+
+    @PostConstruct
+    void init() {
+        decodeFailures = Counter.builder("audit.ingest.decode.failures")
+                .description("Audit records skipped because they could not be decoded")
+                .register(meterRegistry);
+        batchWrite = Timer.builder("audit.ingest.batch.write")
+                .description("Time to persist one consumed batch of audit events")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        if (!replayEnabled) {
+            return;
+        }
+        List<TopicPartition> partitions = assignments.keySet().stream()
+                .filter(replayed::add)
+                .toList();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        if (replayFromTimestamp != null && !replayFromTimestamp.isBlank()) {
+            callback.seekToTimestamp(partitions, Instant.parse(replayFromTimestamp).toEpochMilli());
+            log.info("Replaying audit partitions {} from {}", partitions, replayFromTimestamp);
+        } else {
+            partitions.forEach(partition -> callback.seek(partition.topic(), partition.partition(), replayFromOffset));
+            log.info("Replaying audit partitions {} from offset {}", partitions, replayFromOffset);
         }
     }
 
+    @KafkaListener(topics = "${audit.kafka.topics.audit-events}", groupId = "${audit.kafka.consumer.group-id}", containerFactory = "auditKafkaListenerContainerFactory")
+    public void consumeAuditEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        ingest(records, acknowledgment);
+    }
+
     @KafkaListener(topics = "${audit.kafka.topics.api-gateway-events}", groupId = "${audit.kafka.consumer.group-id}", containerFactory = "auditKafkaListenerContainerFactory")
-    public void consumeApiGatewayEvent(
-            @Payload String message,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+    public void consumeApiGatewayEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        ingest(records, acknowledgment);
+    }
 
-        log.debug("Received API Gateway event from topic: {}", topic);
+    @KafkaListener(topics = "${audit.kafka.topics.authentication-events}", groupId = "${audit.kafka.consumer.group-id}", containerFactory = "auditKafkaListenerContainerFactory")
+    public void consumeAuthenticationEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        ingest(records, acknowledgment);
+    }
+
+    private void ingest(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        if (records.isEmpty()) {
+            return;
+        }
+        String topic = records.get(0).topic();
+        log.debug("Received {} audit records from topic: {}", records.size(), topic);
+
+        Stream<ConsumerRecord<String, byte[]>> stream = records.size() >= PARALLEL_DECODE_THRESHOLD
+                ? records.parallelStream()
+                : records.stream();
+        List<AuditEventDto> events = stream.map(this::decodeOrSkip)
+                .filter(Objects::nonNull)
+                .toList();
 
         try {
-            AuditEventDto auditEventDto = objectMapper.readValue(message, AuditEventDto.class);
-            auditService.saveAuditEvent(auditEventDto);
-            log.info("Successfully processed API Gateway event: {}", auditEventDto.getEventType());
+            if (!events.isEmpty()) {
+                long start = System.nanoTime();
+                auditService.saveAuditEvents(events);
+                batchWrite.record(Duration.ofNanos(System.nanoTime() - start));
+            }
+            acknowledgment.acknowledge();
+            ingested(topic).increment(events.size());
+            log.debug("Persisted {} audit events from topic: {}", events.size(), topic);
         } catch (Exception e) {
-            log.error("Error processing API Gateway event: {}", e.getMessage(), e);
+            log.error("Error persisting batch of {} audit events from topic {}: {}", events.size(), topic,
+                    e.getMessage(), e);
+            acknowledgment.nack(0, REDELIVERY_DELAY);
         }
     }
 
-    @KafkaListener(topics = "${audit.kafka.topics.authentication-events}", groupId = "${audit.kafka.consumer.group-id}", containerFactory = "auditKafkaListenerContainerFactory")
-    public void consumeAuthenticationEvent(
-            @Payload String message,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
-
-        log.debug("Received authentication event from topic: {}", topic);
-
+    private AuditEventDto decodeOrSkip(ConsumerRecord<String, byte[]> record) {
         try {
-            AuditEventDto auditEventDto = objectMapper.readValue(message, AuditEventDto.class);
-            auditService.saveAuditEvent(auditEventDto);
-            log.info("Successfully processed authentication event: {}", auditEventDto.getEventType());
+            return decode(record);
         } catch (Exception e) {
-            log.error("Error processing authentication event: {}", e.getMessage(), e);
+            decodeFailures.increment();
+            log.error("Skipping undecodable audit record {}-{}@{}: {}", record.topic(), record.partition(),
+                    record.offset(), e.getMessage());
+            return null;
         }
     }
+
+    private Counter ingested(String topic) {
+        return Counter.builder("audit.ingest.events")
+                .description("Audit events persisted from Kafka")
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
+
+    // Payloads are written by AuditEventCodec (or any producer of the same flat JSON)
+    private AuditEventDto decode(ConsumerRecord<String, byte[]> record) throws IOException {
+        AuditEventRecord event = AuditEventCodec.read(record.value());
+        return AuditEventDto.builder()
+                .eventId(event.getEventId() != null ? event.getEventId() : recordEventId(record))
+                .eventType(event.getEventType())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .timestamp(event.getTimestamp() != null ? event.getTimestamp() : recordTimestamp(record))
+                .userId(event.getUserId())
+                .userEmail(event.getUserEmail())
+                .ipAddress(event.getIpAddress())
+                .userAgent(event.getUserAgent())
+                .serviceName(event.getServiceName())
+                .serviceVersion(event.getServiceVersion())
+                .correlationId(event.getCorrelationId())
+                .sessionId(event.getSessionId())
+                .action(event.getAction())
+                .status(event.getStatus())
+                .beforeState(event.getBeforeState())
+                .afterState(event.getAfterState())
+                .changes(event.getChanges())
+                .errorMessage(event.getErrorMessage())
+                .metadata(event.getMetadata())
+                .resourceType(event.getResourceType())
+                .resourceId(event.getResourceId())
+                .httpMethod(event.getHttpMethod())
+                .requestPath(event.getRequestPath())
+                .responseCode(event.getResponseCode())
+                .responseTimeMs(event.getResponseTimeMs())
+                .complianceTag(event.getComplianceTag())
+                .build();
+    }
+
+    private static String recordEventId(ConsumerRecord<?, ?> record) {
+        String position = record.topic() + "-" + record.partition() + "@" + record.offset();
+        return UUID.nameUUIDFromBytes(position.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static LocalDateTime recordTimestamp(ConsumerRecord<?, ?> record) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault());
+    }
 }
@@ -0,0 +1,74 @@
+package com.ibm.fscc.auditservice.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * PostgreSQL advisory locks for work that must run on one instance at a time.
+ * Each key is a constant shared by every instance of the service.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdvisoryLocks {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the action holding the session-level lock for key, on a connection
+     * kept for the whole run. The action's own work runs on other connections.
+     * If this instance dies, its connection closes and the lock is released
+     * with it.
+     *
+     * @return the action's result, or empty without running it if another
+     *         session holds the lock
+     */
+    public <T> Optional<T> callIfUnlocked(long key, Supplier<T> action) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock", key)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(action.get());
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock", key);
+            }
+        });
+    }
+
+    /**
+     * @return false without running the action if another session holds the lock
+     * @see #callIfUnlocked
+     */
+    public boolean runIfUnlocked(long key, Runnable action) {
+        return callIfUnlocked(key, () -> {
+            action.run();
+            return Boolean.TRUE;
+        }).isPresent();
+    }
+
+    /**
+     * Waits for the transaction-level lock for key, which is released when the
+     * current transaction ends. Must be called inside a transaction.
+     */
+    public void lockForTransaction(long key) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, key);
+    }
+
+    private static boolean advisoryLock(Connection connection, String function, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, key);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
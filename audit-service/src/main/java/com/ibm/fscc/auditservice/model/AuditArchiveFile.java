@@ -0,0 +1,43 @@
+package com.ibm.fscc.auditservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "audit_archive_files")
+public class AuditArchiveFile {
+
+    // Relative to audit.archive.directory; a file there without a row here is
+    // left over from a failed archive run
+    @Id
+    @Column(length = 100)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long rowCount;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime minTimestamp;
+
+    @Column(nullable = false)
+    private LocalDateTime maxTimestamp;
+
+    // Null while any archived event has no retention date
+    @Column
+    private LocalDateTime maxRetentionDate;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
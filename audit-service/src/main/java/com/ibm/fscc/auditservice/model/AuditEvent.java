@@ -1,10 +1,18 @@
 package com.ibm.fscc.auditservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ibm.fscc.auditservice.payload.AuditPayload;
+import com.ibm.fscc.auditservice.payload.AuditPayloadCodec;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -13,20 +21,30 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+// On PostgreSQL the table is created, partitioned by month on timestamp, by
+// schema-postgresql.sql; these annotations mirror it for other databases
 @Table(name = "audit_events", indexes = {
-        @Index(name = "idx_event_type", columnList = "eventType"),
-        @Index(name = "idx_user_id", columnList = "userId"),
+        @Index(name = "idx_event_type_timestamp", columnList = "eventType, timestamp"),
+        @Index(name = "idx_user_id_timestamp", columnList = "userId, timestamp"),
         @Index(name = "idx_timestamp", columnList = "timestamp"),
         @Index(name = "idx_service", columnList = "serviceName"),
-        @Index(name = "idx_aggregate_id", columnList = "aggregateId")
+        @Index(name = "idx_aggregate_id", columnList = "aggregateId"),
+        @Index(name = "idx_retention_date", columnList = "retentionDate"),
+        @Index(name = "idx_correlation_id", columnList = "correlationId"),
+        @Index(name = "idx_resource", columnList = "resourceType, resourceId")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_audit_events_event_id", columnNames = { "eventId", "timestamp" })
 })
 public class AuditEvent {
 
+    // Sequence ids let Hibernate batch inserts; allocationSize > 1 selects the
+    // pooled optimizer, so one nextval covers 50 rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_events_seq")
+    @SequenceGenerator(name = "audit_events_seq", sequenceName = "audit_events_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 36)
+    @Column(nullable = false, length = 36)
     private String eventId;
 
     @Column(nullable = false, length = 100)
@@ -71,6 +89,8 @@ public class AuditEvent {
     @Column(length = 20)
     private String status;
 
+    // Only rows stored before statePayload was introduced keep their states
+    // in these text columns; see encodeStatePayload
     @Column(columnDefinition = "TEXT")
     private String beforeState;
 
@@ -80,6 +100,20 @@ public class AuditEvent {
     @Column(columnDefinition = "TEXT")
     private String changes;
 
+    // beforeState, afterState and changes encoded by AuditPayloadCodec
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] statePayload;
+
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AuditPayload decodedPayload;
+
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
 
@@ -109,4 +143,42 @@ public class AuditEvent {
 
     @Column
     private LocalDateTime retentionDate;
+
+    // Payload columns are decoded on first access, so reading events whose
+    // states are never looked at costs no decompression
+    public String getBeforeState() {
+        return beforeState != null || statePayload == null ? beforeState : decodedPayload().beforeState();
+    }
+
+    public String getAfterState() {
+        return afterState != null || statePayload == null ? afterState : decodedPayload().afterState();
+    }
+
+    public String getChanges() {
+        return changes != null || statePayload == null ? changes : decodedPayload().changes();
+    }
+
+    /**
+     * Moves beforeState, afterState and changes into statePayload, leaving
+     * the text columns empty. Runs before JPA inserts the event; the batch
+     * insert calls it directly.
+     */
+    @PrePersist
+    public void encodeStatePayload() {
+        if (statePayload != null || (beforeState == null && afterState == null && changes == null)) {
+            return;
+        }
+        decodedPayload = new AuditPayload(beforeState, afterState, changes);
+        statePayload = AuditPayloadCodec.encode(beforeState, afterState, changes);
+        beforeState = null;
+        afterState = null;
+        changes = null;
+    }
+
+    private AuditPayload decodedPayload() {
+        if (decodedPayload == null) {
+            decodedPayload = AuditPayloadCodec.decode(statePayload);
+        }
+        return decodedPayload;
+    }
 }
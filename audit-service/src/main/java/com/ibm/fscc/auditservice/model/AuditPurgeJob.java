@@ -0,0 +1,62 @@
+package com.ibm.fscc.auditservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "audit_purge_jobs")
+public class AuditPurgeJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // Rows with a retention date before this are purged
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    // Keyset cursor: every expired row with a lower id has been deleted
+    @Column
+    private Long lastId;
+
+    @Column(nullable = false)
+    private long deletedRows;
+
+    @Column(nullable = false)
+    private int droppedPartitions;
+
+    // Planner estimate of the expired rows left after dropping partitions
+    @Column(nullable = false)
+    private long estimatedRows;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+}
@@ -0,0 +1,149 @@
+package com.ibm.fscc.auditservice.partition;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of audit_events (see
+ * schema-postgresql.sql). Partitions are created ahead of the current month,
+ * and a past month's partition is dropped as a whole once none of its rows
+ * is still within its retention date, which replaces deleting those rows one
+ * by one. Does nothing when audit.partitioning.enabled is false or the table
+ * is not partitioned.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionManager {
+
+    static final String PARENT_TABLE = "audit_events";
+    static final String PARTITION_PREFIX = "audit_events_p";
+    static final String DEFAULT_PARTITION = "audit_events_default";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{6})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.partitioning.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${audit.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    // Before the Kafka listeners start, so the current month never falls into the default partition
+    @PostConstruct
+    void init() {
+        try {
+            ensurePartitions(YearMonth.now());
+        } catch (DataAccessException e) {
+            log.error("Failed to create audit partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the partitions from the given month through months-ahead
+     * months after it, skipping those that exist.
+     */
+    public void ensurePartitions(YearMonth from) {
+        if (!isActive()) {
+            return;
+        }
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = from.plusMonths(i);
+            String partition = partitionName(month);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + PARENT_TABLE
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                // Typically rows for this month already sit in the default partition
+                log.error("Could not create audit partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops every monthly partition before the current month whose rows have
+     * all passed their retention date.
+     *
+     * @return the names of the dropped partitions
+     */
+    public List<String> dropExpiredPartitions(LocalDateTime now) {
+        List<String> dropped = new ArrayList<>();
+        if (!isActive()) {
+            return dropped;
+        }
+        YearMonth current = YearMonth.from(now);
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches() || !YearMonth.parse(matcher.group(1), SUFFIX).isBefore(current)) {
+                continue;
+            }
+            Boolean retained = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition
+                    + " WHERE retention_date IS NULL OR retention_date >= ?)", Boolean.class, now);
+            if (Boolean.FALSE.equals(retained)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped.add(partition);
+                log.info("Dropped expired audit partition {}", partition);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * The given month's partition, if audit_events is partitioned and it exists
+     */
+    public Optional<String> findPartition(YearMonth month) {
+        if (!isActive()) {
+            return Optional.empty();
+        }
+        String partition = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        return Boolean.TRUE.equals(exists) ? Optional.of(partition) : Optional.empty();
+    }
+
+    /**
+     * Blocks inserts into the partition and the default partition until the
+     * current transaction ends. Must be the transaction's first statement for
+     * a REPEATABLE READ snapshot to see every row they will hold.
+     */
+    public void lockPartition(String partition) {
+        jdbcTemplate.execute("LOCK TABLE " + partition + ", " + DEFAULT_PARTITION + " IN SHARE MODE");
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        log.info("Dropped audit partition {}", partition);
+    }
+
+    public boolean isActive() {
+        return enabled && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, PARENT_TABLE));
+    }
+
+    List<String> listPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, PARENT_TABLE);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+}
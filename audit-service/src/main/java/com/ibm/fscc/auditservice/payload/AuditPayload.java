@@ -0,0 +1,7 @@
+package com.ibm.fscc.auditservice.payload;
+
+/**
+ * The decoded state-diff payload of an audit event; absent parts are null
+ */
+public record AuditPayload(String beforeState, String afterState, String changes) {
+}
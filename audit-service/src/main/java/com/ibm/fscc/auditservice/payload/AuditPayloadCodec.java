@@ -0,0 +1,167 @@
+package com.ibm.fscc.auditservice.payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs an audit event's beforeState, afterState and changes into one
+ * binary value: the three parts, in that order, deflated as a single raw
+ * stream preset with a shared dictionary of common payload fragments.
+ * Because the after state follows the before state in the same stream,
+ * deflate encodes it as back-references into the before state wherever the
+ * two agree, so what is stored for it is in effect a binary diff; changes
+ * in turn mostly refer back to both states.
+ *
+ * Layout: format byte, presence flags, the UTF-8 length of each present
+ * part as a varint, then the deflated stream. The format byte names the
+ * shared dictionary; payload-dictionary-v1.txt must never change once rows
+ * have been written with it, a new dictionary gets a new format.
+ */
+public final class AuditPayloadCodec {
+
+    static final int FORMAT_V1 = 1;
+
+    private static final int BEFORE_STATE = 1;
+    private static final int AFTER_STATE = 2;
+    private static final int CHANGES = 4;
+
+    private static final int HEADER_MAX_SIZE = 2 + 3 * 5;
+
+    private static final byte[] SHARED_DICTIONARY_V1 = load("/payload/payload-dictionary-v1.txt");
+
+    // Reused per thread; ingestion encodes a batch on one consumer thread
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private AuditPayloadCodec() {
+    }
+
+    /**
+     * The encoded payload, or null if all three parts are null
+     */
+    public static byte[] encode(String beforeState, String afterState, String changes) {
+        if (beforeState == null && afterState == null && changes == null) {
+            return null;
+        }
+        byte[][] parts = { utf8(beforeState), utf8(afterState), utf8(changes) };
+        int total = 0;
+        for (byte[] part : parts) {
+            total += part != null ? part.length : 0;
+        }
+
+        byte[] out = new byte[HEADER_MAX_SIZE + total / 2 + 64];
+        out[0] = FORMAT_V1;
+        out[1] = (byte) ((parts[0] != null ? BEFORE_STATE : 0) | (parts[1] != null ? AFTER_STATE : 0)
+                | (parts[2] != null ? CHANGES : 0));
+        int length = 2;
+        for (byte[] part : parts) {
+            if (part != null) {
+                length = writeVarInt(out, length, part.length);
+            }
+        }
+
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setDictionary(SHARED_DICTIONARY_V1);
+        deflater.setInput(concat(parts, total));
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (length == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    public static AuditPayload decode(byte[] payload) {
+        if (payload[0] != FORMAT_V1) {
+            throw new IllegalArgumentException("Unknown audit payload format " + payload[0]);
+        }
+        int flags = payload[1];
+        int[] position = {2};
+        int beforeLength = (flags & BEFORE_STATE) != 0 ? readVarInt(payload, position) : -1;
+        int afterLength = (flags & AFTER_STATE) != 0 ? readVarInt(payload, position) : -1;
+        int changesLength = (flags & CHANGES) != 0 ? readVarInt(payload, position) : -1;
+        byte[] text = new byte[Math.max(beforeLength, 0) + Math.max(afterLength, 0) + Math.max(changesLength, 0)];
+
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setDictionary(SHARED_DICTIONARY_V1);
+        inflater.setInput(payload, position[0], payload.length - position[0]);
+        try {
+            int read = 0;
+            while (read < text.length) {
+                int n = inflater.inflate(text, read, text.length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalArgumentException("Truncated audit payload");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt audit payload", e);
+        }
+
+        int at = 0;
+        String before = beforeLength >= 0 ? new String(text, at, beforeLength, StandardCharsets.UTF_8) : null;
+        at += Math.max(beforeLength, 0);
+        String after = afterLength >= 0 ? new String(text, at, afterLength, StandardCharsets.UTF_8) : null;
+        at += Math.max(afterLength, 0);
+        String changed = changesLength >= 0 ? new String(text, at, changesLength, StandardCharsets.UTF_8) : null;
+        return new AuditPayload(before, after, changed);
+    }
+
+    private static byte[] concat(byte[][] parts, int total) {
+        byte[] text = new byte[total];
+        int at = 0;
+        for (byte[] part : parts) {
+            if (part != null) {
+                System.arraycopy(part, 0, text, at, part.length);
+                at += part.length;
+            }
+        }
+        return text;
+    }
+
+    private static int writeVarInt(byte[] out, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readVarInt(byte[] in, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] load(String resource) {
+        try (InputStream in = AuditPayloadCodec.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing audit payload dictionary " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ibm.fscc.auditservice.repository;
+
+import com.ibm.fscc.auditservice.model.AuditArchiveFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditArchiveFileRepository extends JpaRepository<AuditArchiveFile, String> {
+
+    // Files overlapping [start, end], oldest first
+    List<AuditArchiveFile> findByMinTimestampLessThanEqualAndMaxTimestampGreaterThanEqualOrderByMinTimestamp(
+            LocalDateTime end, LocalDateTime start);
+
+    List<AuditArchiveFile> findByMaxRetentionDateBefore(LocalDateTime date);
+}
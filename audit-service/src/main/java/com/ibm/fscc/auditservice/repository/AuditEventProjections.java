@@ -0,0 +1,55 @@
+package com.ibm.fscc.auditservice.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Attribute lists for queries that return only some columns of each event.
+ * beforeState, afterState and changes cannot be selected; they are stored
+ * encoded and only returned whole, by the detail endpoints.
+ */
+public final class AuditEventProjections {
+
+    public static final String SUMMARY_KEYWORD = "summary";
+
+    // What the admin list view shows
+    public static final List<String> SUMMARY = List.of("id", "eventId", "eventType", "timestamp", "userId",
+            "serviceName", "action", "status", "resourceType", "resourceId", "responseCode");
+
+    private static final Set<String> SELECTABLE = Set.of("id", "eventId", "eventType", "aggregateType",
+            "aggregateId", "timestamp", "userId", "userEmail", "ipAddress", "userAgent", "serviceName",
+            "serviceVersion", "correlationId", "sessionId", "action", "status", "errorMessage", "metadata",
+            "resourceType", "resourceId", "httpMethod", "requestPath", "responseCode", "responseTimeMs",
+            "complianceTag", "retentionDate");
+
+    private AuditEventProjections() {
+    }
+
+    /**
+     * Resolves a fields parameter: "summary" or a comma-separated list of
+     * attribute names. id always comes first, so a row can be looked up in
+     * full.
+     *
+     * @throws IllegalArgumentException if an attribute is unknown or not selectable
+     */
+    public static List<String> parse(String fields) {
+        if (fields.isBlank() || fields.trim().equalsIgnoreCase(SUMMARY_KEYWORD)) {
+            return SUMMARY;
+        }
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("id");
+        for (String field : fields.split(",")) {
+            String attribute = field.trim();
+            if (attribute.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE.contains(attribute)) {
+                throw new IllegalArgumentException("Unknown or unselectable field: " + attribute);
+            }
+            attributes.add(attribute);
+        }
+        return new ArrayList<>(attributes);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ibm.fscc.auditservice.repository;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface AuditEventRepositoryCustom {
+
+    /**
+     * Bulk-inserts the events in one JDBC batch, skipping any whose eventId and
+     * timestamp are already stored, so redelivered or replayed events are
+     * written once.
+     * Assigns ids to the given entities.
+     */
+    void insertIgnoringDuplicates(List<AuditEvent> events);
+
+    /**
+     * Deletes up to limit rows whose retention date is before cutoff, taking
+     * the lowest ids above afterId, in a statement of its own.
+     *
+     * @return the ids of the deleted rows
+     */
+    List<Long> deleteExpiredChunk(LocalDateTime cutoff, long afterId, int limit);
+
+    /**
+     * Planner estimate of the rows whose retention date is before cutoff,
+     * read from EXPLAIN instead of counting them.
+     */
+    long estimateExpiredRows(LocalDateTime cutoff);
+
+    /**
+     * One page of the events matching spec, without the COUNT query that
+     * findAll(Specification, Pageable) runs alongside it.
+     */
+    List<AuditEvent> findContent(Specification<AuditEvent> spec, Pageable pageable);
+
+    /**
+     * One page of the events matching spec, selecting only the given
+     * attributes; each row maps attribute name to value, in the given order.
+     */
+    List<Map<String, Object>> findFields(Specification<AuditEvent> spec, Pageable pageable, List<String> attributes);
+
+    /**
+     * Planner estimate of the events in [startDate, endDate] whose attributes
+     * equal the given filters, keyed by AuditEvent attribute name, read from
+     * EXPLAIN instead of counting them.
+     */
+    long estimateCount(Map<String, String> filters, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * The events in [startDate, endDate] matching the given filters, ordered
+     * by timestamp, read through a server-side cursor. Must be consumed and
+     * closed inside a transaction; the events are not managed entities.
+     */
+    Stream<AuditEvent> streamMatching(Map<String, String> filters, LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,269 @@
+package com.ibm.fscc.auditservice.repository;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Hand-written side of {@link AuditEventRepository}. Inserts skip rows whose
+ * (eventId, timestamp) already exists with ON CONFLICT DO NOTHING; with the
+ * driver's reWriteBatchedInserts each batch goes out as multi-row INSERTs.
+ * No conflict target is named, since the unique key of the partitioned
+ * table has to include the partition column. Row estimates are read from
+ * the planner's EXPLAIN output rather than counted.
+ */
+@RequiredArgsConstructor
+public class AuditEventRepositoryImpl implements AuditEventRepositoryCustom {
+
+    // Must match allocationSize on AuditEvent's @SequenceGenerator: ids are
+    // taken from the sequence the same way Hibernate's pooled optimizer does,
+    // so rows saved through JPA and through this batch never collide
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String NEXT_ID_BLOCKS_SQL =
+            "SELECT nextval('audit_events_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events (id, event_id, event_type, aggregate_type, "
+            + "aggregate_id, timestamp, user_id, user_email, ip_address, user_agent, service_name, service_version, "
+            + "correlation_id, session_id, action, status, state_payload, error_message, "
+            + "metadata, resource_type, resource_id, http_method, request_path, response_code, response_time_ms, "
+            + "compliance_tag, retention_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT DO NOTHING";
+
+    // (id, timestamp) is the primary key, so each partition resolves the chunk through its own index
+    private static final String DELETE_EXPIRED_CHUNK_SQL = "DELETE FROM audit_events WHERE (id, timestamp) IN ("
+            + "SELECT id, timestamp FROM audit_events WHERE retention_date < ? AND id > ? ORDER BY id LIMIT ?) "
+            + "RETURNING id";
+
+    private static final String ESTIMATE_EXPIRED_SQL =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM audit_events WHERE retention_date < ?";
+
+    private static final String ESTIMATE_MATCHING_SQL =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM audit_events WHERE timestamp >= ? AND timestamp <= ?";
+
+    private static final String STREAM_MATCHING_SQL = "SELECT id, event_id, event_type, aggregate_type, "
+            + "aggregate_id, timestamp, user_id, user_email, ip_address, user_agent, service_name, service_version, "
+            + "correlation_id, session_id, action, status, before_state, after_state, changes, state_payload, "
+            + "error_message, metadata, resource_type, resource_id, http_method, request_path, response_code, "
+            + "response_time_ms, compliance_tag, retention_date FROM audit_events "
+            + "WHERE timestamp >= ? AND timestamp <= ?";
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private static final Pattern WORD_BOUNDARY = Pattern.compile("([a-z])([A-Z])");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertIgnoringDuplicates(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        assignIds(events);
+        events.forEach(AuditEvent::encodeStatePayload);
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), this::bind);
+    }
+
+    @Override
+    public List<Long> deleteExpiredChunk(LocalDateTime cutoff, long afterId, int limit) {
+        return jdbcTemplate.queryForList(DELETE_EXPIRED_CHUNK_SQL, Long.class, cutoff, afterId, limit);
+    }
+
+    @Override
+    public long estimateExpiredRows(LocalDateTime cutoff) {
+        return estimateRows(ESTIMATE_EXPIRED_SQL, cutoff);
+    }
+
+    @Override
+    public List<AuditEvent> findContent(Specification<AuditEvent> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditEvent> query = cb.createQuery(AuditEvent.class);
+        Root<AuditEvent> root = query.from(AuditEvent.class);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<AuditEvent> spec, Pageable pageable,
+            List<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AuditEvent> root = query.from(AuditEvent.class);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                row.put(attribute, tuple.get(attribute));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public long estimateCount(Map<String, String> filters, LocalDateTime startDate, LocalDateTime endDate) {
+        StringBuilder sql = new StringBuilder(ESTIMATE_MATCHING_SQL);
+        List<Object> args = appendFilters(sql, filters, startDate, endDate);
+        return estimateRows(sql.toString(), args.toArray());
+    }
+
+    // Forward-only cursor: with a fetch size inside a transaction the driver
+    // reads EXPORT_FETCH_SIZE rows at a time instead of the whole result
+    @Override
+    public Stream<AuditEvent> streamMatching(Map<String, String> filters, LocalDateTime startDate,
+            LocalDateTime endDate) {
+        StringBuilder sql = new StringBuilder(STREAM_MATCHING_SQL);
+        List<Object> args = appendFilters(sql, filters, startDate, endDate);
+        sql.append(" ORDER BY timestamp, id");
+        return jdbcTemplate.queryForStream(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, this::mapRow);
+    }
+
+    // Attribute names come from the service's fixed filter list, never from the request
+    private List<Object> appendFilters(StringBuilder sql, Map<String, String> filters, LocalDateTime startDate,
+            LocalDateTime endDate) {
+        List<Object> args = new ArrayList<>(filters.size() + 2);
+        args.add(startDate);
+        args.add(endDate);
+        filters.forEach((attribute, value) -> {
+            sql.append(" AND ").append(WORD_BOUNDARY.matcher(attribute).replaceAll("$1_$2").toLowerCase())
+                    .append(" = ?");
+            args.add(value);
+        });
+        return args;
+    }
+
+    private long estimateRows(String explainSql, Object... args) {
+        String plan = jdbcTemplate.queryForObject(explainSql, String.class, args);
+        Matcher matcher = PLAN_ROWS.matcher(plan != null ? plan : "");
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    // Each nextval is the upper end of a block of ID_ALLOCATION_SIZE ids
+    private void assignIds(List<AuditEvent> events) {
+        int assigned = 0;
+        while (assigned < events.size()) {
+            int blocks = (events.size() - assigned + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, blocks)) {
+                for (long id = Math.max(1, hi - ID_ALLOCATION_SIZE + 1); id <= hi && assigned < events.size(); id++) {
+                    events.get(assigned++).setId(id);
+                }
+            }
+        }
+    }
+
+    private AuditEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return AuditEvent.builder()
+                .id(rs.getLong("id"))
+                .eventId(rs.getString("event_id"))
+                .eventType(rs.getString("event_type"))
+                .aggregateType(rs.getString("aggregate_type"))
+                .aggregateId(rs.getString("aggregate_id"))
+                .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+                .userId(rs.getString("user_id"))
+                .userEmail(rs.getString("user_email"))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(rs.getString("user_agent"))
+                .serviceName(rs.getString("service_name"))
+                .serviceVersion(rs.getString("service_version"))
+                .correlationId(rs.getString("correlation_id"))
+                .sessionId(rs.getString("session_id"))
+                .action(rs.getString("action"))
+                .status(rs.getString("status"))
+                .beforeState(rs.getString("before_state"))
+                .afterState(rs.getString("after_state"))
+                .changes(rs.getString("changes"))
+                .statePayload(rs.getBytes("state_payload"))
+                .errorMessage(rs.getString("error_message"))
+                .metadata(rs.getString("metadata"))
+                .resourceType(rs.getString("resource_type"))
+                .resourceId(rs.getString("resource_id"))
+                .httpMethod(rs.getString("http_method"))
+                .requestPath(rs.getString("request_path"))
+                .responseCode(rs.getObject("response_code", Integer.class))
+                .responseTimeMs(rs.getObject("response_time_ms", Long.class))
+                .complianceTag(rs.getString("compliance_tag"))
+                .retentionDate(rs.getObject("retention_date", LocalDateTime.class))
+                .build();
+    }
+
+    private void bind(PreparedStatement ps, AuditEvent event) throws SQLException {
+        int i = 0;
+        ps.setLong(++i, event.getId());
+        ps.setString(++i, event.getEventId());
+        ps.setString(++i, event.getEventType());
+        ps.setString(++i, event.getAggregateType());
+        ps.setString(++i, event.getAggregateId());
+        ps.setObject(++i, event.getTimestamp(), Types.TIMESTAMP);
+        ps.setString(++i, event.getUserId());
+        ps.setString(++i, event.getUserEmail());
+        ps.setString(++i, event.getIpAddress());
+        ps.setString(++i, event.getUserAgent());
+        ps.setString(++i, event.getServiceName());
+        ps.setString(++i, event.getServiceVersion());
+        ps.setString(++i, event.getCorrelationId());
+        ps.setString(++i, event.getSessionId());
+        ps.setString(++i, event.getAction());
+        ps.setString(++i, event.getStatus());
+        ps.setBytes(++i, event.getStatePayload());
+        ps.setString(++i, event.getErrorMessage());
+        ps.setString(++i, event.getMetadata());
+        ps.setString(++i, event.getResourceType());
+        ps.setString(++i, event.getResourceId());
+        ps.setString(++i, event.getHttpMethod());
+        ps.setString(++i, event.getRequestPath());
+        ps.setObject(++i, event.getResponseCode(), Types.INTEGER);
+        ps.setObject(++i, event.getResponseTimeMs(), Types.BIGINT);
+        ps.setString(++i, event.getComplianceTag());
+        ps.setObject(++i, event.getRetentionDate(), Types.TIMESTAMP);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ibm.fscc.auditservice.repository;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit event searches built from the filters actually supplied. A single
+ * statement with an "(:x IS NULL OR a.x = :x)" clause per filter is planned
+ * once for every combination of filters, which in practice means a
+ * sequential scan; emitting only the supplied equalities lets PostgreSQL use
+ * the composite index matching them.
+ */
+public final class AuditEventSpecifications {
+
+    private AuditEventSpecifications() {
+    }
+
+    /**
+     * Events in [startDate, endDate] whose attributes equal the given filters,
+     * keyed by AuditEvent attribute name
+     */
+    public static Specification<AuditEvent> matching(Map<String, String> filters, LocalDateTime startDate,
+            LocalDateTime endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(filters.size() + 2);
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("timestamp"), startDate));
+            predicates.add(cb.lessThanOrEqualTo(root.<LocalDateTime>get("timestamp"), endDate));
+            filters.forEach((attribute, value) -> predicates.add(cb.equal(root.get(attribute), value)));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.ibm.fscc.auditservice.repository;
+
+import com.ibm.fscc.auditservice.model.AuditPurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditPurgeJobRepository extends JpaRepository<AuditPurgeJob, String> {
+
+    List<AuditPurgeJob> findByStatus(AuditPurgeJob.Status status);
+}
@@ -0,0 +1,237 @@
+package com.ibm.fscc.auditservice.rollup;
+
+import com.ibm.fscc.auditservice.dto.AuditStatEntry;
+import com.ibm.fscc.auditservice.dto.RouteResponseTimes;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Hourly and daily audit event counts, kept in audit_event_rollups and
+ * audit_latency_rollups so the statistics endpoints read a few rows per
+ * hour or day instead of counting audit_events. Rollups are updated in the
+ * ingestion transaction from the rows that insert actually stored, so
+ * redelivered and replayed events are not counted twice. Events stored
+ * before the rollups existed are backfilled once by schema-postgresql.sql.
+ *
+ * A window [since, until) is answered from daily rows for the whole days in
+ * it and from hourly rows for the partial days at either end, to the hour.
+ * Hourly rows are kept for hourly-retention-days; a window starting before
+ * that is widened to the start of its first day.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditRollupStore {
+
+    public enum Dimension {
+        USER,
+        EVENT_TYPE,
+        SERVICE,
+        STATUS,
+        RESPONSE_CLASS
+    }
+
+    // Response time buckets grow by 10%, which bounds the percentile error
+    static final double LATENCY_BUCKET_GROWTH = 1.1;
+
+    // Ordered by key so concurrent batches lock shared rollup rows in the same order
+    private static final String ADD_EVENT_COUNTS_SQL = "INSERT INTO audit_event_rollups "
+            + "(granularity, bucket, dimension, dimension_value, event_count) "
+            + "SELECT g.granularity, date_trunc(g.unit, e.timestamp), d.dimension, d.dimension_value, COUNT(*) "
+            + "FROM audit_events e "
+            + "CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit) "
+            + "CROSS JOIN LATERAL (VALUES ('USER', e.user_id), ('EVENT_TYPE', e.event_type), "
+            + "('SERVICE', e.service_name), ('STATUS', e.status), "
+            + "('RESPONSE_CLASS', (e.response_code / 100) || 'xx')) AS d(dimension, dimension_value) "
+            + "WHERE e.id = ANY(?) AND e.timestamp >= ? AND e.timestamp <= ? AND d.dimension_value IS NOT NULL "
+            + "GROUP BY 1, 2, 3, 4 ORDER BY 1, 2, 3, 4 "
+            + "ON CONFLICT (granularity, dimension, dimension_value, bucket) "
+            + "DO UPDATE SET event_count = audit_event_rollups.event_count + EXCLUDED.event_count";
+
+    // Numeric and UUID path segments are folded into {id} so routes stay few
+    private static final String ADD_LATENCIES_SQL = "INSERT INTO audit_latency_rollups "
+            + "(granularity, bucket, route, latency_bucket, event_count) "
+            + "SELECT g.granularity, date_trunc(g.unit, e.timestamp), "
+            + "e.http_method || ' ' || regexp_replace(e.request_path, "
+            + "'/([0-9]+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27})(?=/|$)', '/{id}', 'g'), "
+            + "floor(ln(e.response_time_ms + 1) / ln(" + LATENCY_BUCKET_GROWTH + "))::smallint, COUNT(*) "
+            + "FROM audit_events e "
+            + "CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit) "
+            + "WHERE e.id = ANY(?) AND e.timestamp >= ? AND e.timestamp <= ? "
+            + "AND e.response_time_ms >= 0 AND e.http_method IS NOT NULL AND e.request_path IS NOT NULL "
+            + "GROUP BY 1, 2, 3, 4 ORDER BY 1, 2, 3, 4 "
+            + "ON CONFLICT (granularity, route, bucket, latency_bucket) "
+            + "DO UPDATE SET event_count = audit_latency_rollups.event_count + EXCLUDED.event_count";
+
+    private static final String WINDOW_SQL = "((granularity = 'DAY' AND bucket >= ? AND bucket < ?) "
+            + "OR (granularity = 'HOUR' AND (bucket >= ? AND bucket < ? OR bucket >= ? AND bucket < ?)))";
+
+    private static final String COUNT_SQL = "SELECT COALESCE(SUM(event_count), 0) FROM audit_event_rollups "
+            + "WHERE dimension = ? AND dimension_value = ? AND " + WINDOW_SQL;
+
+    private static final String TOP_SQL = "SELECT dimension_value, SUM(event_count) AS total "
+            + "FROM audit_event_rollups WHERE dimension = ? AND " + WINDOW_SQL + " "
+            + "GROUP BY dimension_value ORDER BY total DESC, dimension_value LIMIT ?";
+
+    private static final String LATENCY_HISTOGRAMS_SQL = "SELECT route, latency_bucket, SUM(event_count) "
+            + "FROM audit_latency_rollups WHERE " + WINDOW_SQL + " GROUP BY route, latency_bucket";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.rollup.hourly-retention-days:30}")
+    private int hourlyRetentionDays = 30;
+
+    /**
+     * Adds the given events to the rollups, counting only those stored by
+     * the insert that assigned their ids. Must run in the inserting
+     * transaction.
+     */
+    public void addInserted(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Long[] ids = new Long[events.size()];
+        LocalDateTime from = events.get(0).getTimestamp();
+        LocalDateTime to = from;
+        for (int i = 0; i < ids.length; i++) {
+            AuditEvent event = events.get(i);
+            ids[i] = event.getId();
+            from = event.getTimestamp().isBefore(from) ? event.getTimestamp() : from;
+            to = event.getTimestamp().isAfter(to) ? event.getTimestamp() : to;
+        }
+        LocalDateTime earliest = from;
+        LocalDateTime latest = to;
+        for (String sql : List.of(ADD_EVENT_COUNTS_SQL, ADD_LATENCIES_SQL)) {
+            jdbcTemplate.update(sql, ps -> {
+                Array array = ps.getConnection().createArrayOf("bigint", ids);
+                ps.setArray(1, array);
+                ps.setObject(2, earliest);
+                ps.setObject(3, latest);
+            });
+        }
+    }
+
+    /**
+     * Events in [since, until) whose dimension has the given value
+     */
+    public long count(Dimension dimension, String value, LocalDateTime since, LocalDateTime until) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class,
+                window(since, until, dimension.name(), value));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * The values of the dimension with the most events in [since, until)
+     */
+    public List<AuditStatEntry> top(Dimension dimension, LocalDateTime since, LocalDateTime until, int limit) {
+        Object[] args = window(since, until, dimension.name());
+        Object[] withLimit = new Object[args.length + 1];
+        System.arraycopy(args, 0, withLimit, 0, args.length);
+        withLimit[args.length] = limit;
+        return jdbcTemplate.query(TOP_SQL, (rs, rowNum) -> AuditStatEntry.builder()
+                .value(rs.getString(1))
+                .eventCount(rs.getLong(2))
+                .build(), withLimit);
+    }
+
+    /**
+     * Response time percentiles in [since, until) of the limit routes with
+     * the most requests, busiest first
+     */
+    public List<RouteResponseTimes> responseTimes(LocalDateTime since, LocalDateTime until, int limit) {
+        Map<String, SortedMap<Integer, Long>> histograms = new LinkedHashMap<>();
+        jdbcTemplate.query(LATENCY_HISTOGRAMS_SQL, rs -> {
+            histograms.computeIfAbsent(rs.getString(1), route -> new TreeMap<>())
+                    .merge(rs.getInt(2), rs.getLong(3), Long::sum);
+        }, window(since, until));
+
+        List<RouteResponseTimes> routes = new ArrayList<>(histograms.size());
+        histograms.forEach((route, histogram) -> routes.add(percentiles(route, histogram)));
+        routes.sort(Comparator.comparingLong(RouteResponseTimes::getRequestCount).reversed());
+        return routes.size() > limit ? routes.subList(0, limit) : routes;
+    }
+
+    /**
+     * Drops hourly rows older than hourly-retention-days; daily rows are kept
+     */
+    public int pruneHourlyRollups(LocalDateTime now) {
+        LocalDateTime cutoff = now.truncatedTo(ChronoUnit.DAYS).minusDays(hourlyRetentionDays);
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM audit_event_rollups WHERE granularity = 'HOUR' AND bucket < ?", cutoff);
+        deleted += jdbcTemplate.update(
+                "DELETE FROM audit_latency_rollups WHERE granularity = 'HOUR' AND bucket < ?", cutoff);
+        log.info("Pruned {} hourly audit rollup rows before {}", deleted, cutoff);
+        return deleted;
+    }
+
+    // Arguments for WINDOW_SQL, after the given leading ones
+    private Object[] window(LocalDateTime since, LocalDateTime until, Object... leading) {
+        LocalDateTime hourStart = since.truncatedTo(ChronoUnit.HOURS);
+        if (hourStart.isBefore(until.truncatedTo(ChronoUnit.DAYS).minusDays(hourlyRetentionDays))) {
+            hourStart = since.truncatedTo(ChronoUnit.DAYS);
+        }
+        LocalDateTime dayStart = hourStart.truncatedTo(ChronoUnit.DAYS);
+        if (dayStart.isBefore(hourStart)) {
+            dayStart = dayStart.plusDays(1);
+        }
+        LocalDateTime dayEnd = until.truncatedTo(ChronoUnit.DAYS);
+        if (!dayStart.isBefore(dayEnd)) {
+            dayStart = until;
+            dayEnd = until;
+        }
+
+        Object[] args = new Object[leading.length + 6];
+        System.arraycopy(leading, 0, args, 0, leading.length);
+        int i = leading.length;
+        args[i++] = dayStart;
+        args[i++] = dayEnd;
+        args[i++] = hourStart;
+        args[i++] = dayStart;
+        args[i++] = dayEnd;
+        args[i] = until;
+        return args;
+    }
+
+    static RouteResponseTimes percentiles(String route, SortedMap<Integer, Long> histogram) {
+        long total = histogram.values().stream().mapToLong(Long::longValue).sum();
+        return RouteResponseTimes.builder()
+                .route(route)
+                .requestCount(total)
+                .p50Ms(percentile(histogram, total, 0.50))
+                .p95Ms(percentile(histogram, total, 0.95))
+                .p99Ms(percentile(histogram, total, 0.99))
+                .build();
+    }
+
+    // Upper bound of the bucket holding the requested rank
+    private static long percentile(SortedMap<Integer, Long> histogram, long total, double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : histogram.entrySet()) {
+            seen += bucket.getValue();
+            if (seen >= rank) {
+                return upperBound(bucket.getKey());
+            }
+        }
+        return upperBound(histogram.lastKey());
+    }
+
+    static long upperBound(int latencyBucket) {
+        return (long) Math.floor(Math.pow(LATENCY_BUCKET_GROWTH, latencyBucket + 1)) - 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ibm.fscc.auditservice.service;
+
+import com.ibm.fscc.auditservice.dto.AuditQueryRequest;
+import com.ibm.fscc.auditservice.model.AuditArchiveFile;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface AuditArchiveService {
+
+    /**
+     * Move every month older than the configured age out of audit_events into
+     * archive files, and delete archive files whose events have all expired
+     */
+    List<AuditArchiveFile> archiveAgedEvents();
+
+    /**
+     * Query archived audit events with filters
+     */
+    Slice<AuditEvent> queryArchivedEvents(AuditQueryRequest request);
+}
@@ -0,0 +1,17 @@
+package com.ibm.fscc.auditservice.service;
+
+import com.ibm.fscc.auditservice.dto.AuditPurgeStatus;
+
+public interface AuditPurgeService {
+
+    /**
+     * Start purging expired audit events in the background, or return the
+     * purge already running
+     */
+    AuditPurgeStatus startPurge();
+
+    /**
+     * Get the progress of a purge job
+     */
+    AuditPurgeStatus getPurgeStatus(String jobId);
+}
@@ -2,9 +2,17 @@ package com.ibm.fscc.auditservice.service;
 
 import com.ibm.fscc.auditservice.dto.AuditEventDto;
 import com.ibm.fscc.auditservice.dto.AuditQueryRequest;
+import com.ibm.fscc.auditservice.dto.AuditStatEntry;
+import com.ibm.fscc.auditservice.dto.RouteResponseTimes;
+import com.ibm.fscc.auditservice.export.AuditExportFormat;
 import com.ibm.fscc.auditservice.model.AuditEvent;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
 public interface AuditService {
 
     /**
@@ -12,11 +20,28 @@ public interface AuditService {
      */
     AuditEvent saveAuditEvent(AuditEventDto auditEventDto);
 
+    /**
+     * Save a batch of audit events in one transaction, skipping events whose
+     * eventId is already stored
+     */
+    void saveAuditEvents(List<AuditEventDto> auditEventDtos);
+
     /**
      * Query audit events with filters
      */
     Page<AuditEvent> queryAuditEvents(AuditQueryRequest request);
 
+    /**
+     * Query audit events with filters, returning only the request's fields
+     */
+    Page<Map<String, Object>> queryAuditEventFields(AuditQueryRequest request);
+
+    /**
+     * Write every audit event matching the filters to out, ignoring paging;
+     * returns the number of events written
+     */
+    long exportAuditEvents(AuditQueryRequest request, AuditExportFormat format, OutputStream out) throws IOException;
+
     /**
      * Get audit event by ID
      */
@@ -27,11 +52,6 @@ public interface AuditService {
      */
     AuditEvent getAuditEventByEventId(String eventId);
 
-    /**
-     * Delete expired audit events based on retention policy
-     */
-    int deleteExpiredAuditEvents();
-
     /**
      * Get audit statistics for a user
      */
@@ -41,4 +61,19 @@ public interface AuditService {
      * Get audit statistics for an event type
      */
     long getEventTypeCount(String eventType, int days);
+
+    /**
+     * Get the users with the most audit events
+     */
+    List<AuditStatEntry> getTopUsers(int days, int limit);
+
+    /**
+     * Get the event types with the most audit events
+     */
+    List<AuditStatEntry> getTopEventTypes(int days, int limit);
+
+    /**
+     * Get response time percentiles of the busiest routes
+     */
+    List<RouteResponseTimes> getResponseTimePercentiles(int days, int limit);
 }
@@ -0,0 +1,238 @@
+package com.ibm.fscc.auditservice.service.impl;
+
+import com.ibm.fscc.auditservice.archive.ArchiveSummary;
+import com.ibm.fscc.auditservice.archive.ColumnarArchiveReader;
+import com.ibm.fscc.auditservice.archive.ColumnarArchiveWriter;
+import com.ibm.fscc.auditservice.dto.AuditQueryRequest;
+import com.ibm.fscc.auditservice.lock.AdvisoryLocks;
+import com.ibm.fscc.auditservice.model.AuditArchiveFile;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import com.ibm.fscc.auditservice.partition.AuditPartitionManager;
+import com.ibm.fscc.auditservice.repository.AuditArchiveFileRepository;
+import com.ibm.fscc.auditservice.repository.AuditEventRepository;
+import com.ibm.fscc.auditservice.service.AuditArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves aged audit events into columnar archive files, a calendar month at a
+ * time, and answers queries over them. Each month is archived in one
+ * REPEATABLE READ transaction: its rows are streamed into a new file, which
+ * is forced to disk and renamed into place, then the month's partition is
+ * dropped, its rows left in the default partition are deleted and the file
+ * is recorded in audit_archive_files. A file without a record is left over
+ * from a failed run and is removed by the next one.
+ *
+ * <p>A run holds a PostgreSQL advisory lock, so only one instance archives at a
+ * time. Orphan removal depends on this: without the lock, one instance could
+ * delete a file that another has renamed into place but not yet recorded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditArchiveServiceImpl implements AuditArchiveService {
+
+    private static final String FILE_SUFFIX = ".aca";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Advisory lock key shared by every instance
+    private static final long ARCHIVE_LOCK_KEY = 0x6175646974617263L;
+
+    // Archived events are older than any date an archive query could be bounded by
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditArchiveFileRepository auditArchiveFileRepository;
+    private final AuditPartitionManager auditPartitionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AdvisoryLocks advisoryLocks;
+
+    @Value("${audit.archive.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${audit.archive.directory:/var/lib/audit-service/archive}")
+    private String directory = "/var/lib/audit-service/archive";
+
+    // Whole months ending more than this many days ago are archived
+    @Value("${audit.archive.min-age-days:365}")
+    private int minAgeDays = 365;
+
+    @Value("${audit.archive.row-group-size:8192}")
+    private int rowGroupSize = 8192;
+
+    @Override
+    public List<AuditArchiveFile> archiveAgedEvents() {
+        if (!enabled) {
+            return new ArrayList<>();
+        }
+        return advisoryLocks.callIfUnlocked(ARCHIVE_LOCK_KEY, this::archiveLocked).orElseGet(() -> {
+            log.info("Skipping audit archive run, another instance is archiving");
+            return new ArrayList<>();
+        });
+    }
+
+    private List<AuditArchiveFile> archiveLocked() {
+        List<AuditArchiveFile> archived = new ArrayList<>();
+        try {
+            Path dir = Files.createDirectories(Paths.get(directory));
+            removeOrphans(dir);
+            deleteExpiredArchives(dir, LocalDateTime.now());
+
+            LocalDateTime cutoff = YearMonth.from(LocalDateTime.now().minusDays(minAgeDays)).atDay(1).atStartOfDay();
+            LocalDateTime oldest;
+            while ((oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM audit_events WHERE timestamp < ?",
+                    LocalDateTime.class, cutoff)) != null) {
+                archived.add(archiveMonth(dir, YearMonth.from(oldest)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return archived;
+    }
+
+    @Override
+    public Slice<AuditEvent> queryArchivedEvents(AuditQueryRequest request) {
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = request.getSize() != null ? request.getSize() : 20;
+        LocalDateTime startDate = request.getStartDate() != null ? request.getStartDate() : EPOCH;
+        LocalDateTime endDate = request.getEndDate() != null ? request.getEndDate() : LocalDateTime.now();
+        Map<String, String> filters = request.suppliedFilters();
+
+        long toSkip = (long) page * size;
+        long[] skipped = {0};
+        List<AuditEvent> content = new ArrayList<>(size + 1);
+        Path dir = Paths.get(directory);
+        try {
+            for (AuditArchiveFile file : auditArchiveFileRepository
+                    .findByMinTimestampLessThanEqualAndMaxTimestampGreaterThanEqualOrderByMinTimestamp(
+                            endDate, startDate)) {
+                boolean more = ColumnarArchiveReader.scan(dir.resolve(file.getFileName()), filters, startDate,
+                        endDate, event -> {
+                            if (skipped[0] < toSkip) {
+                                skipped[0]++;
+                                return true;
+                            }
+                            content.add(event);
+                            return content.size() <= size;
+                        });
+                if (!more) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.of(page, size), hasNext);
+    }
+
+    private AuditArchiveFile archiveMonth(Path dir, YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Optional<String> partition = auditPartitionManager.findPartition(month);
+        String fileName = "audit-events-" + month.format(MONTH) + "-" + System.currentTimeMillis() + FILE_SUFFIX;
+        Path file = dir.resolve(fileName);
+        Path temp = dir.resolve(fileName + TEMP_SUFFIX);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transaction.execute(status -> {
+            partition.ifPresent(auditPartitionManager::lockPartition);
+
+            ArchiveSummary summary;
+            try (Stream<AuditEvent> events = auditEventRepository.streamMatching(Map.of(), from, to.minusNanos(1_000))) {
+                summary = ColumnarArchiveWriter.write(temp, events.iterator(), rowGroupSize);
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                deleteQuietly(temp);
+                throw new UncheckedIOException(e);
+            }
+
+            partition.ifPresent(auditPartitionManager::dropPartition);
+            // The default partition's rows, or the month's rows when the table is not partitioned
+            jdbcTemplate.update("DELETE FROM audit_events WHERE timestamp >= ? AND timestamp < ?", from, to);
+
+            AuditArchiveFile archived = auditArchiveFileRepository.save(AuditArchiveFile.builder()
+                    .fileName(fileName)
+                    .rowCount(summary.rowCount())
+                    .sizeBytes(sizeOf(file))
+                    .minTimestamp(summary.minTimestamp())
+                    .maxTimestamp(summary.maxTimestamp())
+                    .maxRetentionDate(summary.maxRetentionDate())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            log.info("Archived {} audit events of {} to {}", summary.rowCount(), month, fileName);
+            return archived;
+        });
+    }
+
+    // Only safe while holding the archive lock, see the class comment
+    private void removeOrphans(Path dir) throws IOException {
+        Set<String> recorded = auditArchiveFileRepository.findAll().stream()
+                .map(AuditArchiveFile::getFileName)
+                .collect(Collectors.toSet());
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return (name.endsWith(FILE_SUFFIX) || name.endsWith(TEMP_SUFFIX)) && !recorded.contains(name);
+            }).forEach(path -> {
+                log.warn("Removing audit archive file {} left over from a failed run", path);
+                deleteQuietly(path);
+            });
+        }
+    }
+
+    // The record goes first: a file that outlives it is an orphan, removed next run
+    private void deleteExpiredArchives(Path dir, LocalDateTime now) {
+        for (AuditArchiveFile file : auditArchiveFileRepository.findByMaxRetentionDateBefore(now)) {
+            auditArchiveFileRepository.delete(file);
+            deleteQuietly(dir.resolve(file.getFileName()));
+            log.info("Deleted expired audit archive {} of {} events", file.getFileName(), file.getRowCount());
+        }
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("Could not delete audit archive file {}: {}", path, e.getMessage());
+        }
+    }
+}
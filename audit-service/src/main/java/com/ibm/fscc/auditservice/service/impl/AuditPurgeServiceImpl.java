@@ -0,0 +1,211 @@
+package com.ibm.fscc.auditservice.service.impl;
+
+import com.ibm.fscc.auditservice.dto.AuditPurgeStatus;
+import com.ibm.fscc.auditservice.lock.AdvisoryLocks;
+import com.ibm.fscc.auditservice.model.AuditPurgeJob;
+import com.ibm.fscc.auditservice.partition.AuditPartitionManager;
+import com.ibm.fscc.auditservice.repository.AuditEventRepository;
+import com.ibm.fscc.auditservice.repository.AuditPurgeJobRepository;
+import com.ibm.fscc.auditservice.service.AuditPurgeService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges expired audit events on a background thread. Past months whose rows
+ * have all expired are dropped as whole partitions first; the remaining
+ * expired rows are deleted in chunks of chunk-size, each its own statement,
+ * walking the id index upwards and throttled to max-rows-per-second. The
+ * job row records the id reached after every chunk, so a purge interrupted
+ * by a shutdown or crash resumes from there on the next startup.
+ *
+ * <p>Instances coordinate through PostgreSQL advisory locks. Starting a purge
+ * checks for a running job and inserts the new one under a transaction-level
+ * lock, so concurrent requests to different instances share one job. A job
+ * only runs while its instance holds a session-level lock, so an instance
+ * resuming at startup does not run it alongside the one already running it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPurgeServiceImpl implements AuditPurgeService {
+
+    // Advisory lock keys shared by every instance
+    private static final long START_LOCK_KEY = 0x6175646974707331L;
+    private static final long RUN_LOCK_KEY = 0x6175646974707572L;
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditPurgeJobRepository auditPurgeJobRepository;
+    private final AuditPartitionManager auditPartitionManager;
+    private final AdvisoryLocks advisoryLocks;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${audit.purge.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // 0 or less disables throttling
+    @Value("${audit.purge.max-rows-per-second:5000}")
+    private int maxRowsPerSecond = 5000;
+
+    private Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public AuditPurgeStatus startPurge() {
+        String newId = UUID.randomUUID().toString();
+        // The new job is committed before the lock is released, so a waiting request finds it
+        AuditPurgeJob job = new TransactionTemplate(transactionManager).execute(status -> {
+            advisoryLocks.lockForTransaction(START_LOCK_KEY);
+            List<AuditPurgeJob> running = auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING);
+            if (!running.isEmpty()) {
+                return running.get(0);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            return auditPurgeJobRepository.save(AuditPurgeJob.builder()
+                    .id(newId)
+                    .status(AuditPurgeJob.Status.RUNNING)
+                    .cutoff(now)
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build());
+        });
+        if (job.getId().equals(newId)) {
+            log.info("Starting audit purge {} for events expired before {}", job.getId(), job.getCutoff());
+            executor.execute(() -> run(job));
+        }
+        return toStatus(job);
+    }
+
+    @Override
+    public AuditPurgeStatus getPurgeStatus(String jobId) {
+        return auditPurgeJobRepository.findById(jobId)
+                .map(this::toStatus)
+                .orElseThrow(() -> new RuntimeException("Audit purge job not found with id: " + jobId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedPurges() {
+        for (AuditPurgeJob job : auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)) {
+            log.info("Resuming audit purge {} after id {}", job.getId(), job.getLastId());
+            executor.execute(() -> run(job));
+        }
+    }
+
+    // Leaves the job RUNNING, to be resumed by the next instance to start
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void run(AuditPurgeJob job) {
+        boolean ran = advisoryLocks.runIfUnlocked(RUN_LOCK_KEY, () -> {
+            // Another instance may have finished or advanced the job since it was read
+            auditPurgeJobRepository.findById(job.getId())
+                    .filter(current -> current.getStatus() == AuditPurgeJob.Status.RUNNING)
+                    .ifPresent(this::runLocked);
+        });
+        if (!ran) {
+            log.info("Not running audit purge {}, another instance is running it", job.getId());
+        }
+    }
+
+    private void runLocked(AuditPurgeJob job) {
+        try {
+            if (job.getLastId() == null) {
+                job.setDroppedPartitions(auditPartitionManager.dropExpiredPartitions(job.getCutoff()).size());
+                job.setEstimatedRows(auditEventRepository.estimateExpiredRows(job.getCutoff()));
+                job.setLastId(0L);
+                save(job);
+            }
+
+            while (true) {
+                long start = System.nanoTime();
+                List<Long> deleted = auditEventRepository.deleteExpiredChunk(job.getCutoff(), job.getLastId(),
+                        chunkSize);
+                if (deleted.isEmpty()) {
+                    break;
+                }
+                job.setLastId(Collections.max(deleted));
+                job.setDeletedRows(job.getDeletedRows() + deleted.size());
+                save(job);
+                throttle(deleted.size(), System.nanoTime() - start);
+            }
+
+            job.setStatus(AuditPurgeJob.Status.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            save(job);
+            log.info("Audit purge {} deleted {} events and dropped {} partitions", job.getId(),
+                    job.getDeletedRows(), job.getDroppedPartitions());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Audit purge {} interrupted after id {}", job.getId(), job.getLastId());
+        } catch (RuntimeException e) {
+            log.error("Audit purge {} failed: {}", job.getId(), e.getMessage(), e);
+            job.setStatus(AuditPurgeJob.Status.FAILED);
+            job.setErrorMessage(e.getMessage());
+            job.setFinishedAt(LocalDateTime.now());
+            save(job);
+        }
+    }
+
+    private void throttle(int rows, long elapsedNanos) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long pause = TimeUnit.SECONDS.toNanos(rows) / maxRowsPerSecond - elapsedNanos;
+        if (pause > 0) {
+            TimeUnit.NANOSECONDS.sleep(pause);
+        }
+    }
+
+    private void save(AuditPurgeJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        auditPurgeJobRepository.save(job);
+    }
+
+    private AuditPurgeStatus toStatus(AuditPurgeJob job) {
+        boolean running = job.getStatus() == AuditPurgeJob.Status.RUNNING;
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+        double seconds = Duration.between(job.getStartedAt(), end).toMillis() / 1000.0;
+        double rowsPerSecond = seconds > 0 ? job.getDeletedRows() / seconds : 0;
+        long remaining = running ? Math.max(0, job.getEstimatedRows() - job.getDeletedRows()) : 0;
+
+        return AuditPurgeStatus.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .cutoff(job.getCutoff())
+                .deletedRows(job.getDeletedRows())
+                .droppedPartitions(job.getDroppedPartitions())
+                .rowsPerSecond(rowsPerSecond)
+                .estimatedRemainingRows(remaining)
+                .estimatedSecondsRemaining(running && rowsPerSecond > 0
+                        ? (long) Math.ceil(remaining / rowsPerSecond)
+                        : null)
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
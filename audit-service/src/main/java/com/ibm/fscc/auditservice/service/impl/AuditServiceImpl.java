@@ -2,21 +2,37 @@ package com.ibm.fscc.auditservice.service.impl;
 
 import com.ibm.fscc.auditservice.dto.AuditEventDto;
 import com.ibm.fscc.auditservice.dto.AuditQueryRequest;
+import com.ibm.fscc.auditservice.dto.AuditStatEntry;
+import com.ibm.fscc.auditservice.dto.RouteResponseTimes;
+import com.ibm.fscc.auditservice.export.AuditEventExportWriter;
+import com.ibm.fscc.auditservice.export.AuditExportFormat;
 import com.ibm.fscc.auditservice.model.AuditEvent;
+import com.ibm.fscc.auditservice.repository.AuditEventProjections;
 import com.ibm.fscc.auditservice.repository.AuditEventRepository;
+import com.ibm.fscc.auditservice.repository.AuditEventSpecifications;
+import com.ibm.fscc.auditservice.rollup.AuditRollupStore;
 import com.ibm.fscc.auditservice.service.AuditService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,68 +40,91 @@ import java.util.UUID;
 public class AuditServiceImpl implements AuditService {
 
     private final AuditEventRepository auditEventRepository;
+    private final AuditRollupStore auditRollupStore;
+    private final AuditEventExportWriter auditEventExportWriter;
+
+    // Searches without a startDate cover this many days before endDate, so
+    // every query has a bounded timestamp range the planner can prune on
+    @Value("${audit.query.default-window-days:90}")
+    private int defaultWindowDays = 90;
 
     @Override
     @Transactional
     public AuditEvent saveAuditEvent(AuditEventDto dto) {
         log.debug("Saving audit event: {}", dto.getEventType());
 
-        AuditEvent auditEvent = AuditEvent.builder()
-                .eventId(dto.getEventId() != null ? dto.getEventId() : UUID.randomUUID().toString())
-                .eventType(dto.getEventType())
-                .aggregateType(dto.getAggregateType())
-                .aggregateId(dto.getAggregateId())
-                .timestamp(dto.getTimestamp() != null ? dto.getTimestamp() : LocalDateTime.now())
-                .userId(dto.getUserId())
-                .userEmail(dto.getUserEmail())
-                .ipAddress(dto.getIpAddress())
-                .userAgent(dto.getUserAgent())
-                .serviceName(dto.getServiceName())
-                .serviceVersion(dto.getServiceVersion())
-                .correlationId(dto.getCorrelationId())
-                .sessionId(dto.getSessionId())
-                .action(dto.getAction())
-                .status(dto.getStatus())
-                .beforeState(dto.getBeforeState())
-                .afterState(dto.getAfterState())
-                .changes(dto.getChanges())
-                .errorMessage(dto.getErrorMessage())
-                .metadata(dto.getMetadata())
-                .resourceType(dto.getResourceType())
-                .resourceId(dto.getResourceId())
-                .httpMethod(dto.getHttpMethod())
-                .requestPath(dto.getRequestPath())
-                .responseCode(dto.getResponseCode())
-                .responseTimeMs(dto.getResponseTimeMs())
-                .complianceTag(dto.getComplianceTag())
-                .retentionDate(calculateRetentionDate(dto.getComplianceTag()))
-                .build();
-
-        AuditEvent saved = auditEventRepository.save(auditEvent);
+        AuditEvent saved = auditEventRepository.saveAndFlush(toEntity(dto));
+        auditRollupStore.addInserted(List.of(saved));
         log.info("Audit event saved: {} - {}", saved.getEventType(), saved.getEventId());
         return saved;
     }
 
+    @Override
+    @Transactional
+    public void saveAuditEvents(List<AuditEventDto> dtos) {
+        List<AuditEvent> events = new ArrayList<>(dtos.size());
+        for (AuditEventDto dto : dtos) {
+            events.add(toEntity(dto));
+        }
+        // Redelivered and replayed events are dropped by the insert itself
+        auditEventRepository.insertIgnoringDuplicates(events);
+        auditRollupStore.addInserted(events);
+        log.debug("Saved batch of {} audit events", events.size());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<AuditEvent> queryAuditEvents(AuditQueryRequest request) {
         log.debug("Querying audit events with filters: {}", request);
 
         Pageable pageable = createPageable(request);
+        LocalDateTime endDate = resolveEndDate(request);
+        LocalDateTime startDate = resolveStartDate(request, endDate);
+
+        Map<String, String> filters = request.suppliedFilters();
+        Specification<AuditEvent> spec = AuditEventSpecifications.matching(filters, startDate, endDate);
+        if (!Boolean.TRUE.equals(request.getEstimatedCount())) {
+            return auditEventRepository.findAll(spec, pageable);
+        }
+
+        List<AuditEvent> content = auditEventRepository.findContent(spec, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> Math.max(
+                auditEventRepository.estimateCount(filters, startDate, endDate),
+                pageable.getOffset() + content.size()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> queryAuditEventFields(AuditQueryRequest request) {
+        log.debug("Querying audit event fields with filters: {}", request);
+
+        Pageable pageable = createPageable(request);
+        LocalDateTime endDate = resolveEndDate(request);
+        LocalDateTime startDate = resolveStartDate(request, endDate);
 
-        return auditEventRepository.findByFilters(
-                request.getEventType(),
-                request.getUserId(),
-                request.getServiceName(),
-                request.getAggregateId(),
-                request.getAction(),
-                request.getStatus(),
-                request.getResourceType(),
-                request.getResourceId(),
-                request.getCorrelationId(),
-                request.getStartDate(),
-                request.getEndDate(),
-                pageable);
+        Map<String, String> filters = request.suppliedFilters();
+        Specification<AuditEvent> spec = AuditEventSpecifications.matching(filters, startDate, endDate);
+        List<String> fields = request.getFields() != null ? request.getFields() : AuditEventProjections.SUMMARY;
+        List<Map<String, Object>> content = auditEventRepository.findFields(spec, pageable, fields);
+        LongSupplier total = Boolean.TRUE.equals(request.getEstimatedCount())
+                ? () -> Math.max(auditEventRepository.estimateCount(filters, startDate, endDate),
+                        pageable.getOffset() + content.size())
+                : () -> auditEventRepository.count(spec);
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAuditEvents(AuditQueryRequest request, AuditExportFormat format, OutputStream out)
+            throws IOException {
+        LocalDateTime endDate = resolveEndDate(request);
+        LocalDateTime startDate = resolveStartDate(request, endDate);
+        try (Stream<AuditEvent> events = auditEventRepository.streamMatching(request.suppliedFilters(), startDate,
+                endDate)) {
+            long exported = auditEventExportWriter.write(events, format, out);
+            log.info("Exported {} audit events as {} from {} to {}", exported, format, startDate, endDate);
+            return exported;
+        }
     }
 
     @Override
@@ -105,35 +144,79 @@ public class AuditServiceImpl implements AuditService {
     }
 
     @Override
-    @Transactional
-    public int deleteExpiredAuditEvents() {
-        log.info("Deleting expired audit events");
+    @Transactional(readOnly = true)
+    public long getUserAuditCount(String userId, int days) {
         LocalDateTime now = LocalDateTime.now();
-        List<AuditEvent> expiredEvents = auditEventRepository.findByRetentionDateBefore(now);
-        int count = expiredEvents.size();
-
-        if (count > 0) {
-            auditEventRepository.deleteAll(expiredEvents);
-            log.info("Deleted {} expired audit events", count);
-        } else {
-            log.debug("No expired audit events found");
-        }
+        return auditRollupStore.count(AuditRollupStore.Dimension.USER, userId, now.minusDays(days), now);
+    }
 
-        return count;
+    @Override
+    @Transactional(readOnly = true)
+    public long getEventTypeCount(String eventType, int days) {
+        LocalDateTime now = LocalDateTime.now();
+        return auditRollupStore.count(AuditRollupStore.Dimension.EVENT_TYPE, eventType, now.minusDays(days), now);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public long getUserAuditCount(String userId, int days) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
-        return auditEventRepository.countByUserIdSince(userId, since);
+    public List<AuditStatEntry> getTopUsers(int days, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return auditRollupStore.top(AuditRollupStore.Dimension.USER, now.minusDays(days), now, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public long getEventTypeCount(String eventType, int days) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
-        return auditEventRepository.countByEventTypeSince(eventType, since);
+    public List<AuditStatEntry> getTopEventTypes(int days, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return auditRollupStore.top(AuditRollupStore.Dimension.EVENT_TYPE, now.minusDays(days), now, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RouteResponseTimes> getResponseTimePercentiles(int days, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return auditRollupStore.responseTimes(now.minusDays(days), now, limit);
+    }
+
+    private AuditEvent toEntity(AuditEventDto dto) {
+        return AuditEvent.builder()
+                .eventId(dto.getEventId() != null ? dto.getEventId() : UUID.randomUUID().toString())
+                .eventType(dto.getEventType())
+                .aggregateType(dto.getAggregateType())
+                .aggregateId(dto.getAggregateId())
+                .timestamp(dto.getTimestamp() != null ? dto.getTimestamp() : LocalDateTime.now())
+                .userId(dto.getUserId())
+                .userEmail(dto.getUserEmail())
+                .ipAddress(dto.getIpAddress())
+                .userAgent(dto.getUserAgent())
+                .serviceName(dto.getServiceName())
+                .serviceVersion(dto.getServiceVersion())
+                .correlationId(dto.getCorrelationId())
+                .sessionId(dto.getSessionId())
+                .action(dto.getAction())
+                .status(dto.getStatus())
+                .beforeState(dto.getBeforeState())
+                .afterState(dto.getAfterState())
+                .changes(dto.getChanges())
+                .errorMessage(dto.getErrorMessage())
+                .metadata(dto.getMetadata())
+                .resourceType(dto.getResourceType())
+                .resourceId(dto.getResourceId())
+                .httpMethod(dto.getHttpMethod())
+                .requestPath(dto.getRequestPath())
+                .responseCode(dto.getResponseCode())
+                .responseTimeMs(dto.getResponseTimeMs())
+                .complianceTag(dto.getComplianceTag())
+                .retentionDate(calculateRetentionDate(dto.getComplianceTag()))
+                .build();
+    }
+
+    private LocalDateTime resolveEndDate(AuditQueryRequest request) {
+        return request.getEndDate() != null ? request.getEndDate() : LocalDateTime.now();
+    }
+
+    private LocalDateTime resolveStartDate(AuditQueryRequest request, LocalDateTime endDate) {
+        return request.getStartDate() != null ? request.getStartDate() : endDate.minusDays(defaultWindowDays);
     }
 
     private Pageable createPageable(AuditQueryRequest request) {
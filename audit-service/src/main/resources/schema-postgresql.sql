@@ -0,0 +1,161 @@
+-- audit_events is range-partitioned by month on "timestamp", which Hibernate's
+-- ddl-auto cannot create, so the schema is owned by this script.
+-- AuditPartitionManager adds monthly partitions ahead of time and drops
+-- partitions whose rows have all passed their retention date.
+
+CREATE SEQUENCE IF NOT EXISTS audit_events_seq START WITH 1 INCREMENT BY 50;
+
+-- Partitioned tables need the partition key in every unique constraint
+CREATE TABLE IF NOT EXISTS audit_events (
+    id BIGINT NOT NULL,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_type VARCHAR(100),
+    aggregate_id VARCHAR(100),
+    timestamp TIMESTAMP(6) NOT NULL,
+    user_id VARCHAR(100),
+    user_email VARCHAR(100),
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(500),
+    service_name VARCHAR(50) NOT NULL,
+    service_version VARCHAR(50),
+    correlation_id VARCHAR(100),
+    session_id VARCHAR(100),
+    action VARCHAR(20),
+    status VARCHAR(20),
+    before_state TEXT,
+    after_state TEXT,
+    changes TEXT,
+    state_payload BYTEA,
+    error_message TEXT,
+    metadata TEXT,
+    resource_type VARCHAR(100),
+    resource_id VARCHAR(100),
+    http_method VARCHAR(50),
+    request_path VARCHAR(500),
+    response_code INTEGER,
+    response_time_ms BIGINT,
+    compliance_tag VARCHAR(50),
+    retention_date TIMESTAMP(6),
+    PRIMARY KEY (id, timestamp),
+    CONSTRAINT uk_audit_events_event_id UNIQUE (event_id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- State payloads are already deflated (see AuditPayloadCodec), so TOAST
+-- should store them out of line without compressing them again
+ALTER TABLE audit_events ADD COLUMN IF NOT EXISTS state_payload BYTEA;
+ALTER TABLE audit_events ALTER COLUMN state_payload SET STORAGE EXTERNAL;
+
+-- Catches rows outside every monthly partition, such as replayed history
+CREATE TABLE IF NOT EXISTS audit_events_default PARTITION OF audit_events DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_timestamp ON audit_events (timestamp);
+CREATE INDEX IF NOT EXISTS idx_service ON audit_events (service_name);
+CREATE INDEX IF NOT EXISTS idx_aggregate_id ON audit_events (aggregate_id);
+CREATE INDEX IF NOT EXISTS idx_retention_date ON audit_events (retention_date);
+
+-- Match the common search filters; every search is bounded on timestamp, so
+-- it follows the equality column. These replace idx_event_type and idx_user_id.
+CREATE INDEX IF NOT EXISTS idx_event_type_timestamp ON audit_events (event_type, timestamp);
+CREATE INDEX IF NOT EXISTS idx_user_id_timestamp ON audit_events (user_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_correlation_id ON audit_events (correlation_id);
+CREATE INDEX IF NOT EXISTS idx_resource ON audit_events (resource_type, resource_id);
+DROP INDEX IF EXISTS idx_event_type, idx_user_id;
+
+-- Background retention purges; a RUNNING row is resumed from last_id after a restart
+CREATE TABLE IF NOT EXISTS audit_purge_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    cutoff TIMESTAMP(6) NOT NULL,
+    last_id BIGINT,
+    deleted_rows BIGINT NOT NULL,
+    dropped_partitions INTEGER NOT NULL,
+    estimated_rows BIGINT NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6),
+    error_message TEXT
+);
+
+-- Hourly and daily event counts per dimension (USER, EVENT_TYPE, SERVICE,
+-- STATUS, RESPONSE_CLASS), maintained by AuditRollupStore during ingestion
+CREATE TABLE IF NOT EXISTS audit_event_rollups (
+    granularity VARCHAR(4) NOT NULL,
+    bucket TIMESTAMP(6) NOT NULL,
+    dimension VARCHAR(20) NOT NULL,
+    dimension_value VARCHAR(500) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (granularity, dimension, dimension_value, bucket)
+);
+
+CREATE INDEX IF NOT EXISTS idx_event_rollups_bucket ON audit_event_rollups (granularity, dimension, bucket);
+
+-- Response time histograms per route; latency_bucket b holds times below 1.1^(b+1) - 1 ms
+CREATE TABLE IF NOT EXISTS audit_latency_rollups (
+    granularity VARCHAR(4) NOT NULL,
+    bucket TIMESTAMP(6) NOT NULL,
+    route VARCHAR(560) NOT NULL,
+    latency_bucket SMALLINT NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (granularity, route, bucket, latency_bucket)
+);
+
+CREATE INDEX IF NOT EXISTS idx_latency_rollups_bucket ON audit_latency_rollups (granularity, bucket);
+
+-- One-off backfill of both rollup tables from the events stored before they
+-- existed. It runs before the Kafka listeners start, and a row in
+-- audit_rollup_backfill stops it from running again. ON CONFLICT DO NOTHING
+-- keeps rows already counted by ingestion (or by another instance starting at
+-- the same time) as they are. Hourly rows are only built for the default
+-- audit.rollup.hourly-retention-days, since older ones would be pruned.
+CREATE TABLE IF NOT EXISTS audit_rollup_backfill (
+    id SMALLINT PRIMARY KEY,
+    completed_at TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO audit_event_rollups (granularity, bucket, dimension, dimension_value, event_count)
+SELECT g.granularity, date_trunc(g.unit, e.timestamp), d.dimension, d.dimension_value, COUNT(*)
+FROM audit_events e
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit)
+CROSS JOIN LATERAL (VALUES ('USER', e.user_id), ('EVENT_TYPE', e.event_type),
+    ('SERVICE', e.service_name), ('STATUS', e.status),
+    ('RESPONSE_CLASS', (e.response_code / 100) || 'xx')) AS d(dimension, dimension_value)
+WHERE NOT EXISTS (SELECT 1 FROM audit_rollup_backfill)
+    AND d.dimension_value IS NOT NULL
+    AND (g.granularity = 'DAY' OR e.timestamp >= date_trunc('day', LOCALTIMESTAMP) - INTERVAL '30 days')
+GROUP BY 1, 2, 3, 4
+ON CONFLICT (granularity, dimension, dimension_value, bucket) DO NOTHING;
+
+INSERT INTO audit_latency_rollups (granularity, bucket, route, latency_bucket, event_count)
+SELECT g.granularity, date_trunc(g.unit, e.timestamp),
+    e.http_method || ' ' || regexp_replace(e.request_path,
+        '/([0-9]+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27})(?=/|$)', '/{id}', 'g'),
+    floor(ln(e.response_time_ms + 1) / ln(1.1))::smallint, COUNT(*)
+FROM audit_events e
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit)
+WHERE NOT EXISTS (SELECT 1 FROM audit_rollup_backfill)
+    AND e.response_time_ms >= 0 AND e.http_method IS NOT NULL AND e.request_path IS NOT NULL
+    AND (g.granularity = 'DAY' OR e.timestamp >= date_trunc('day', LOCALTIMESTAMP) - INTERVAL '30 days')
+GROUP BY 1, 2, 3, 4
+ON CONFLICT (granularity, route, bucket, latency_bucket) DO NOTHING;
+
+-- An empty audit_events (such as the first start of the unpartitioned-table
+-- migration in the README) leaves the marker unset, so rows copied in later
+-- are still backfilled on the next start
+INSERT INTO audit_rollup_backfill (id, completed_at)
+SELECT 1, LOCALTIMESTAMP WHERE EXISTS (SELECT 1 FROM audit_events)
+ON CONFLICT DO NOTHING;
+
+-- Archive files written by AuditArchiveServiceImpl; a file is deleted once
+-- every event in it is past its retention date
+CREATE TABLE IF NOT EXISTS audit_archive_files (
+    file_name VARCHAR(100) PRIMARY KEY,
+    row_count BIGINT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    min_timestamp TIMESTAMP(6) NOT NULL,
+    max_timestamp TIMESTAMP(6) NOT NULL,
+    max_retention_date TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_archive_files_timestamps ON audit_archive_files (min_timestamp, max_timestamp);
@@ -0,0 +1,146 @@
+package com.ibm.fscc.auditservice.archive;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2019, 3, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testWriteAndScan_RoundTripsEveryColumn() throws Exception {
+        // Arrange
+        List<AuditEvent> events = events(25);
+        events.get(3).setBeforeState(null);
+        events.get(4).setResponseCode(null);
+        events.get(5).setRetentionDate(null);
+        Path file = dir.resolve("archive.aca");
+
+        // Act
+        ArchiveSummary summary = ColumnarArchiveWriter.write(file, events.iterator(), 10);
+        List<AuditEvent> read = scan(file, Map.of(), START, START.plusDays(1), Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(25, summary.rowCount());
+        assertEquals(START, summary.minTimestamp());
+        assertEquals(START.plusMinutes(24), summary.maxTimestamp());
+        assertNull(summary.maxRetentionDate());
+        assertEquals(events, read);
+    }
+
+    @Test
+    void testScan_PushesFiltersDownToDictionaries() throws Exception {
+        // Arrange
+        Path file = dir.resolve("archive.aca");
+        ColumnarArchiveWriter.write(file, events(30).iterator(), 10);
+
+        // Act
+        List<AuditEvent> matching = scan(file, Map.of("userId", "user2", "eventType", "USER_LOGIN"),
+                START, START.plusDays(1), Integer.MAX_VALUE);
+        List<AuditEvent> missing = scan(file, Map.of("userId", "nobody"), START, START.plusDays(1),
+                Integer.MAX_VALUE);
+
+        // Assert
+        assertFalse(matching.isEmpty());
+        assertTrue(matching.stream().allMatch(e -> e.getUserId().equals("user2")
+                && e.getEventType().equals("USER_LOGIN")));
+        assertEquals(events(30).stream().filter(e -> e.getUserId().equals("user2")
+                && e.getEventType().equals("USER_LOGIN")).count(), matching.size());
+        assertTrue(missing.isEmpty());
+    }
+
+    @Test
+    void testScan_ReturnsOnlyEventsInsideTheTimeRange() throws Exception {
+        // Arrange
+        Path file = dir.resolve("archive.aca");
+        ColumnarArchiveWriter.write(file, events(30).iterator(), 10);
+
+        // Act
+        List<AuditEvent> read = scan(file, Map.of(), START.plusMinutes(12), START.plusMinutes(14),
+                Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(12L, 13L, 14L), read.stream().map(AuditEvent::getId).toList());
+    }
+
+    @Test
+    void testScan_StopsWhenSinkReturnsFalse() throws Exception {
+        // Arrange
+        Path file = dir.resolve("archive.aca");
+        ColumnarArchiveWriter.write(file, events(30).iterator(), 10);
+
+        // Act
+        List<AuditEvent> read = new ArrayList<>();
+        boolean completed = ColumnarArchiveReader.scan(file, Map.of(), START, START.plusDays(1), event -> {
+            read.add(event);
+            return read.size() < 5;
+        });
+
+        // Assert
+        assertFalse(completed);
+        assertEquals(5, read.size());
+    }
+
+    @Test
+    void testWrite_RefusesToOverwriteAnExistingFile() throws Exception {
+        // Arrange
+        Path file = Files.createFile(dir.resolve("archive.aca"));
+
+        // Act & Assert
+        assertThrows(FileAlreadyExistsException.class,
+                () -> ColumnarArchiveWriter.write(file, events(1).iterator(), 10));
+    }
+
+    private List<AuditEvent> scan(Path file, Map<String, String> filters, LocalDateTime start,
+            LocalDateTime end, int limit) throws Exception {
+        List<AuditEvent> read = new ArrayList<>();
+        ColumnarArchiveReader.scan(file, filters, start, end, event -> {
+            read.add(event);
+            return read.size() < limit;
+        });
+        return read;
+    }
+
+    private List<AuditEvent> events(int count) {
+        List<AuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(AuditEvent.builder()
+                    .id((long) i)
+                    .eventId("event-" + i)
+                    .eventType(i % 3 == 0 ? "USER_LOGIN" : "EMPLOYEE_UPDATED")
+                    .aggregateType("Employee")
+                    .aggregateId("emp-" + (i % 4))
+                    .timestamp(START.plusMinutes(i))
+                    .userId("user" + (i % 5))
+                    .userEmail("user" + (i % 5) + "@example.com")
+                    .ipAddress("10.0.0." + (i % 2))
+                    .serviceName("employee-service")
+                    .action("UPDATE")
+                    .status("SUCCESS")
+                    .beforeState("{\"salary\":" + (1000 + i) + "}")
+                    .afterState("{\"salary\":" + (1100 + i) + "}")
+                    .httpMethod("PUT")
+                    .requestPath("/api/employees/" + i)
+                    .responseCode(200)
+                    .responseTimeMs((long) (i * 7 % 50))
+                    .complianceTag("SOX")
+                    .retentionDate(START.plusYears(7).plusMinutes(i))
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ibm.fscc.auditservice.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventExportWriterTest {
+
+    private ObjectMapper objectMapper;
+    private AuditEventExportWriter exportWriter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportWriter = new AuditEventExportWriter(objectMapper);
+    }
+
+    @Test
+    void testWrite_NdjsonWritesOneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = exportWriter.write(Stream.of(event(1L, "USER_LOGIN"), event(2L, "USER_LOGOUT")),
+                AuditExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2L, written);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("USER_LOGIN", first.get("eventType").asText());
+        assertEquals("2025-03-08T09:30:00", first.get("timestamp").asText());
+        assertEquals("USER_LOGOUT", objectMapper.readTree(lines[1]).get("eventType").asText());
+    }
+
+    @Test
+    void testWrite_CsvQuotesFieldsWithSeparators() throws Exception {
+        // Arrange
+        AuditEvent event = event(7L, "EMPLOYEE_UPDATED");
+        event.setChanges("{\"name\":\"Doe, Jane\"}");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = exportWriter.write(Stream.of(event), AuditExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1L, written);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,eventId,eventType,"));
+        assertTrue(lines[1].startsWith("7,event-7,EMPLOYEE_UPDATED,"));
+        assertTrue(lines[1].contains(",\"{\"\"name\"\":\"\"Doe, Jane\"\"}\","));
+    }
+
+    @Test
+    void testWrite_EmptyStreamWritesOnlyCsvHeader() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = exportWriter.write(Stream.empty(), AuditExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(0L, written);
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).split("\r\n").length);
+    }
+
+    private AuditEvent event(long id, String eventType) {
+        return AuditEvent.builder()
+                .id(id)
+                .eventId("event-" + id)
+                .eventType(eventType)
+                .serviceName("employee-service")
+                .timestamp(LocalDateTime.of(2025, 3, 8, 9, 30))
+                .build();
+    }
+}
@@ -1,19 +1,33 @@
 package com.ibm.fscc.auditservice.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.fscc.auditservice.dto.AuditEventDto;
-import com.ibm.fscc.auditservice.model.AuditEvent;
 import com.ibm.fscc.auditservice.service.AuditService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
-
-import static org.mockito.ArgumentMatchers.any;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,90 +37,188 @@ class AuditEventConsumerTest {
     private AuditService auditService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private Acknowledgment acknowledgment;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private AuditEventConsumer auditEventConsumer;
 
-    private String testMessage;
-    private AuditEventDto testAuditEventDto;
-    private AuditEvent testAuditEvent;
+    private byte[] testMessage;
 
     @BeforeEach
     void setUp() {
-        testAuditEventDto = AuditEventDto.builder()
-                .eventType("USER_LOGIN")
-                .userId("user123")
-                .userEmail("user@example.com")
-                .serviceName("login-service")
-                .action("LOGIN")
-                .status("SUCCESS")
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        testAuditEvent = AuditEvent.builder()
-                .id(1L)
-                .eventId("event-123")
-                .eventType("USER_LOGIN")
-                .userId("user123")
-                .build();
-
-        testMessage = "{\"eventType\":\"USER_LOGIN\",\"userId\":\"user123\"}";
+        meterRegistry = new SimpleMeterRegistry();
+        auditEventConsumer = new AuditEventConsumer(auditService, meterRegistry);
+        auditEventConsumer.init();
+
+        testMessage = ("{\"eventType\":\"USER_LOGIN\",\"userId\":\"user123\",\"userEmail\":\"user@example.com\","
+                + "\"serviceName\":\"login-service\",\"action\":\"LOGIN\",\"status\":\"SUCCESS\","
+                + "\"timestamp\":\"2024-05-01T10:15:30\",\"responseCode\":200,\"responseTimeMs\":12,"
+                + "\"unknownField\":{\"nested\":true}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConsumeAuditEvents_Success() {
+        // Act
+        auditEventConsumer.consumeAuditEvents(List.of(record("audit.events", 0, testMessage)), acknowledgment);
+
+        // Assert
+        ArgumentCaptor<List<AuditEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService, times(1)).saveAuditEvents(captor.capture());
+        verify(acknowledgment).acknowledge();
+        AuditEventDto saved = captor.getValue().get(0);
+        assertEquals("USER_LOGIN", saved.getEventType());
+        assertEquals("user123", saved.getUserId());
+        assertEquals("user@example.com", saved.getUserEmail());
+        assertEquals("login-service", saved.getServiceName());
+        assertEquals("SUCCESS", saved.getStatus());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 15, 30), saved.getTimestamp());
+        assertEquals(200, saved.getResponseCode());
+        assertEquals(12L, saved.getResponseTimeMs());
+        assertEquals(1.0, meterRegistry.get("audit.ingest.events").tag("topic", "audit.events").counter().count());
     }
 
     @Test
-    void testConsumeAuditEvent_Success() throws Exception {
+    @SuppressWarnings("unchecked")
+    void testConsumeAuditEvents_SkipsUndecodableRecords() {
         // Arrange
-        when(objectMapper.readValue(testMessage, AuditEventDto.class)).thenReturn(testAuditEventDto);
-        when(auditService.saveAuditEvent(any(AuditEventDto.class))).thenReturn(testAuditEvent);
+        byte[] malformed = "{\"eventType\":".getBytes(StandardCharsets.UTF_8);
 
         // Act
-        auditEventConsumer.consumeAuditEvent(testMessage, "audit.events", 0, 0L);
+        auditEventConsumer.consumeAuditEvents(
+                List.of(record("audit.events", 0, malformed), record("audit.events", 1, testMessage)),
+                acknowledgment);
 
         // Assert
-        verify(objectMapper, times(1)).readValue(testMessage, AuditEventDto.class);
-        verify(auditService, times(1)).saveAuditEvent(any(AuditEventDto.class));
+        ArgumentCaptor<List<AuditEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService).saveAuditEvents(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        verify(acknowledgment).acknowledge();
+        assertEquals(1.0, meterRegistry.get("audit.ingest.decode.failures").counter().count());
     }
 
     @Test
-    void testConsumeAuditEvent_ParseError() throws Exception {
+    void testConsumeAuditEvents_OnlyUndecodableRecords() {
         // Arrange
-        when(objectMapper.readValue(testMessage, AuditEventDto.class))
-                .thenThrow(new RuntimeException("Parse error"));
+        byte[] malformed = "{\"eventType\":".getBytes(StandardCharsets.UTF_8);
 
         // Act
-        auditEventConsumer.consumeAuditEvent(testMessage, "audit.events", 0, 0L);
+        auditEventConsumer.consumeAuditEvents(List.of(record("audit.events", 0, malformed)), acknowledgment);
 
         // Assert
-        verify(objectMapper, times(1)).readValue(testMessage, AuditEventDto.class);
-        verify(auditService, never()).saveAuditEvent(any(AuditEventDto.class));
+        verify(auditService, never()).saveAuditEvents(anyList());
+        verify(acknowledgment).acknowledge();
     }
 
     @Test
-    void testConsumeApiGatewayEvent_Success() throws Exception {
+    void testConsumeAuditEvents_WriteFailureRedeliversBatch() {
         // Arrange
-        when(objectMapper.readValue(testMessage, AuditEventDto.class)).thenReturn(testAuditEventDto);
-        when(auditService.saveAuditEvent(any(AuditEventDto.class))).thenReturn(testAuditEvent);
+        doThrow(new RuntimeException("database down")).when(auditService).saveAuditEvents(anyList());
 
         // Act
-        auditEventConsumer.consumeApiGatewayEvent(testMessage, "audit.api-gateway");
+        auditEventConsumer.consumeAuditEvents(List.of(record("audit.events", 0, testMessage)), acknowledgment);
 
         // Assert
-        verify(objectMapper, times(1)).readValue(testMessage, AuditEventDto.class);
-        verify(auditService, times(1)).saveAuditEvent(any(AuditEventDto.class));
+        verify(acknowledgment, never()).acknowledge();
+        verify(acknowledgment).nack(0, AuditEventConsumer.REDELIVERY_DELAY);
     }
 
     @Test
-    void testConsumeAuthenticationEvent_Success() throws Exception {
+    @SuppressWarnings("unchecked")
+    void testConsumeApiGatewayEvents_DecodesLargeBatchInParallel() {
         // Arrange
-        when(objectMapper.readValue(testMessage, AuditEventDto.class)).thenReturn(testAuditEventDto);
-        when(auditService.saveAuditEvent(any(AuditEventDto.class))).thenReturn(testAuditEvent);
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        for (int i = 0; i < AuditEventConsumer.PARALLEL_DECODE_THRESHOLD * 2; i++) {
+            records.add(record("audit.api-gateway", i, testMessage));
+        }
 
         // Act
-        auditEventConsumer.consumeAuthenticationEvent(testMessage, "audit.authentication");
+        auditEventConsumer.consumeApiGatewayEvents(records, acknowledgment);
 
         // Assert
-        verify(objectMapper, times(1)).readValue(testMessage, AuditEventDto.class);
-        verify(auditService, times(1)).saveAuditEvent(any(AuditEventDto.class));
+        ArgumentCaptor<List<AuditEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService).saveAuditEvents(captor.capture());
+        assertEquals(records.size(), captor.getValue().size());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testConsumeAuthenticationEvents_Success() {
+        // Act
+        auditEventConsumer.consumeAuthenticationEvents(List.of(record("audit.authentication", 0, testMessage)),
+                acknowledgment);
+
+        // Assert
+        verify(auditService, times(1)).saveAuditEvents(anyList());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConsumeAuditEvents_DerivesStableIdsForEventsWithoutThem() {
+        // Arrange
+        byte[] withoutIds = "{\"eventType\":\"USER_LOGIN\"}".getBytes(StandardCharsets.UTF_8);
+        ConsumerRecord<String, byte[]> record = record("audit.events", 7, withoutIds);
+
+        // Act: the same record delivered twice, as after a rebalance
+        auditEventConsumer.consumeAuditEvents(List.of(record), acknowledgment);
+        auditEventConsumer.consumeAuditEvents(List.of(record), acknowledgment);
+
+        // Assert
+        ArgumentCaptor<List<AuditEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService, times(2)).saveAuditEvents(captor.capture());
+        AuditEventDto first = captor.getAllValues().get(0).get(0);
+        AuditEventDto second = captor.getAllValues().get(1).get(0);
+        assertNotNull(first.getEventId());
+        assertEquals(first.getEventId(), second.getEventId());
+        assertEquals(first.getTimestamp(), second.getTimestamp());
+    }
+
+    @Test
+    void testReplay_SeeksEachPartitionOnceToConfiguredOffset() {
+        // Arrange
+        ReflectionTestUtils.setField(auditEventConsumer, "replayEnabled", true);
+        ReflectionTestUtils.setField(auditEventConsumer, "replayFromOffset", 42L);
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+        Map<TopicPartition, Long> assignments = Map.of(new TopicPartition("audit.events", 0), 100L);
+
+        // Act: assigned again after a rebalance
+        auditEventConsumer.onPartitionsAssigned(assignments, callback);
+        auditEventConsumer.onPartitionsAssigned(assignments, callback);
+
+        // Assert
+        verify(callback, times(1)).seek("audit.events", 0, 42L);
+    }
+
+    @Test
+    void testReplay_SeeksToTimestampWhenConfigured() {
+        // Arrange
+        ReflectionTestUtils.setField(auditEventConsumer, "replayEnabled", true);
+        ReflectionTestUtils.setField(auditEventConsumer, "replayFromTimestamp", "2024-05-01T00:00:00Z");
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+        TopicPartition partition = new TopicPartition("audit.events", 0);
+
+        // Act
+        auditEventConsumer.onPartitionsAssigned(Map.of(partition, 100L), callback);
+
+        // Assert
+        verify(callback).seekToTimestamp(List.of(partition), Instant.parse("2024-05-01T00:00:00Z").toEpochMilli());
+        verify(callback, never()).seek(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testReplay_DisabledDoesNotSeek() {
+        // Arrange
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+
+        // Act
+        auditEventConsumer.onPartitionsAssigned(Map.of(new TopicPartition("audit.events", 0), 100L), callback);
+
+        // Assert
+        verifyNoInteractions(callback);
+    }
+
+    private ConsumerRecord<String, byte[]> record(String topic, long offset, byte[] value) {
+        return new ConsumerRecord<>(topic, 0, offset, "key", value);
     }
 }
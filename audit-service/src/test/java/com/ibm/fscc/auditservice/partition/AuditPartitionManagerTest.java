@@ -0,0 +1,104 @@
+package com.ibm.fscc.auditservice.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AuditPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionManager, "monthsAhead", 2);
+    }
+
+    @Test
+    void testEnsurePartitions_CreatesCurrentAndUpcomingMonths() {
+        // Arrange
+        partitioned(true);
+
+        // Act
+        partitionManager.ensurePartitions(YearMonth.of(2024, 12));
+
+        // Assert
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_events_p202412 PARTITION OF audit_events "
+                + "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_events_p202501 PARTITION OF audit_events "
+                + "FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_events_p202502 PARTITION OF audit_events "
+                + "FOR VALUES FROM ('2025-02-01') TO ('2025-03-01')");
+        verify(jdbcTemplate, times(3)).execute(anyString());
+    }
+
+    @Test
+    void testEnsurePartitions_SkipsUnpartitionedTable() {
+        // Arrange
+        partitioned(false);
+
+        // Act
+        partitionManager.ensurePartitions(YearMonth.of(2024, 12));
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testEnsurePartitions_DisabledDoesNotTouchDatabase() {
+        // Arrange
+        ReflectionTestUtils.setField(partitionManager, "enabled", false);
+
+        // Act
+        partitionManager.ensurePartitions(YearMonth.of(2024, 12));
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testDropExpiredPartitions_DropsOnlyFullyExpiredPastMonths() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2025, 3, 15, 12, 0);
+        partitioned(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_events")))
+                .thenReturn(List.of("audit_events_default", "audit_events_p201801", "audit_events_p201802",
+                        "audit_events_p202503"));
+        when(jdbcTemplate.queryForObject(contains("FROM audit_events_p201801"), eq(Boolean.class), eq(now)))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("FROM audit_events_p201802"), eq(Boolean.class), eq(now)))
+                .thenReturn(true);
+
+        // Act
+        List<String> dropped = partitionManager.dropExpiredPartitions(now);
+
+        // Assert
+        assertEquals(List.of("audit_events_p201801"), dropped);
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS audit_events_p201801");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS audit_events_p201802");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS audit_events_p202503");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS audit_events_default");
+    }
+
+    private void partitioned(boolean partitioned) {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("audit_events")))
+                .thenReturn(partitioned);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ibm.fscc.auditservice.payload;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPayloadCodecTest {
+
+    private static final String BEFORE = "{\"id\":42,\"userId\":\"0b6d6c1e-6f1c-4d0e-9a47-1a2b3c4d5e6f\","
+            + "\"firstName\":\"Mary\",\"lastName\":\"Johnson\",\"address\":\"1200 Main Street\",\"city\":\"Austin\","
+            + "\"state\":\"TX\",\"zip\":\"73301\",\"cellPhone\":\"555-2371\",\"homePhone\":\"555-8812\","
+            + "\"email\":\"mary.johnson@example.com\",\"role\":\"USER\"}";
+
+    private static final String AFTER = BEFORE.replace("Austin", "Denver").replace("555-2371", "555-9044");
+
+    private static final String CHANGES = "[{\"field\":\"city\",\"from\":\"Austin\",\"to\":\"Denver\"},"
+            + "{\"field\":\"cellPhone\",\"from\":\"555-2371\",\"to\":\"555-9044\"}]";
+
+    @Test
+    void testEncode_RoundTripsAllParts() {
+        // Act
+        AuditPayload decoded = AuditPayloadCodec.decode(AuditPayloadCodec.encode(BEFORE, AFTER, CHANGES));
+
+        // Assert
+        assertEquals(new AuditPayload(BEFORE, AFTER, CHANGES), decoded);
+    }
+
+    @Test
+    void testEncode_KeepsMissingAndEmptyPartsApart() {
+        // Act
+        AuditPayload decoded = AuditPayloadCodec.decode(AuditPayloadCodec.encode(null, "", "{\"name\":\"Zoë 日本\"}"));
+
+        // Assert
+        assertNull(decoded.beforeState());
+        assertEquals("", decoded.afterState());
+        assertEquals("{\"name\":\"Zoë 日本\"}", decoded.changes());
+        assertNull(AuditPayloadCodec.encode(null, null, null));
+    }
+
+    @Test
+    void testEncode_StoresAfterStateAsADiffAgainstBeforeState() {
+        // Arrange
+        int beforeOnly = AuditPayloadCodec.encode(BEFORE, null, null).length;
+        int afterOnly = AuditPayloadCodec.encode(null, AFTER, null).length;
+
+        // Act
+        int both = AuditPayloadCodec.encode(BEFORE, AFTER, null).length;
+
+        // Assert: the after state costs a fraction of compressing it on its own
+        assertTrue(both - beforeOnly < afterOnly / 3, "after state took " + (both - beforeOnly) + " bytes");
+        assertTrue(both < (BEFORE + AFTER).getBytes(StandardCharsets.UTF_8).length / 3);
+    }
+
+    @Test
+    void testDecode_RejectsUnknownFormatAndTruncatedPayloads() {
+        // Arrange
+        byte[] payload = AuditPayloadCodec.encode(BEFORE, AFTER, CHANGES);
+        byte[] unknownFormat = payload.clone();
+        unknownFormat[0] = 9;
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> AuditPayloadCodec.decode(unknownFormat));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuditPayloadCodec.decode(Arrays.copyOf(payload, payload.length - 4)));
+    }
+
+    @Test
+    void testAuditEvent_EncodesBeforeInsertAndDecodesOnFirstAccess() {
+        // Arrange
+        AuditEvent event = AuditEvent.builder().beforeState(BEFORE).afterState(AFTER).changes(CHANGES).build();
+        event.encodeStatePayload();
+        AuditEvent loaded = AuditEvent.builder().statePayload(event.getStatePayload()).build();
+
+        // Act & Assert
+        assertNotNull(event.getStatePayload());
+        assertEquals(AFTER, event.getAfterState());
+        assertEquals(BEFORE, loaded.getBeforeState());
+        assertEquals(AFTER, loaded.getAfterState());
+        assertEquals(CHANGES, loaded.getChanges());
+    }
+
+    @Test
+    void testAuditEvent_LegacyTextColumnsAreReadAsStored() {
+        // Arrange
+        AuditEvent legacy = AuditEvent.builder().beforeState(BEFORE).build();
+
+        // Act & Assert
+        assertNull(legacy.getStatePayload());
+        assertEquals(BEFORE, legacy.getBeforeState());
+        assertNull(legacy.getAfterState());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ibm.fscc.auditservice.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventProjectionsTest {
+
+    @Test
+    void testParse_SummaryKeywordSelectsSummaryFields() {
+        // Act & Assert
+        assertEquals(AuditEventProjections.SUMMARY, AuditEventProjections.parse("summary"));
+        assertEquals(AuditEventProjections.SUMMARY, AuditEventProjections.parse(""));
+    }
+
+    @Test
+    void testParse_FieldListKeepsOrderAndAlwaysStartsWithId() {
+        // Act
+        List<String> fields = AuditEventProjections.parse("eventType, timestamp,,eventType,id");
+
+        // Assert
+        assertEquals(List.of("id", "eventType", "timestamp"), fields);
+    }
+
+    @Test
+    void testParse_RejectsPayloadAndUnknownFields() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> AuditEventProjections.parse("id,beforeState"));
+        assertThrows(IllegalArgumentException.class, () -> AuditEventProjections.parse("statePayload"));
+        assertThrows(IllegalArgumentException.class, () -> AuditEventProjections.parse("password"));
+    }
+}
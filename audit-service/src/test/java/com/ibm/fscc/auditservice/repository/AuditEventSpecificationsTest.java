@@ -0,0 +1,77 @@
+package com.ibm.fscc.auditservice.repository;
+
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventSpecificationsTest {
+
+    @Mock
+    private Root<AuditEvent> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    @Mock
+    private Path<Object> path;
+
+    @Test
+    void testMatching_EmitsOnlySuppliedFilters() {
+        // Arrange
+        LocalDateTime startDate = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 31, 0, 0);
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put("userId", "user123");
+        filters.put("correlationId", "corr-1");
+        when(root.get(anyString())).thenReturn(path);
+
+        // Act
+        AuditEventSpecifications.matching(filters, startDate, endDate).toPredicate(root, query, cb);
+
+        // Assert
+        verify(cb).greaterThanOrEqualTo(any(), eq(startDate));
+        verify(cb).lessThanOrEqualTo(any(), eq(endDate));
+        verify(cb).equal(path, "user123");
+        verify(cb).equal(path, "corr-1");
+        verify(cb, times(2)).equal(any(), any(Object.class));
+        verify(root, times(2)).get("timestamp");
+        verify(root).get("userId");
+        verify(root).get("correlationId");
+        verify(cb).and(any(Predicate[].class));
+    }
+
+    @Test
+    void testMatching_WithoutFiltersOnlyBoundsTimestamp() {
+        // Arrange
+        LocalDateTime startDate = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 31, 0, 0);
+        when(root.get(anyString())).thenReturn(path);
+
+        // Act
+        AuditEventSpecifications.matching(Map.of(), startDate, endDate).toPredicate(root, query, cb);
+
+        // Assert
+        verify(cb, never()).equal(any(), any(Object.class));
+        verify(root, times(2)).get("timestamp");
+        verifyNoMoreInteractions(root);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ibm.fscc.auditservice.rollup;
+
+import com.ibm.fscc.auditservice.dto.RouteResponseTimes;
+import com.ibm.fscc.auditservice.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditRollupStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AuditRollupStore auditRollupStore;
+
+    @Test
+    void testCount_UsesDailyRowsForWholeDaysAndHourlyRowsForTheEdges() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2025, 3, 1, 10, 30);
+        LocalDateTime until = LocalDateTime.of(2025, 3, 8, 15, 45);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(7L);
+
+        // Act
+        long count = auditRollupStore.count(AuditRollupStore.Dimension.USER, "user123", since, until);
+
+        // Assert
+        assertEquals(7L, count);
+        verify(jdbcTemplate).queryForObject(contains("FROM audit_event_rollups"), eq(Long.class),
+                eq("USER"), eq("user123"),
+                eq(LocalDateTime.of(2025, 3, 2, 0, 0)), eq(LocalDateTime.of(2025, 3, 8, 0, 0)),
+                eq(LocalDateTime.of(2025, 3, 1, 10, 0)), eq(LocalDateTime.of(2025, 3, 2, 0, 0)),
+                eq(LocalDateTime.of(2025, 3, 8, 0, 0)), eq(until));
+    }
+
+    @Test
+    void testCount_WindowWithinOneDayUsesOnlyHourlyRows() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2025, 3, 8, 9, 15);
+        LocalDateTime until = LocalDateTime.of(2025, 3, 8, 15, 45);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(3L);
+
+        // Act
+        auditRollupStore.count(AuditRollupStore.Dimension.EVENT_TYPE, "USER_LOGIN", since, until);
+
+        // Assert
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class),
+                eq("EVENT_TYPE"), eq("USER_LOGIN"),
+                eq(until), eq(until),
+                eq(LocalDateTime.of(2025, 3, 8, 9, 0)), eq(until),
+                eq(until), eq(until));
+    }
+
+    @Test
+    void testAddInserted_UpsertsCountsAndLatenciesForTheBatch() {
+        // Arrange
+        AuditEvent first = AuditEvent.builder().id(1L).timestamp(LocalDateTime.of(2025, 3, 8, 9, 0)).build();
+        AuditEvent second = AuditEvent.builder().id(2L).timestamp(LocalDateTime.of(2025, 3, 8, 11, 0)).build();
+
+        // Act
+        auditRollupStore.addInserted(List.of(first, second));
+
+        // Assert
+        verify(jdbcTemplate).update(startsWith("INSERT INTO audit_event_rollups"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO audit_latency_rollups"),
+                any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void testAddInserted_EmptyBatchDoesNotTouchDatabase() {
+        // Act
+        auditRollupStore.addInserted(List.of());
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testPercentiles_ReportBucketUpperBounds() {
+        // Arrange: 90 requests around 10ms, 9 around 100ms, 1 around 1000ms
+        TreeMap<Integer, Long> histogram = new TreeMap<>();
+        histogram.put(25, 90L);
+        histogram.put(48, 9L);
+        histogram.put(72, 1L);
+
+        // Act
+        RouteResponseTimes times = AuditRollupStore.percentiles("GET /api/employees/{id}", histogram);
+
+        // Assert
+        assertEquals(100L, times.getRequestCount());
+        assertEquals(AuditRollupStore.upperBound(25), times.getP50Ms());
+        assertEquals(AuditRollupStore.upperBound(48), times.getP95Ms());
+        assertEquals(AuditRollupStore.upperBound(48), times.getP99Ms());
+        assertEquals(105L, AuditRollupStore.upperBound(48));
+    }
+}
@@ -0,0 +1,215 @@
+package com.ibm.fscc.auditservice.service;
+
+import com.ibm.fscc.auditservice.dto.AuditPurgeStatus;
+import com.ibm.fscc.auditservice.lock.AdvisoryLocks;
+import com.ibm.fscc.auditservice.model.AuditPurgeJob;
+import com.ibm.fscc.auditservice.partition.AuditPartitionManager;
+import com.ibm.fscc.auditservice.repository.AuditEventRepository;
+import com.ibm.fscc.auditservice.repository.AuditPurgeJobRepository;
+import com.ibm.fscc.auditservice.service.impl.AuditPurgeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPurgeServiceTest {
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    @Mock
+    private AuditPurgeJobRepository auditPurgeJobRepository;
+
+    @Mock
+    private AuditPartitionManager auditPartitionManager;
+
+    @Mock
+    private AdvisoryLocks advisoryLocks;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Jobs as saved, returned by findById
+    private final Map<String, AuditPurgeJob> savedJobs = new HashMap<>();
+
+    @InjectMocks
+    private AuditPurgeServiceImpl auditPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(auditPurgeService, "executor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(auditPurgeService, "chunkSize", 2);
+        ReflectionTestUtils.setField(auditPurgeService, "maxRowsPerSecond", 0);
+        lenient().when(advisoryLocks.runIfUnlocked(anyLong(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        lenient().when(auditPurgeJobRepository.save(any(AuditPurgeJob.class))).thenAnswer(invocation -> {
+            AuditPurgeJob job = invocation.getArgument(0);
+            savedJobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(auditPurgeJobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(savedJobs.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    void testStartPurge_DropsPartitionsThenDeletesInChunks() {
+        // Arrange
+        when(auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)).thenReturn(List.of());
+        when(auditPartitionManager.dropExpiredPartitions(any(LocalDateTime.class)))
+                .thenReturn(List.of("audit_events_p201801"));
+        when(auditEventRepository.estimateExpiredRows(any(LocalDateTime.class))).thenReturn(3L);
+        when(auditEventRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(0L), eq(2)))
+                .thenReturn(List.of(4L, 9L));
+        when(auditEventRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(9L), eq(2)))
+                .thenReturn(List.of(12L));
+        when(auditEventRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(12L), eq(2)))
+                .thenReturn(List.of());
+
+        // Act
+        AuditPurgeStatus status = auditPurgeService.startPurge();
+
+        // Assert
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(3L, status.getDeletedRows());
+        assertEquals(1, status.getDroppedPartitions());
+        assertEquals(0L, status.getEstimatedRemainingRows());
+        assertNotNull(status.getFinishedAt());
+        verify(auditEventRepository, times(3)).deleteExpiredChunk(any(LocalDateTime.class), anyLong(), eq(2));
+        verify(advisoryLocks).lockForTransaction(anyLong());
+    }
+
+    @Test
+    void testStartPurge_ReturnsRunningJobInsteadOfStartingAnother() {
+        // Arrange
+        AuditPurgeJob running = runningJob(500L);
+        when(auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)).thenReturn(List.of(running));
+
+        // Act
+        AuditPurgeStatus status = auditPurgeService.startPurge();
+
+        // Assert
+        assertEquals(running.getId(), status.getJobId());
+        assertEquals("RUNNING", status.getStatus());
+        assertEquals(900L, status.getEstimatedRemainingRows());
+        assertNotNull(status.getEstimatedSecondsRemaining());
+        verify(auditPurgeJobRepository, never()).save(any(AuditPurgeJob.class));
+        verifyNoInteractions(auditEventRepository, auditPartitionManager);
+    }
+
+    @Test
+    void testResumeInterruptedPurges_ContinuesFromLastId() {
+        // Arrange
+        AuditPurgeJob running = runningJob(500L);
+        savedJobs.put(running.getId(), running);
+        when(auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)).thenReturn(List.of(running));
+        when(auditEventRepository.deleteExpiredChunk(running.getCutoff(), 500L, 2)).thenReturn(List.of(501L));
+        when(auditEventRepository.deleteExpiredChunk(running.getCutoff(), 501L, 2)).thenReturn(List.of());
+
+        // Act
+        auditPurgeService.resumeInterruptedPurges();
+
+        // Assert
+        assertEquals(AuditPurgeJob.Status.COMPLETED, running.getStatus());
+        assertEquals(101L, running.getDeletedRows());
+        assertEquals(501L, running.getLastId());
+        verifyNoInteractions(auditPartitionManager);
+        verify(auditEventRepository, never()).estimateExpiredRows(any(LocalDateTime.class));
+    }
+
+    @Test
+    void testResumeInterruptedPurges_SkipsJobRunOnAnotherInstance() {
+        // Arrange
+        AuditPurgeJob running = runningJob(500L);
+        when(auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)).thenReturn(List.of(running));
+        doReturn(false).when(advisoryLocks).runIfUnlocked(anyLong(), any(Runnable.class));
+
+        // Act
+        auditPurgeService.resumeInterruptedPurges();
+
+        // Assert
+        assertEquals(AuditPurgeJob.Status.RUNNING, running.getStatus());
+        verify(auditPurgeJobRepository, never()).save(any(AuditPurgeJob.class));
+        verifyNoInteractions(auditEventRepository, auditPartitionManager);
+    }
+
+    @Test
+    void testResumeInterruptedPurges_SkipsJobFinishedWhileWaiting() {
+        // Arrange
+        AuditPurgeJob stale = runningJob(500L);
+        AuditPurgeJob finished = runningJob(900L);
+        finished.setStatus(AuditPurgeJob.Status.COMPLETED);
+        savedJobs.put(finished.getId(), finished);
+        when(auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)).thenReturn(List.of(stale));
+
+        // Act
+        auditPurgeService.resumeInterruptedPurges();
+
+        // Assert
+        assertEquals(AuditPurgeJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(900L, finished.getLastId());
+        verify(auditPurgeJobRepository, never()).save(any(AuditPurgeJob.class));
+        verifyNoInteractions(auditEventRepository, auditPartitionManager);
+    }
+
+    @Test
+    void testStartPurge_MarksJobFailedOnError() {
+        // Arrange
+        when(auditPurgeJobRepository.findByStatus(AuditPurgeJob.Status.RUNNING)).thenReturn(List.of());
+        when(auditPartitionManager.dropExpiredPartitions(any(LocalDateTime.class))).thenReturn(List.of());
+        when(auditEventRepository.deleteExpiredChunk(any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenThrow(new RuntimeException("Database unavailable"));
+
+        // Act
+        AuditPurgeStatus status = auditPurgeService.startPurge();
+
+        // Assert
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("Database unavailable", status.getErrorMessage());
+        assertNull(status.getEstimatedSecondsRemaining());
+    }
+
+    @Test
+    void testGetPurgeStatus_NotFound() {
+        // Arrange
+        when(auditPurgeJobRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> auditPurgeService.getPurgeStatus("missing"));
+    }
+
+    private AuditPurgeJob runningJob(long lastId) {
+        LocalDateTime startedAt = LocalDateTime.now().minusSeconds(10);
+        return AuditPurgeJob.builder()
+                .id("job-123")
+                .status(AuditPurgeJob.Status.RUNNING)
+                .cutoff(startedAt)
+                .lastId(lastId)
+                .deletedRows(100)
+                .estimatedRows(1000)
+                .startedAt(startedAt)
+                .updatedAt(startedAt.plusSeconds(5))
+                .build();
+    }
+}
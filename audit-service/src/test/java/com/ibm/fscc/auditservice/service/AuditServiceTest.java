@@ -2,26 +2,37 @@ package com.ibm.fscc.auditservice.service;
 
 import com.ibm.fscc.auditservice.dto.AuditEventDto;
 import com.ibm.fscc.auditservice.dto.AuditQueryRequest;
+import com.ibm.fscc.auditservice.dto.AuditStatEntry;
+import com.ibm.fscc.auditservice.export.AuditEventExportWriter;
+import com.ibm.fscc.auditservice.export.AuditExportFormat;
 import com.ibm.fscc.auditservice.model.AuditEvent;
 import com.ibm.fscc.auditservice.repository.AuditEventRepository;
+import com.ibm.fscc.auditservice.rollup.AuditRollupStore;
 import com.ibm.fscc.auditservice.service.impl.AuditServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +42,12 @@ class AuditServiceTest {
     @Mock
     private AuditEventRepository auditEventRepository;
 
+    @Mock
+    private AuditRollupStore auditRollupStore;
+
+    @Mock
+    private AuditEventExportWriter auditEventExportWriter;
+
     @InjectMocks
     private AuditServiceImpl auditService;
 
@@ -67,7 +84,7 @@ class AuditServiceTest {
     @Test
     void testSaveAuditEvent_Success() {
         // Arrange
-        when(auditEventRepository.save(any(AuditEvent.class))).thenReturn(testAuditEvent);
+        when(auditEventRepository.saveAndFlush(any(AuditEvent.class))).thenReturn(testAuditEvent);
 
         // Act
         AuditEvent result = auditService.saveAuditEvent(testAuditEventDto);
@@ -76,18 +93,42 @@ class AuditServiceTest {
         assertNotNull(result);
         assertEquals("USER_LOGIN", result.getEventType());
         assertEquals("user123", result.getUserId());
-        verify(auditEventRepository, times(1)).save(any(AuditEvent.class));
+        verify(auditEventRepository, times(1)).saveAndFlush(any(AuditEvent.class));
+        verify(auditRollupStore).addInserted(List.of(testAuditEvent));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveAuditEvents_InsertsBatchIgnoringDuplicates() {
+        // Arrange
+        AuditEventDto withoutIds = AuditEventDto.builder()
+                .eventType("API_GATEWAY_REQUEST")
+                .serviceName("api-gateway")
+                .build();
+        ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        auditService.saveAuditEvents(List.of(testAuditEventDto, withoutIds));
+
+        // Assert
+        verify(auditEventRepository, times(1)).insertIgnoringDuplicates(captor.capture());
+        verify(auditEventRepository, never()).save(any(AuditEvent.class));
+        List<AuditEvent> inserted = captor.getValue();
+        verify(auditRollupStore).addInserted(inserted);
+        assertEquals(2, inserted.size());
+        assertNotNull(inserted.get(1).getEventId());
+        assertNotNull(inserted.get(1).getTimestamp());
+        assertNotNull(inserted.get(1).getRetentionDate());
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void testQueryAuditEvents_Success() {
         // Arrange
         List<AuditEvent> events = Arrays.asList(testAuditEvent);
         Page<AuditEvent> page = new PageImpl<>(events);
 
-        when(auditEventRepository.findByFilters(
-                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
-                .thenReturn(page);
+        when(auditEventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
 
         AuditQueryRequest request = AuditQueryRequest.builder()
                 .eventType("USER_LOGIN")
@@ -102,8 +143,87 @@ class AuditServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("USER_LOGIN", result.getContent().get(0).getEventType());
-        verify(auditEventRepository, times(1)).findByFilters(
-                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(auditEventRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        verify(auditEventRepository, never()).estimateCount(anyMap(), any(), any());
+    }
+
+    @Test
+    void testQueryAuditEvents_EstimatedCountUsesPlannerEstimate() {
+        // Arrange
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 31, 0, 0);
+        List<AuditEvent> events = Collections.nCopies(20, testAuditEvent);
+        when(auditEventRepository.findContent(any(), any(Pageable.class))).thenReturn(events);
+        when(auditEventRepository.estimateCount(anyMap(), any(), any())).thenReturn(12000L);
+
+        AuditQueryRequest request = AuditQueryRequest.builder()
+                .userId("user123")
+                .endDate(endDate)
+                .page(0)
+                .size(20)
+                .estimatedCount(true)
+                .build();
+
+        // Act
+        Page<AuditEvent> result = auditService.queryAuditEvents(request);
+
+        // Assert
+        assertEquals(12000L, result.getTotalElements());
+        assertEquals(20, result.getContent().size());
+        verify(auditEventRepository).estimateCount(
+                eq(Map.of("userId", "user123")), eq(endDate.minusDays(90)), eq(endDate));
+        verify(auditEventRepository, never()).count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testQueryAuditEventFields_SelectsOnlyRequestedFields() {
+        // Arrange
+        List<String> fields = List.of("id", "eventType", "timestamp");
+        Map<String, Object> row = Map.of("id", 1L, "eventType", "USER_LOGIN", "timestamp", LocalDateTime.now());
+        List<Map<String, Object>> rows = Collections.nCopies(20, row);
+        when(auditEventRepository.findFields(any(), any(Pageable.class), eq(fields))).thenReturn(rows);
+        when(auditEventRepository.count(any(Specification.class))).thenReturn(45L);
+
+        AuditQueryRequest request = AuditQueryRequest.builder()
+                .eventType("USER_LOGIN")
+                .page(0)
+                .size(20)
+                .fields(fields)
+                .build();
+
+        // Act
+        Page<Map<String, Object>> result = auditService.queryAuditEventFields(request);
+
+        // Assert
+        assertEquals(45L, result.getTotalElements());
+        assertEquals("USER_LOGIN", result.getContent().get(0).get("eventType"));
+        verify(auditEventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(auditEventRepository, never()).findContent(any(), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportAuditEvents_StreamsSuppliedFiltersAndClosesCursor() throws Exception {
+        // Arrange
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 31, 0, 0);
+        Runnable onClose = mock(Runnable.class);
+        Stream<AuditEvent> events = Stream.of(testAuditEvent).onClose(onClose);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(auditEventRepository.streamMatching(Map.of("eventType", "USER_LOGIN"), endDate.minusDays(90), endDate))
+                .thenReturn(events);
+        when(auditEventExportWriter.write(any(Stream.class), eq(AuditExportFormat.CSV), eq(out))).thenReturn(1L);
+
+        AuditQueryRequest request = AuditQueryRequest.builder()
+                .eventType("USER_LOGIN")
+                .endDate(endDate)
+                .build();
+
+        // Act
+        long exported = auditService.exportAuditEvents(request, AuditExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(1L, exported);
+        verify(onClose).run();
     }
 
     @Test
@@ -145,42 +265,11 @@ class AuditServiceTest {
         verify(auditEventRepository, times(1)).findByEventId("event-123");
     }
 
-    @Test
-    void testDeleteExpiredAuditEvents_Success() {
-        // Arrange
-        List<AuditEvent> expiredEvents = Arrays.asList(testAuditEvent);
-        when(auditEventRepository.findByRetentionDateBefore(any(LocalDateTime.class)))
-                .thenReturn(expiredEvents);
-        doNothing().when(auditEventRepository).deleteAll(expiredEvents);
-
-        // Act
-        int deletedCount = auditService.deleteExpiredAuditEvents();
-
-        // Assert
-        assertEquals(1, deletedCount);
-        verify(auditEventRepository, times(1)).findByRetentionDateBefore(any(LocalDateTime.class));
-        verify(auditEventRepository, times(1)).deleteAll(expiredEvents);
-    }
-
-    @Test
-    void testDeleteExpiredAuditEvents_NoExpiredEvents() {
-        // Arrange
-        when(auditEventRepository.findByRetentionDateBefore(any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList());
-
-        // Act
-        int deletedCount = auditService.deleteExpiredAuditEvents();
-
-        // Assert
-        assertEquals(0, deletedCount);
-        verify(auditEventRepository, times(1)).findByRetentionDateBefore(any(LocalDateTime.class));
-        verify(auditEventRepository, never()).deleteAll(any());
-    }
-
     @Test
     void testGetUserAuditCount_Success() {
         // Arrange
-        when(auditEventRepository.countByUserIdSince(eq("user123"), any(LocalDateTime.class)))
+        when(auditRollupStore.count(eq(AuditRollupStore.Dimension.USER), eq("user123"), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
                 .thenReturn(10L);
 
         // Act
@@ -188,13 +277,16 @@ class AuditServiceTest {
 
         // Assert
         assertEquals(10L, count);
-        verify(auditEventRepository, times(1)).countByUserIdSince(eq("user123"), any(LocalDateTime.class));
+        verify(auditRollupStore, times(1)).count(eq(AuditRollupStore.Dimension.USER), eq("user123"),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        verifyNoInteractions(auditEventRepository);
     }
 
     @Test
     void testGetEventTypeCount_Success() {
         // Arrange
-        when(auditEventRepository.countByEventTypeSince(eq("USER_LOGIN"), any(LocalDateTime.class)))
+        when(auditRollupStore.count(eq(AuditRollupStore.Dimension.EVENT_TYPE), eq("USER_LOGIN"),
+                any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(25L);
 
         // Act
@@ -202,6 +294,21 @@ class AuditServiceTest {
 
         // Assert
         assertEquals(25L, count);
-        verify(auditEventRepository, times(1)).countByEventTypeSince(eq("USER_LOGIN"), any(LocalDateTime.class));
+        verifyNoInteractions(auditEventRepository);
+    }
+
+    @Test
+    void testGetTopUsers_ReadsUserRollups() {
+        // Arrange
+        List<AuditStatEntry> top = List.of(new AuditStatEntry("user123", 42L));
+        when(auditRollupStore.top(eq(AuditRollupStore.Dimension.USER), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(10)))
+                .thenReturn(top);
+
+        // Act
+        List<AuditStatEntry> result = auditService.getTopUsers(30, 10);
+
+        // Assert
+        assertEquals(top, result);
     }
 }
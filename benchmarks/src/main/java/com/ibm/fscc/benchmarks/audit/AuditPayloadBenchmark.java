@@ -0,0 +1,161 @@
+package com.ibm.fscc.benchmarks.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.fscc.auditservice.payload.AuditPayload;
+import com.ibm.fscc.auditservice.payload.AuditPayloadCodec;
+
+/**
+ * Per-event cost of storing audit state payloads: AuditPayloadCodec, which
+ * audit-service runs on every ingested event, against UTF-8 encoding the
+ * three TEXT columns it replaced and deflating each of them separately.
+ * The dataset is a fixed mix of employee events: 80% updates changing two
+ * fields, 10% creates with only an after state, 10% deletes with only a
+ * before state. Setup prints the bytes stored per event in each form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditPayloadBenchmark {
+
+    private static final String[] FIRST_NAMES = { "James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez" };
+    private static final String[] CITIES = { "Austin", "Boston", "Chicago", "Denver", "Seattle", "Atlanta",
+            "Phoenix", "Portland" };
+
+    @Param({ "10000" })
+    private int events;
+
+    private String[][] states;
+    private byte[][] payloads;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final byte[] deflateBuffer = new byte[64 * 1024];
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        states = new String[events][];
+        payloads = new byte[events][];
+        long textBytes = 0;
+        long deflatedBytes = 0;
+        long payloadBytes = 0;
+        for (int i = 0; i < events; i++) {
+            states[i] = event(random, i);
+            payloads[i] = AuditPayloadCodec.encode(states[i][0], states[i][1], states[i][2]);
+            textBytes += textColumns(states[i]);
+            deflatedBytes += deflatePerColumn(states[i]);
+            payloadBytes += payloads[i].length;
+        }
+        System.out.printf("%nStored bytes per event: text %d, deflated per column %d (%.1f%%), payload %d (%.1f%%)%n",
+                textBytes / events, deflatedBytes / events, 100.0 * deflatedBytes / textBytes,
+                payloadBytes / events, 100.0 * payloadBytes / textBytes);
+    }
+
+    @Benchmark
+    public long textColumns() {
+        return textColumns(states[nextEvent()]);
+    }
+
+    @Benchmark
+    public long deflatePerColumn() {
+        return deflatePerColumn(states[nextEvent()]);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        String[] state = states[nextEvent()];
+        return AuditPayloadCodec.encode(state[0], state[1], state[2]);
+    }
+
+    @Benchmark
+    public AuditPayload decode() {
+        return AuditPayloadCodec.decode(payloads[nextEvent()]);
+    }
+
+    // Cycles through the dataset so no single event stays hot in the caches
+    private int nextEvent() {
+        next = next + 1 < events ? next + 1 : 0;
+        return next;
+    }
+
+    private long textColumns(String[] state) {
+        long bytes = 0;
+        for (String column : state) {
+            bytes += column != null ? column.getBytes(StandardCharsets.UTF_8).length : 0;
+        }
+        return bytes;
+    }
+
+    private long deflatePerColumn(String[] state) {
+        long bytes = 0;
+        for (String column : state) {
+            if (column != null) {
+                deflater.reset();
+                deflater.setInput(column.getBytes(StandardCharsets.UTF_8));
+                deflater.finish();
+                bytes += deflater.deflate(deflateBuffer);
+            }
+        }
+        return bytes;
+    }
+
+    // beforeState, afterState and changes of one event
+    private static String[] event(Random random, int id) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String userId = UUID.nameUUIDFromBytes(("user" + id).getBytes(StandardCharsets.UTF_8)).toString();
+        String address = (100 + random.nextInt(9000)) + " Main Street";
+        String zip = String.valueOf(10000 + random.nextInt(89999));
+        String homePhone = "555-" + (1000 + random.nextInt(8999));
+        String city = CITIES[random.nextInt(CITIES.length)];
+        String cellPhone = "555-" + (1000 + random.nextInt(8999));
+        String newCity = CITIES[random.nextInt(CITIES.length)];
+        String newCellPhone = "555-" + (1000 + random.nextInt(8999));
+
+        String before = employee(id, userId, firstName, lastName, address, city, zip, cellPhone, homePhone, "USER");
+        String after = employee(id, userId, firstName, lastName, address, newCity, zip, newCellPhone, homePhone,
+                id % 10 == 0 ? "ADMIN" : "USER");
+        switch (id % 10) {
+            case 1:
+                return new String[] { null, after, null };
+            case 2:
+                return new String[] { before, null, null };
+            default:
+                return new String[] { before, after,
+                        "[{\"field\":\"city\",\"from\":\"" + city + "\",\"to\":\"" + newCity + "\"},"
+                                + "{\"field\":\"cellPhone\",\"from\":\"" + cellPhone + "\",\"to\":\"" + newCellPhone
+                                + "\"}]" };
+        }
+    }
+
+    private static String employee(int id, String userId, String firstName, String lastName, String address,
+            String city, String zip, String cellPhone, String homePhone, String role) {
+        return "{\"id\":" + id + ",\"userId\":\"" + userId + "\",\"firstName\":\"" + firstName
+                + "\",\"lastName\":\"" + lastName + "\",\"address\":\"" + address + "\",\"city\":\"" + city
+                + "\",\"state\":\"TX\",\"zip\":\"" + zip + "\",\"cellPhone\":\"" + cellPhone
+                + "\",\"homePhone\":\"" + homePhone + "\",\"email\":\"" + firstName.toLowerCase() + "."
+                + lastName.toLowerCase() + "@example.com\",\"role\":\"" + role + "\"}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.ibm.fscc.benchmarks.gateway;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.fscc.apigateway.filters.AuditLoggingFilter;
+import com.ibm.fscc.kafka.dto.AuditEventCodec;
+import com.ibm.fscc.kafka.dto.AuditEventRecord;
+
+/**
+ * Audit work per request: building the event, which AuditLoggingFilter does
+ * on the response path, and its serialization on the audit publisher thread,
+ * against the HashMap plus ObjectMapper baseline. Decoding covers what
+ * audit-service does with each record. The Kafka send itself is not
+ * included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditEventBenchmark {
+
+    private static final MethodHandle BUILD_AUDIT_EVENT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    AuditLoggingFilter.class, MethodHandles.lookup());
+            BUILD_AUDIT_EVENT = lookup.findVirtual(AuditLoggingFilter.class, "buildAuditEvent",
+                    MethodType.methodType(AuditEventRecord.class, ServerHttpRequest.class, ServerHttpResponse.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AuditLoggingFilter filter;
+    private ServerHttpRequest request;
+    private ServerHttpResponse response;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        filter = new AuditLoggingFilter(null);
+
+        // Headers as they look after JwtAuthenticationGlobalFilter has run
+        request = MockServerHttpRequest.get("/api/employees/42")
+                .header("X-User-Id", "0b6d6c1e-6f1c-4d0e-9a47-1a2b3c4d5e6f")
+                .header("X-User-Role", "ADMIN")
+                .header("X-Correlation-Id", "7f3e2a10-1b2c-4d5e-8f90-a1b2c3d4e5f6")
+                .header(HttpHeaders.USER_AGENT, "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36")
+                .remoteAddress(new InetSocketAddress("10.0.0.15", 52344))
+                .build();
+        response = new MockServerHttpResponse();
+        response.setStatusCode(HttpStatus.OK);
+        encoded = AuditEventCodec.toBytes(buildRecord());
+    }
+
+    private AuditEventRecord buildRecord() {
+        try {
+            return (AuditEventRecord) BUILD_AUDIT_EVENT.invokeExact(filter, request, response, 12L);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyBuildAuditEvent() {
+        return LegacyAuditEvent.build(request, response, 12L);
+    }
+
+    @Benchmark
+    public byte[] legacyBuildAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(LegacyAuditEvent.build(request, response, 12L));
+    }
+
+    @Benchmark
+    public AuditEventRecord buildAuditEvent() throws Throwable {
+        return (AuditEventRecord) BUILD_AUDIT_EVENT.invokeExact(filter, request, response, 12L);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws Throwable {
+        AuditEventRecord event = (AuditEventRecord) BUILD_AUDIT_EVENT.invokeExact(filter, request, response, 12L);
+        return AuditEventCodec.toBytes(event);
+    }
+
+    @Benchmark
+    public Map<?, ?> legacyDecode() throws Exception {
+        return objectMapper.readValue(encoded, Map.class);
+    }
+
+    @Benchmark
+    public AuditEventRecord decode() throws Exception {
+        return AuditEventCodec.read(encoded);
+    }
+}
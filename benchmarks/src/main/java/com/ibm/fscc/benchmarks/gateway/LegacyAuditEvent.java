@@ -0,0 +1,75 @@
+package com.ibm.fscc.benchmarks.gateway;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+/**
+ * The event map AuditLoggingFilter built before AuditEventRecord, kept
+ * verbatim as the baseline for AuditEventBenchmark.
+ */
+final class LegacyAuditEvent {
+
+    private LegacyAuditEvent() {
+    }
+
+    static Map<String, Object> build(ServerHttpRequest request, ServerHttpResponse response, long responseTime) {
+        Map<String, Object> event = new HashMap<>();
+
+        // Event metadata
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("eventType", "API_GATEWAY_REQUEST");
+        event.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        event.put("serviceName", "api-gateway");
+        event.put("serviceVersion", "1.0.0");
+
+        // Request details
+        event.put("httpMethod", request.getMethod().toString());
+        event.put("requestPath", request.getURI().getPath());
+        event.put("action", request.getMethod().toString());
+
+        // User details from headers (set by JWT filter)
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        String userRole = request.getHeaders().getFirst("X-User-Role");
+        event.put("userId", userId != null ? userId : "anonymous");
+        event.put("metadata", String.format("{\"role\":\"%s\"}", userRole != null ? userRole : "NONE"));
+
+        // Client details
+        String ipAddress = getClientIp(request);
+        event.put("ipAddress", ipAddress);
+        event.put("userAgent", request.getHeaders().getFirst(HttpHeaders.USER_AGENT));
+
+        // Response details
+        event.put("responseCode", response.getStatusCode() != null ? response.getStatusCode().value() : 0);
+        event.put("responseTimeMs", responseTime);
+        event.put("status",
+                response.getStatusCode() != null && response.getStatusCode().is2xxSuccessful() ? "SUCCESS" : "FAILURE");
+
+        // Correlation
+        String correlationId = request.getHeaders().getFirst("X-Correlation-Id");
+        if (correlationId == null) {
+            correlationId = UUID.randomUUID().toString();
+        }
+        event.put("correlationId", correlationId);
+
+        return event;
+    }
+
+    private static String getClientIp(ServerHttpRequest request) {
+        String ip = request.getHeaders().getFirst("X-Forwarded-For");
+        if (ip == null || ip.isEmpty()) {
+            ip = request.getHeaders().getFirst("X-Real-IP");
+        }
+        if (ip == null || ip.isEmpty()) {
+            ip = request.getRemoteAddress() != null ? request.getRemoteAddress().getAddress().getHostAddress()
+                    : "unknown";
+        }
+        return ip;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ibm.fscc.benchmarks.gateway;
+
+import java.util.List;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * The route checks JwtAuthenticationGlobalFilter performed before
+ * RouteMatcher, kept verbatim as the baseline for RouteMatchingBenchmark:
+ * the request path and every configured path are normalized on each call.
+ */
+final class LegacyRouteMatching {
+
+    private static final List<PublicRoute> PUBLIC_ROUTES = List.of(
+            new PublicRoute(HttpMethod.POST, "/api/login/authenticate"),
+            new PublicRoute(HttpMethod.POST, "/api/login/set-password"),
+            new PublicRoute(HttpMethod.POST, "/api/login/request-password-reset"),
+            new PublicRoute(HttpMethod.POST, "/api/login/reset-password"),
+            new PublicRoute(HttpMethod.GET, "/api/login/status/check"),
+            new PublicRoute(HttpMethod.POST, "/api/registration"),
+            new PublicRoute(HttpMethod.GET, "/api/registration/status/check"),
+            new PublicRoute(HttpMethod.GET, "/api/employees/status/check"),
+            new PublicRoute(HttpMethod.GET, "/employee-service/v3/api-docs"),
+            new PublicRoute(HttpMethod.GET, "/employee-service/swagger-ui.html"),
+            new PublicRoute(HttpMethod.GET, "/registration-service/v3/api-docs"),
+            new PublicRoute(HttpMethod.GET, "/registration-service/swagger-ui.html"),
+            new PublicRoute(HttpMethod.GET, "/login-service/v3/api-docs"),
+            new PublicRoute(HttpMethod.GET, "/login-service/swagger-ui.html"),
+            new PublicRoute(HttpMethod.GET, "/notification-service/v3/api-docs"),
+            new PublicRoute(HttpMethod.GET, "/notification-service/swagger-ui.html"));
+
+    private static final List<String> PROTECTED_PATH_PREFIXES = List.of(
+            "/api/employees",
+            "/api/registration/");
+
+    boolean isPublicRoute(HttpMethod method, String path) {
+        String normalizedPath = normalizePath(path);
+
+        if (normalizedPath.contains("/swagger-ui") ||
+            normalizedPath.contains("/v3/api-docs") ||
+            normalizedPath.contains("/swagger-resources") ||
+            normalizedPath.contains("/webjars/")) {
+            return true;
+        }
+
+        return PUBLIC_ROUTES.stream()
+                .anyMatch(route -> route.method.equals(method)
+                        && normalizePath(route.path).equals(normalizedPath));
+    }
+
+    boolean requiresAuthentication(String path) {
+        String normalizedPath = normalizePath(path);
+        return PROTECTED_PATH_PREFIXES.stream()
+                .map(this::normalizePath)
+                .anyMatch(normalizedPath::startsWith);
+    }
+
+    private String normalizePath(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String noSlash = (path.endsWith("/") && path.length() > 1)
+                ? path.substring(0, path.length() - 1)
+                : path;
+        return noSlash.toLowerCase();
+    }
+
+    private static class PublicRoute {
+        final HttpMethod method;
+        final String path;
+
+        PublicRoute(HttpMethod method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+    }
+}
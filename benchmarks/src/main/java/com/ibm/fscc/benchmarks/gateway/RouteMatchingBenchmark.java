@@ -0,0 +1,65 @@
+package com.ibm.fscc.benchmarks.gateway;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+
+import com.ibm.fscc.apigateway.config.AuthRoutesProperties;
+import com.ibm.fscc.apigateway.filters.RouteMatcher;
+
+/**
+ * Route classification done by JwtAuthenticationGlobalFilter before any
+ * token work, in the order the filter evaluates it: the public-route check,
+ * then the protected-prefix check. Compares the compiled RouteMatcher with
+ * the list-scanning implementation it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteMatchingBenchmark {
+
+    // Public route, protected route, swagger asset, unmatched path
+    @Param({
+            "POST /api/login/authenticate",
+            "GET /api/employees/42",
+            "GET /employee-service/swagger-ui/index.html",
+            "GET /api/unknown/resource" })
+    private String request;
+
+    private final LegacyRouteMatching legacy = new LegacyRouteMatching();
+    private final RouteMatcher compiled = RouteMatcher.compile(new AuthRoutesProperties());
+
+    private HttpMethod method;
+    private String path;
+
+    @Setup
+    public void setup() {
+        String[] parts = request.split(" ", 2);
+        method = HttpMethod.valueOf(parts[0]);
+        path = parts[1];
+    }
+
+    @Benchmark
+    public boolean legacyClassify() {
+        return !legacy.isPublicRoute(method, path) && legacy.requiresAuthentication(path);
+    }
+
+    @Benchmark
+    public boolean compiledClassify() {
+        return compiled.classify(method, path) == RouteMatcher.Access.PROTECTED;
+    }
+}
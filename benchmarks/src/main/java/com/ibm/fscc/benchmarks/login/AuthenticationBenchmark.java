@@ -0,0 +1,115 @@
+package com.ibm.fscc.benchmarks.login;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.AuthenticationException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.fscc.loginservice.dto.AuthResponseDto;
+import com.ibm.fscc.loginservice.mapper.LoginMapperImpl;
+import com.ibm.fscc.loginservice.model.LoginEntity;
+import com.ibm.fscc.loginservice.repository.LoginRepository;
+import com.ibm.fscc.loginservice.services.LoginServiceImpl;
+import com.ibm.fscc.loginservice.services.PasswordHasher;
+import com.ibm.fscc.loginservice.util.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * LoginServiceImpl.authenticateUser with an in-memory repository, across
+ * BCrypt cost factors. The password check dominates; the bcryptMatches
+ * benchmark isolates it so the remaining mapping, hashing pool hand-off and
+ * token issuing cost can be read off the difference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private static final String EMAIL = "employee@example.com";
+    private static final String PASSWORD = "Sup3r-Secret!";
+
+    // 10 is the BCryptPasswordEncoder default used by SecurityConfig
+    @Param({ "10", "12" })
+    private int strength;
+
+    private LoginServiceImpl loginService;
+    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    private String passwordHash;
+
+    @Setup
+    public void setup() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        LoginEntity entity = new LoginEntity();
+        entity.setId(1L);
+        entity.setUserId(UUID.randomUUID().toString());
+        entity.setEmail(EMAIL);
+        entity.setPassword(passwordHash);
+        entity.setRole("USER");
+
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmarkSecret1234567890123456789012345");
+        ReflectionTestUtils.setField(jwtUtil, "authExpiration", TimeUnit.DAYS.toMillis(1));
+
+        // Same cost as the stored hash, so no login triggers a rehash
+        passwordHasher = new PasswordHasher(passwordEncoder, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(passwordHasher, "strength", strength);
+        ReflectionTestUtils.setField(passwordHasher, "threads", 0);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 32);
+        passwordHasher.init();
+
+        loginService = new LoginServiceImpl();
+        ReflectionTestUtils.setField(loginService, "loginRepository", repositoryReturning(entity));
+        ReflectionTestUtils.setField(loginService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(loginService, "passwordHasher", passwordHasher);
+        ReflectionTestUtils.setField(loginService, "loginMapper", new LoginMapperImpl());
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public AuthResponseDto authenticateUser() throws AuthenticationException {
+        return loginService.authenticateUser(EMAIL, PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    // Only findByEmail is reached on the authentication path
+    private static LoginRepository repositoryReturning(LoginEntity entity) {
+        return (LoginRepository) Proxy.newProxyInstance(LoginRepository.class.getClassLoader(),
+                new Class<?>[] { LoginRepository.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return EMAIL.equals(args[0]) ? entity : null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,294 @@
+package com.ibm.fscc.kafka.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming JSON codec for {@link AuditEventRecord}. Fields are written and
+ * read directly with Jackson's JsonGenerator/JsonParser, without building a
+ * tree, a map or going through ObjectMapper's reflective binding; null
+ * fields are omitted. The wire format is the one audit-service has always
+ * accepted: flat properties with an ISO-8601 local date-time timestamp.
+ */
+public final class AuditEventCodec {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Reused per thread; a publisher thread serializes events one after another
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFERS =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(1024));
+
+    private AuditEventCodec() {
+    }
+
+    public static byte[] toBytes(AuditEventRecord event) {
+        ByteArrayOutputStream buffer = BUFFERS.get();
+        buffer.reset();
+        try {
+            write(event, buffer);
+        } catch (IOException e) {
+            // Only the in-memory stream is written to
+            throw new IllegalStateException("Failed to write audit event", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static void write(AuditEventRecord event, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            writeString(json, "eventId", event.getEventId());
+            writeString(json, "eventType", event.getEventType());
+            writeString(json, "aggregateType", event.getAggregateType());
+            writeString(json, "aggregateId", event.getAggregateId());
+            if (event.getTimestamp() != null) {
+                json.writeStringField("timestamp", event.getTimestamp().toString());
+            }
+            writeString(json, "userId", event.getUserId());
+            writeString(json, "userEmail", event.getUserEmail());
+            writeString(json, "ipAddress", event.getIpAddress());
+            writeString(json, "userAgent", event.getUserAgent());
+            writeString(json, "serviceName", event.getServiceName());
+            writeString(json, "serviceVersion", event.getServiceVersion());
+            writeString(json, "correlationId", event.getCorrelationId());
+            writeString(json, "sessionId", event.getSessionId());
+            writeString(json, "action", event.getAction());
+            writeString(json, "status", event.getStatus());
+            writeString(json, "beforeState", event.getBeforeState());
+            writeString(json, "afterState", event.getAfterState());
+            writeString(json, "changes", event.getChanges());
+            writeString(json, "errorMessage", event.getErrorMessage());
+            writeString(json, "metadata", event.getMetadata());
+            writeString(json, "resourceType", event.getResourceType());
+            writeString(json, "resourceId", event.getResourceId());
+            writeString(json, "httpMethod", event.getHttpMethod());
+            writeString(json, "requestPath", event.getRequestPath());
+            if (event.getResponseCode() != null) {
+                json.writeNumberField("responseCode", event.getResponseCode());
+            }
+            if (event.getResponseTimeMs() != null) {
+                json.writeNumberField("responseTimeMs", event.getResponseTimeMs());
+            }
+            writeString(json, "complianceTag", event.getComplianceTag());
+            json.writeEndObject();
+        }
+    }
+
+    public static AuditEventRecord read(byte[] json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    public static AuditEventRecord read(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    private static AuditEventRecord read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Audit event must be a JSON object");
+        }
+
+        AuditEventRecord.AuditEventRecordBuilder event = AuditEventRecord.builder();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "eventId":
+                    event.eventId(text(parser));
+                    break;
+                case "eventType":
+                    event.eventType(text(parser));
+                    break;
+                case "aggregateType":
+                    event.aggregateType(text(parser));
+                    break;
+                case "aggregateId":
+                    event.aggregateId(text(parser));
+                    break;
+                case "timestamp":
+                    event.timestamp(timestamp(parser));
+                    break;
+                case "userId":
+                    event.userId(text(parser));
+                    break;
+                case "userEmail":
+                    event.userEmail(text(parser));
+                    break;
+                case "ipAddress":
+                    event.ipAddress(text(parser));
+                    break;
+                case "userAgent":
+                    event.userAgent(text(parser));
+                    break;
+                case "serviceName":
+                    event.serviceName(text(parser));
+                    break;
+                case "serviceVersion":
+                    event.serviceVersion(text(parser));
+                    break;
+                case "correlationId":
+                    event.correlationId(text(parser));
+                    break;
+                case "sessionId":
+                    event.sessionId(text(parser));
+                    break;
+                case "action":
+                    event.action(text(parser));
+                    break;
+                case "status":
+                    event.status(text(parser));
+                    break;
+                case "beforeState":
+                    event.beforeState(text(parser));
+                    break;
+                case "afterState":
+                    event.afterState(text(parser));
+                    break;
+                case "changes":
+                    event.changes(text(parser));
+                    break;
+                case "errorMessage":
+                    event.errorMessage(text(parser));
+                    break;
+                case "metadata":
+                    event.metadata(text(parser));
+                    break;
+                case "resourceType":
+                    event.resourceType(text(parser));
+                    break;
+                case "resourceId":
+                    event.resourceId(text(parser));
+                    break;
+                case "httpMethod":
+                    event.httpMethod(text(parser));
+                    break;
+                case "requestPath":
+                    event.requestPath(text(parser));
+                    break;
+                case "responseCode":
+                    event.responseCode(parser.getValueAsInt());
+                    break;
+                case "responseTimeMs":
+                    event.responseTimeMs(parser.getValueAsLong());
+                    break;
+                case "complianceTag":
+                    event.complianceTag(text(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return event.build();
+    }
+
+    private static void writeString(JsonGenerator json, String field, String value) throws IOException {
+        if (value != null) {
+            json.writeStringField(field, value);
+        }
+    }
+
+    // Scalars as text; nested objects or arrays are kept as their raw JSON
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            try (JsonGenerator json = JSON_FACTORY.createGenerator(raw)) {
+                json.copyCurrentStructure(parser);
+            }
+            return new String(raw.toByteArray(), StandardCharsets.UTF_8);
+        }
+        return parser.getValueAsString();
+    }
+
+    // ISO local date-time, ISO with offset, or epoch milliseconds
+    private static LocalDateTime timestamp(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+        }
+        String value = parser.getValueAsString();
+        LocalDateTime fast = parseIsoLocal(value);
+        if (fast != null) {
+            return fast;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeException e) {
+            try {
+                return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (DateTimeException ignored) {
+                throw new JsonParseException(parser, "Invalid audit event timestamp: " + value);
+            }
+        }
+    }
+
+    // Fast path for what LocalDateTime.toString() writes:
+    // yyyy-MM-ddTHH:mm[:ss[.fraction]]. Returns null for anything else.
+    private static LocalDateTime parseIsoLocal(String value) {
+        int length = value.length();
+        if (length < 16 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':') {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        int hour = digits(value, 11, 13);
+        int minute = digits(value, 14, 16);
+        int second = 0;
+        int nano = 0;
+        if (length > 16) {
+            if (length < 19 || value.charAt(16) != ':') {
+                return null;
+            }
+            second = digits(value, 17, 19);
+            if (length > 19) {
+                int fractionDigits = length - 20;
+                if (value.charAt(19) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return null;
+                }
+                nano = digits(value, 20, length);
+                for (int i = fractionDigits; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
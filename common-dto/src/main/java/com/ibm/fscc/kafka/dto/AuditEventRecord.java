@@ -0,0 +1,42 @@
+package com.ibm.fscc.kafka.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Audit event as it travels over Kafka to audit-service. Written and read
+ * with {@link AuditEventCodec}; field names are the JSON property names.
+ */
+@Value
+@Builder(toBuilder = true)
+public class AuditEventRecord {
+    String eventId;
+    String eventType;
+    String aggregateType;
+    String aggregateId;
+    LocalDateTime timestamp;
+    String userId;
+    String userEmail;
+    String ipAddress;
+    String userAgent;
+    String serviceName;
+    String serviceVersion;
+    String correlationId;
+    String sessionId;
+    String action;
+    String status;
+    String beforeState;
+    String afterState;
+    String changes;
+    String errorMessage;
+    String metadata;
+    String resourceType;
+    String resourceId;
+    String httpMethod;
+    String requestPath;
+    Integer responseCode;
+    Long responseTimeMs;
+    String complianceTag;
+}
@@ -0,0 +1,33 @@
+package com.ibm.fscc.kafka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request to send one template to many recipients. The jobId makes redelivery
+ * safe: notification-service ignores a job id it has already accepted. A job
+ * id may only contain letters, digits, '.', '_' and '-' (at most 64), and an
+ * event with any other id is rejected to the dead letter topic.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmailEventDto {
+    private String jobId;
+    private String templateName;
+    private String subject;
+    private Map<String, Object> variables;
+    private List<Recipient> recipients;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recipient {
+        private String email;
+        private Map<String, Object> variables;
+    }
+}
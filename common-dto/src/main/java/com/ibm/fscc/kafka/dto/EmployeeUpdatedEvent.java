@@ -0,0 +1,12 @@
+package com.ibm.fscc.kafka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeUpdatedEvent {
+    private String userId;
+}
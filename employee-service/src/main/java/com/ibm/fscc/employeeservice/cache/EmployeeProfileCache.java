@@ -0,0 +1,50 @@
+package com.ibm.fscc.employeeservice.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.ibm.fscc.employeeservice.common.TransactionCallbacks;
+import com.ibm.fscc.employeeservice.dto.EmployeeDto;
+
+/**
+ * Read-through cache of employee profiles keyed by userId, backing
+ * GET /api/employees/me. Size, TTL and stats recording come from the
+ * Caffeine spec in application.yml; hit/miss/eviction metrics are
+ * published by actuator under cache.gets / cache.evictions.
+ */
+@Component
+public class EmployeeProfileCache {
+
+    public static final String CACHE_NAME = "employee-profiles";
+
+    private final Cache cache;
+
+    public EmployeeProfileCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    public EmployeeDto get(String userId, Supplier<EmployeeDto> loader) {
+        EmployeeDto cached = cache.get(userId, EmployeeDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        EmployeeDto loaded = loader.get();
+        cache.put(userId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Evicts immediately and again once the surrounding transaction commits,
+     * so a concurrent read cannot re-populate the entry with pre-commit data
+     */
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.evict(userId);
+        TransactionCallbacks.afterCommit(() -> cache.evict(userId));
+    }
+}
@@ -8,7 +8,9 @@ public enum KafkaTopics {
     // Employees that have been deleted
     EMPLOYEE_DELETED("employee-deleted"),
     // Employees whose email has been changed
-    EMPLOYEE_EMAIL_CHANGED("employee-email-changed");
+    EMPLOYEE_EMAIL_CHANGED("employee-email-changed"),
+    // Employees whose profile has been updated in any way
+    EMPLOYEE_UPDATED("employee-updated");
 
     private final String topicName;
 
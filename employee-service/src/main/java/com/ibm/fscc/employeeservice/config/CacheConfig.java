@@ -0,0 +1,13 @@
+package com.ibm.fscc.employeeservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction. The Caffeine cache manager, cache
+ * names and eviction spec are auto-configured from spring.cache.* properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,66 @@
+package com.ibm.fscc.employeeservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.ibm.fscc.employeeservice.repository.EmployeeRepository;
+import com.ibm.fscc.employeeservice.search.EmployeeSearchEngine;
+import com.ibm.fscc.employeeservice.search.LikeEmployeeSearchEngine;
+import com.ibm.fscc.employeeservice.search.NGramEmployeeSearchEngine;
+
+/**
+ * Selects the employee search engine with {@code employee.search.engine}:
+ * {@code ngram} for the in-process trigram index, {@code like} (the default)
+ * for a plain LIKE scan of the employees table.
+ */
+@Configuration
+public class EmployeeSearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.search.engine", havingValue = "like", matchIfMissing = true)
+    EmployeeSearchEngine likeEmployeeSearchEngine(EmployeeRepository employeeRepository) {
+        return new LikeEmployeeSearchEngine(employeeRepository);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "employee.search.engine", havingValue = "ngram")
+    static class NGramSearchConfig {
+
+        private static final Logger log = LoggerFactory.getLogger(NGramSearchConfig.class);
+
+        @Value("${employee.search.ngram.gram-size:3}")
+        private int gramSize = 3;
+
+        @Value("${employee.search.ngram.max-ids-per-query:10000}")
+        private int maxIdsPerQuery = 10000;
+
+        private NGramEmployeeSearchEngine engine;
+
+        @Bean
+        EmployeeSearchEngine ngramEmployeeSearchEngine(EmployeeRepository employeeRepository) {
+            engine = new NGramEmployeeSearchEngine(employeeRepository,
+                    new LikeEmployeeSearchEngine(employeeRepository), gramSize, maxIdsPerQuery);
+            return engine;
+        }
+
+        /**
+         * Builds the index on startup and refreshes it periodically so that
+         * employees written through other replicas become searchable
+         */
+        @Scheduled(initialDelay = 0, fixedDelayString = "${employee.search.ngram.rebuild-interval-ms:300000}")
+        public void rebuildIndex() {
+            try {
+                engine.rebuild();
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild employee search index: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
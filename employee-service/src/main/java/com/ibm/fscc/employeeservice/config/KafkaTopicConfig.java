@@ -13,4 +13,9 @@ public class KafkaTopicConfig {
     NewTopic employeeRoleChangedTopic() {
         return new NewTopic(KafkaTopics.EMPLOYEE_ROLE_CHANGED.topicName(), 1, (short) 1);
     }
+
+    @Bean
+    NewTopic employeeUpdatedTopic() {
+        return new NewTopic(KafkaTopics.EMPLOYEE_UPDATED.topicName(), 1, (short) 1);
+    }
 }
@@ -21,6 +21,7 @@ import org.springframework.security.core.Authentication;
 
 import com.ibm.fscc.employeeservice.dto.EmployeeDto;
 import com.ibm.fscc.employeeservice.dto.EmployeeResponseDto;
+import com.ibm.fscc.employeeservice.dto.EmployeeSliceDto;
 import com.ibm.fscc.employeeservice.dto.EmployeeUpdateDto;
 import com.ibm.fscc.employeeservice.services.EmployeeService;
 
@@ -62,6 +63,31 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.getEmployees(search, pageable));
     }
 
+    @Operation(
+        summary = "Scroll through employees with a cursor",
+        description = "Keyset-paginated variant of the employee list for exports and deep scrolling. "
+                + "Returns no total count; pass the returned 'next' cursor as 'after' to fetch the following slice. "
+                + "Requires ADMIN role."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved employee slice"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or size", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - valid login required"),
+        @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/scroll")
+    public ResponseEntity<EmployeeSliceDto> scrollEmployees(
+            @RequestParam(required = false) String search,
+            @Parameter(description = "Cursor returned as 'next' by the previous slice")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Sort property with optional direction, e.g. lastName,desc", example = "lastName")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Slice size, capped at 1000", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(employeeService.getEmployeesAfter(search, after, sort, size));
+    }
+
     @Operation(
         summary = "Get current user's employee profile",
         description = "Retrieves the employee profile for the currently authenticated user"
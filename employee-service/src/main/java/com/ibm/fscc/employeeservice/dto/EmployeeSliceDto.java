@@ -0,0 +1,22 @@
+package com.ibm.fscc.employeeservice.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One window of a keyset-paginated employee listing. Carries no total count;
+ * {@code next} is the opaque cursor to pass as {@code after} for the
+ * following window and is null on the last one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSliceDto {
+    private List<EmployeeDto> content;
+    private int size;
+    private boolean hasNext;
+    private String next;
+}
@@ -0,0 +1,7 @@
+package com.ibm.fscc.employeeservice.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String reason) {
+        super("Invalid pagination cursor: %s".formatted(reason));
+    }
+}
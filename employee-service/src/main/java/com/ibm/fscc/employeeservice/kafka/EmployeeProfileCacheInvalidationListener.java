@@ -0,0 +1,38 @@
+package com.ibm.fscc.employeeservice.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.ibm.fscc.employeeservice.cache.EmployeeProfileCache;
+
+/**
+ * Keeps the profile cache coherent across employee-service replicas.
+ * Every employee event is keyed by userId, so each replica consumes them
+ * in its own consumer group and evicts the key locally.
+ */
+@Service
+public class EmployeeProfileCacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeProfileCacheInvalidationListener.class);
+
+    private final EmployeeProfileCache employeeProfileCache;
+
+    public EmployeeProfileCacheInvalidationListener(EmployeeProfileCache employeeProfileCache) {
+        this.employeeProfileCache = employeeProfileCache;
+    }
+
+    @KafkaListener(
+            topics = { "employee-updated", "employee-role-changed", "employee-email-changed", "employee-deleted" },
+            groupId = "employee-service-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest",
+            autoStartup = "${employee.profile-cache.kafka-invalidation:true}")
+    public void handleEmployeeChanged(ConsumerRecord<String, Object> record) {
+        if (record.key() != null) {
+            log.debug("Evicting cached profile for userId: {} after {} event", record.key(), record.topic());
+            employeeProfileCache.evict(record.key());
+        }
+    }
+}
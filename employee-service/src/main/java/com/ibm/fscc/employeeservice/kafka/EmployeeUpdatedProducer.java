@@ -0,0 +1,26 @@
+package com.ibm.fscc.employeeservice.kafka;
+
+import com.ibm.fscc.employeeservice.common.KafkaTopics;
+import com.ibm.fscc.kafka.dto.EmployeeUpdatedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EmployeeUpdatedProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeUpdatedProducer.class);
+
+    private final KafkaTemplate<String, EmployeeUpdatedEvent> kafkaTemplate;
+
+    public EmployeeUpdatedProducer(KafkaTemplate<String, EmployeeUpdatedEvent> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void sendEmployeeUpdated(EmployeeUpdatedEvent event) {
+        logger.debug("Sending EmployeeUpdated event to Kafka for userId: {}", event.getUserId());
+        kafkaTemplate.send(KafkaTopics.EMPLOYEE_UPDATED.topicName(), event.getUserId(), event);
+    }
+}
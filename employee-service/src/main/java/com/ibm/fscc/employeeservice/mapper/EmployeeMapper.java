@@ -0,0 +1,25 @@
+package com.ibm.fscc.employeeservice.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.ibm.fscc.employeeservice.dto.EmployeeDto;
+import com.ibm.fscc.employeeservice.dto.EmployeeResponseDto;
+import com.ibm.fscc.employeeservice.model.EmployeeEntity;
+
+/**
+ * Entity/DTO conversions for employees. The implementation is generated
+ * by MapStruct at compile time as plain getter/setter calls.
+ */
+@Mapper(componentModel = "spring")
+public interface EmployeeMapper {
+
+    EmployeeDto toDto(EmployeeEntity entity);
+
+    EmployeeResponseDto toResponseDto(EmployeeEntity entity);
+
+    // id and userId are always assigned by the system
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    EmployeeEntity toEntityForCreate(EmployeeDto dto);
+}
@@ -1,7 +1,10 @@
 package com.ibm.fscc.employeeservice.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -23,4 +26,12 @@ public interface EmployeeRepository extends
 
     @Query("SELECT e.email FROM EmployeeEntity e WHERE e.id = :id")
     Optional<String> findEmailById(@Param("id") Long id);
+
+    /**
+     * Fetches at most {@code limit} rows in the given order without issuing
+     * a count query. Used for keyset (seek) pagination.
+     */
+    default List<EmployeeEntity> findSlice(Specification<EmployeeEntity> spec, Sort sort, int limit) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit).all());
+    }
 }
@@ -1,5 +1,8 @@
 package com.ibm.fscc.employeeservice.repository.specification;
 
+import java.util.Collection;
+
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.ibm.fscc.employeeservice.model.EmployeeEntity;
@@ -29,4 +32,39 @@ public class EmployeeSpecifications {
         };
     }
 
+    public static Specification<EmployeeEntity> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<EmployeeEntity> none() {
+        return (root, query, cb) -> cb.disjunction();
+    }
+
+    /**
+     * Keyset predicate selecting the rows that come strictly after
+     * (sortValue, id) in an ordering by {@code sortProperty} then id,
+     * both in the given direction.
+     */
+    public static Specification<EmployeeEntity> after(String sortProperty, Sort.Direction direction,
+            String sortValue, long id) {
+        return (root, query, cb) -> {
+            if ("id".equals(sortProperty)) {
+                return direction.isAscending()
+                        ? cb.greaterThan(root.<Long>get("id"), id)
+                        : cb.lessThan(root.<Long>get("id"), id);
+            }
+
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(root.<String>get(sortProperty), sortValue),
+                        cb.and(cb.equal(root.<String>get(sortProperty), sortValue), cb.greaterThan(root.<Long>get("id"), id))
+                );
+            }
+            return cb.or(
+                    cb.lessThan(root.<String>get(sortProperty), sortValue),
+                    cb.and(cb.equal(root.<String>get(sortProperty), sortValue), cb.lessThan(root.<Long>get("id"), id))
+            );
+        };
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.ibm.fscc.employeeservice.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ibm.fscc.employeeservice.model.EmployeeEntity;
+
+/**
+ * Resolves the admin free-text search over employees.
+ * Implementations that keep their own index are notified from the service
+ * layer whenever an employee is saved or deleted.
+ */
+public interface EmployeeSearchEngine {
+
+    Page<EmployeeEntity> search(String search, Pageable pageable);
+
+    /**
+     * Returns a specification restricting employees to those matching the
+     * search, for callers that need to combine it with further predicates.
+     */
+    Specification<EmployeeEntity> toSpecification(String search);
+
+    default void onSaved(EmployeeEntity employee) {
+    }
+
+    default void onDeleted(EmployeeEntity employee) {
+    }
+}
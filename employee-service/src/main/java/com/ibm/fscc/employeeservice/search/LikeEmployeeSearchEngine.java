@@ -0,0 +1,33 @@
+package com.ibm.fscc.employeeservice.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ibm.fscc.employeeservice.model.EmployeeEntity;
+import com.ibm.fscc.employeeservice.repository.EmployeeRepository;
+import com.ibm.fscc.employeeservice.repository.specification.EmployeeSpecifications;
+
+/**
+ * Search engine that pushes the search down to the database as a
+ * case-insensitive LIKE over every searchable column. Needs no index
+ * maintenance but scans the whole employees table for every search.
+ */
+public class LikeEmployeeSearchEngine implements EmployeeSearchEngine {
+
+    private final EmployeeRepository employeeRepository;
+
+    public LikeEmployeeSearchEngine(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Page<EmployeeEntity> search(String search, Pageable pageable) {
+        return employeeRepository.findAll(toSpecification(search), pageable);
+    }
+
+    @Override
+    public Specification<EmployeeEntity> toSpecification(String search) {
+        return EmployeeSpecifications.matchesSearch(search);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ibm.fscc.employeeservice.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ibm.fscc.employeeservice.common.TransactionCallbacks;
+import com.ibm.fscc.employeeservice.model.EmployeeEntity;
+import com.ibm.fscc.employeeservice.repository.EmployeeRepository;
+import com.ibm.fscc.employeeservice.repository.specification.EmployeeSpecifications;
+
+/**
+ * Search engine backed by an in-process trigram index over the searchable
+ * employee columns. A search resolves the matching ids from memory and then
+ * loads only that page from the database by primary key, so neither the
+ * page query nor its count query scans the employees table.
+ *
+ * The index is kept current from the service save/delete paths after the
+ * surrounding transaction commits, and is rebuilt periodically so writes
+ * made by other replicas become visible. Until the first build completes,
+ * or when a term is too short or too unselective for the index to help,
+ * the search falls back to the LIKE engine.
+ */
+public class NGramEmployeeSearchEngine implements EmployeeSearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(NGramEmployeeSearchEngine.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchEngine fallback;
+    private final int gramSize;
+    private final int maxIdsPerQuery;
+
+    private volatile NGramIndex index;
+    private volatile boolean ready;
+
+    // Ids written while a rebuild is loading; the loader must not overwrite them
+    private Set<Long> touchedDuringRebuild;
+    private NGramIndex rebuilding;
+
+    public NGramEmployeeSearchEngine(EmployeeRepository employeeRepository, EmployeeSearchEngine fallback,
+            int gramSize, int maxIdsPerQuery) {
+        this.employeeRepository = employeeRepository;
+        this.fallback = fallback;
+        this.gramSize = gramSize;
+        this.maxIdsPerQuery = maxIdsPerQuery;
+        this.index = new NGramIndex(gramSize);
+    }
+
+    @Override
+    public Page<EmployeeEntity> search(String search, Pageable pageable) {
+        if (search == null || search.isBlank() || !ready || search.length() < gramSize) {
+            return fallback.search(search, pageable);
+        }
+
+        List<Long> ids = index.search(search);
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (ids.size() > maxIdsPerQuery) {
+            logger.debug("Search term '{}' matched {} employees, falling back to LIKE", search, ids.size());
+            return fallback.search(search, pageable);
+        }
+        return employeeRepository.findAll(EmployeeSpecifications.idIn(ids), pageable);
+    }
+
+    @Override
+    public Specification<EmployeeEntity> toSpecification(String search) {
+        if (search == null || search.isBlank() || !ready || search.length() < gramSize) {
+            return fallback.toSpecification(search);
+        }
+
+        List<Long> ids = index.search(search);
+        if (ids.isEmpty()) {
+            return EmployeeSpecifications.none();
+        }
+        if (ids.size() > maxIdsPerQuery) {
+            return fallback.toSpecification(search);
+        }
+        return EmployeeSpecifications.idIn(ids);
+    }
+
+    @Override
+    public void onSaved(EmployeeEntity employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        long id = employee.getId();
+        String[] fields = searchableFields(employee);
+        TransactionCallbacks.afterCommit(() -> apply(id, fields));
+    }
+
+    @Override
+    public void onDeleted(EmployeeEntity employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        long id = employee.getId();
+        TransactionCallbacks.afterCommit(() -> apply(id, null));
+    }
+
+    /**
+     * Rebuilds the whole index from the database into a fresh instance and
+     * swaps it in. Writes that arrive while loading are applied to both the
+     * live and the new index, and take precedence over the loaded rows.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            rebuilding = new NGramIndex(gramSize);
+            touchedDuringRebuild = new HashSet<>();
+        }
+
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Page<EmployeeEntity> page;
+        do {
+            page = employeeRepository.findAll(batch);
+            synchronized (this) {
+                for (EmployeeEntity employee : page.getContent()) {
+                    if (!touchedDuringRebuild.contains(employee.getId())) {
+                        rebuilding.put(employee.getId(), searchableFields(employee));
+                    }
+                }
+            }
+            batch = page.nextPageable();
+        } while (page.hasNext());
+
+        synchronized (this) {
+            index = rebuilding;
+            rebuilding = null;
+            touchedDuringRebuild = null;
+        }
+        ready = true;
+        logger.info("Employee search index rebuilt with {} employees in {} ms",
+                index.size(), System.currentTimeMillis() - start);
+    }
+
+    private synchronized void apply(long id, String[] fields) {
+        if (fields == null) {
+            index.remove(id);
+        } else {
+            index.put(id, fields);
+        }
+        if (rebuilding != null) {
+            touchedDuringRebuild.add(id);
+            if (fields == null) {
+                rebuilding.remove(id);
+            } else {
+                rebuilding.put(id, fields);
+            }
+        }
+    }
+
+    // Same columns as EmployeeSpecifications.matchesSearch
+    private static String[] searchableFields(EmployeeEntity employee) {
+        return new String[] {
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getUserId(),
+                employee.getCity(),
+                employee.getState(),
+                employee.getZip(),
+                employee.getCellPhone(),
+                employee.getHomePhone(),
+                employee.getRole()
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.ibm.fscc.employeeservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index from character n-grams to document ids.
+ * Each document is a set of independent fields; grams never span two fields,
+ * so a hit means the term occurs inside a single field, exactly like a
+ * per-column LIKE '%term%'. Reads are lock-free, writes are serialized.
+ */
+class NGramIndex {
+
+    private final int gramSize;
+
+    // gram -> ids of documents containing it in at least one field
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    // id -> lowercased field values, used to drop postings and verify hits
+    private final Map<Long, String[]> documents = new ConcurrentHashMap<>();
+
+    NGramIndex(int gramSize) {
+        this.gramSize = gramSize;
+    }
+
+    int gramSize() {
+        return gramSize;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    synchronized void put(long id, String... fields) {
+        remove(id);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+            for (String gram : grams(normalized[i])) {
+                postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        documents.put(id, normalized);
+    }
+
+    synchronized void remove(long id) {
+        String[] previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String field : previous) {
+            for (String gram : grams(field)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of all documents with a field containing {@code term},
+     * in ascending order. Terms shorter than the gram size cannot be answered
+     * from the index and must be resolved by the caller.
+     */
+    List<Long> search(String term) {
+        String needle = normalize(term);
+        if (needle.length() < gramSize) {
+            throw new IllegalArgumentException("Search term shorter than gram size " + gramSize);
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> matches = new ArrayList<>();
+        for (Long id : lists.get(0)) {
+            if (inAll(id, lists) && verify(id, needle)) {
+                matches.add(id);
+            }
+        }
+        matches.sort(null);
+        return matches;
+    }
+
+    private boolean inAll(Long id, List<Set<Long>> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Grams only prove co-occurrence, so confirm the term is a real substring
+    private boolean verify(Long id, String needle) {
+        String[] fields = documents.get(id);
+        return fields != null && Arrays.stream(fields).anyMatch(f -> f.contains(needle));
+    }
+
+    private Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + gramSize <= value.length(); i++) {
+            grams.add(value.substring(i, i + gramSize));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Pageable;
 
 import com.ibm.fscc.employeeservice.dto.EmployeeDto;
 import com.ibm.fscc.employeeservice.dto.EmployeeResponseDto;
+import com.ibm.fscc.employeeservice.dto.EmployeeSliceDto;
 import com.ibm.fscc.employeeservice.dto.EmployeeUpdateDto;
 import com.ibm.fscc.kafka.dto.EmployeeEventDto;
 
@@ -12,6 +13,8 @@ public interface EmployeeService {
 
     Page<EmployeeDto> getEmployees(String search, Pageable pageable);
 
+    EmployeeSliceDto getEmployeesAfter(String search, String after, String sort, int size);
+
     EmployeeDto getEmployeeByUserId(String userId);
 
     EmployeeDto addEmployeeFromClient(EmployeeDto employeeDto);
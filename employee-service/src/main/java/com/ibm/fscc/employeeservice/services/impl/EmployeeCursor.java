@@ -0,0 +1,92 @@
+package com.ibm.fscc.employeeservice.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.ibm.fscc.employeeservice.exception.InvalidCursorException;
+import com.ibm.fscc.employeeservice.model.EmployeeEntity;
+
+/**
+ * Keyset pagination position: the sort column and direction plus the
+ * (sortValue, id) pair of the last row returned. Serialized as an opaque
+ * URL-safe token so clients never depend on its layout.
+ */
+record EmployeeCursor(String sortProperty, Sort.Direction direction, String sortValue, long id) {
+
+    private static final String VERSION = "v1";
+
+    static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "id", "userId", "firstName", "lastName", "email", "city", "state", "zip", "role");
+
+    static EmployeeCursor of(EmployeeEntity last, String sortProperty, Sort.Direction direction) {
+        return new EmployeeCursor(sortProperty, direction, sortValue(last, sortProperty), last.getId());
+    }
+
+    /**
+     * Parses a sort parameter of the form {@code property} or
+     * {@code property,asc|desc}, the same shape Spring's Pageable accepts.
+     */
+    static Sort.Order parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.Order.asc("id");
+        }
+        String[] parts = sort.split(",", 2);
+        String property = parts[0].trim();
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new InvalidCursorException("unsupported sort property '" + property + "'");
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new InvalidCursorException("unsupported sort direction '" + parts[1] + "'"))
+                : Sort.Direction.ASC;
+        return new Sort.Order(direction, property);
+    }
+
+    static EmployeeCursor decode(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("malformed token");
+        }
+
+        // Value goes last so it may itself contain the separator
+        String[] parts = decoded.split(":", 5);
+        if (parts.length != 5 || !VERSION.equals(parts[0]) || !SORTABLE_PROPERTIES.contains(parts[1])) {
+            throw new InvalidCursorException("malformed token");
+        }
+        try {
+            return new EmployeeCursor(parts[1], Sort.Direction.valueOf(parts[2]), parts[4], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("malformed token");
+        }
+    }
+
+    String encode() {
+        String raw = String.join(":", VERSION, sortProperty, direction.name(), Long.toString(id),
+                sortValue == null ? "" : sortValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean matches(Sort.Order order) {
+        return sortProperty.equals(order.getProperty()) && direction == order.getDirection();
+    }
+
+    private static String sortValue(EmployeeEntity employee, String property) {
+        return switch (property) {
+            case "id" -> String.valueOf(employee.getId());
+            case "userId" -> employee.getUserId();
+            case "firstName" -> employee.getFirstName();
+            case "lastName" -> employee.getLastName();
+            case "email" -> employee.getEmail();
+            case "city" -> employee.getCity();
+            case "state" -> employee.getState();
+            case "zip" -> employee.getZip();
+            case "role" -> employee.getRole();
+            default -> throw new InvalidCursorException("unsupported sort property '" + property + "'");
+        };
+    }
+}
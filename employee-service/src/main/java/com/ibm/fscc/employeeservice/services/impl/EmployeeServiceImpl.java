@@ -1,27 +1,36 @@
 package com.ibm.fscc.employeeservice.services.impl;
 
 import com.ibm.fscc.common.exception.ResourceNotFoundException;
+import com.ibm.fscc.employeeservice.cache.EmployeeProfileCache;
+import com.ibm.fscc.employeeservice.common.TransactionCallbacks;
 import com.ibm.fscc.employeeservice.dto.EmployeeDto;
 import com.ibm.fscc.employeeservice.dto.EmployeeResponseDto;
+import com.ibm.fscc.employeeservice.dto.EmployeeSliceDto;
 import com.ibm.fscc.employeeservice.dto.EmployeeUpdateDto;
 import com.ibm.fscc.employeeservice.exception.DuplicateEmployeeEmailException;
+import com.ibm.fscc.employeeservice.exception.InvalidCursorException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import com.ibm.fscc.employeeservice.kafka.EmployeeAdminAddedProducer;
 import com.ibm.fscc.employeeservice.kafka.EmployeeDeletedProducer;
 import com.ibm.fscc.employeeservice.kafka.EmployeeEmailChangedProducer;
 import com.ibm.fscc.employeeservice.kafka.EmployeeRoleChangeProducer;
+import com.ibm.fscc.employeeservice.kafka.EmployeeUpdatedProducer;
+import com.ibm.fscc.employeeservice.mapper.EmployeeMapper;
 import com.ibm.fscc.employeeservice.model.EmployeeEntity;
 import com.ibm.fscc.employeeservice.repository.EmployeeRepository;
 import com.ibm.fscc.employeeservice.repository.specification.EmployeeSpecifications;
+import com.ibm.fscc.employeeservice.search.EmployeeSearchEngine;
 import com.ibm.fscc.employeeservice.services.EmployeeService;
 import com.ibm.fscc.kafka.dto.EmployeeDeletedEvent;
 import com.ibm.fscc.kafka.dto.EmployeeEmailChangedEvent;
 import com.ibm.fscc.kafka.dto.EmployeeEventDto;
 import com.ibm.fscc.kafka.dto.EmployeeRoleChangeEvent;
+import com.ibm.fscc.kafka.dto.EmployeeUpdatedEvent;
 
 import jakarta.validation.Valid;
-import org.springframework.beans.BeanUtils;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,6 +40,7 @@ import org.springframework.security.core.Authentication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -38,34 +48,83 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
+    private static final int MAX_SLICE_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
     private final EmployeeRoleChangeProducer employeeRoleChangeProducer;
     private final EmployeeAdminAddedProducer employeeAdminAddedProducer;
     private final EmployeeDeletedProducer employeeDeletedProducer;
     private final EmployeeEmailChangedProducer employeeEmailChangedProducer;
+    private final EmployeeUpdatedProducer employeeUpdatedProducer;
+    private final EmployeeSearchEngine employeeSearchEngine;
+    private final EmployeeProfileCache employeeProfileCache;
+    private final EmployeeMapper employeeMapper;
 
     public EmployeeServiceImpl(EmployeeRepository employeeRepository,
             EmployeeRoleChangeProducer employeeRoleChangeProducer,
             EmployeeAdminAddedProducer employeeAdminAddedProducer,
             EmployeeDeletedProducer employeeDeletedProducer,
-            EmployeeEmailChangedProducer employeeEmailChangedProducer) {
+            EmployeeEmailChangedProducer employeeEmailChangedProducer,
+            EmployeeUpdatedProducer employeeUpdatedProducer,
+            EmployeeSearchEngine employeeSearchEngine,
+            EmployeeProfileCache employeeProfileCache,
+            EmployeeMapper employeeMapper) {
         this.employeeRepository = employeeRepository;
         this.employeeRoleChangeProducer = employeeRoleChangeProducer;
         this.employeeAdminAddedProducer = employeeAdminAddedProducer;
         this.employeeDeletedProducer = employeeDeletedProducer;
         this.employeeEmailChangedProducer = employeeEmailChangedProducer;
+        this.employeeUpdatedProducer = employeeUpdatedProducer;
+        this.employeeSearchEngine = employeeSearchEngine;
+        this.employeeProfileCache = employeeProfileCache;
+        this.employeeMapper = employeeMapper;
     }
 
     @Override
     public Page<EmployeeDto> getEmployees(String search, Pageable pageable) {
-        return employeeRepository.findAll(EmployeeSpecifications.matchesSearch(search), pageable).map(this::toDto);
+        return employeeSearchEngine.search(search, pageable).map(this::toDto);
+    }
+
+    @Override
+    public EmployeeSliceDto getEmployeesAfter(String search, String after, String sort, int size) {
+        size = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        Sort.Order order = EmployeeCursor.parseSort(sort);
+        Specification<EmployeeEntity> spec = employeeSearchEngine.toSpecification(search);
+
+        if (after != null && !after.isBlank()) {
+            EmployeeCursor cursor = EmployeeCursor.decode(after);
+            if (!cursor.matches(order)) {
+                throw new InvalidCursorException("cursor was issued for a different sort order");
+            }
+            spec = spec.and(EmployeeSpecifications.after(
+                    cursor.sortProperty(), cursor.direction(), cursor.sortValue(), cursor.id()));
+        }
+
+        // id breaks ties so the (sortValue, id) position is unique
+        Sort keyset = order.getProperty().equals("id")
+                ? Sort.by(order)
+                : Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+
+        // Fetch one extra row to learn whether another slice follows
+        List<EmployeeEntity> rows = employeeRepository.findSlice(spec, keyset, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        String next = hasNext
+                ? EmployeeCursor.of(rows.get(rows.size() - 1), order.getProperty(), order.getDirection()).encode()
+                : null;
+        return new EmployeeSliceDto(rows.stream().map(this::toDto).toList(), rows.size(), hasNext, next);
     }
 
     @Override
     public EmployeeDto getEmployeeByUserId(String userId) {
-        EmployeeEntity employee = employeeRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", "userId", userId));
-        return toDto(employee);
+        return employeeProfileCache.get(userId, () -> {
+            EmployeeEntity employee = employeeRepository.findByUserId(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee", "userId", userId));
+            return toDto(employee);
+        });
     }
 
     @Override
@@ -74,6 +133,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             EmployeeEntity entity = toEntityForCreate(employeeDto);
             entity.setUserId(UUID.randomUUID().toString());
             EmployeeEntity savedEntity = employeeRepository.save(entity);
+            employeeSearchEngine.onSaved(savedEntity);
 
             // Create and send Kafka event for admin-added employee
             EmployeeEventDto eventDto = new EmployeeEventDto();
@@ -120,6 +180,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         entity.setHomePhone("000-000-0000");
 
         employeeRepository.save(entity);
+        employeeSearchEngine.onSaved(entity);
 
         return toDto(entity);
     }
@@ -139,6 +200,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                 employee.getUserId(), employee.getEmail());
 
         employeeRepository.deleteById(id);
+        employeeSearchEngine.onDeleted(employee);
+        employeeProfileCache.evict(employee.getUserId());
     }
 
     @Transactional
@@ -157,6 +220,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                 employee.getUserId(), employee.getEmail());
 
         employeeRepository.deleteByEmail(email);
+        employeeSearchEngine.onDeleted(employee);
+        employeeProfileCache.evict(employee.getUserId());
     }
 
     @Transactional
@@ -173,6 +238,11 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         try {
             EmployeeEntity saved = employeeRepository.save(existing);
+            employeeSearchEngine.onSaved(saved);
+            employeeProfileCache.evict(saved.getUserId());
+            // Other replicas reload the profile when they see this, so it must not go out before commit
+            EmployeeUpdatedEvent updatedEvent = new EmployeeUpdatedEvent(saved.getUserId());
+            TransactionCallbacks.afterCommit(() -> employeeUpdatedProducer.sendEmployeeUpdated(updatedEvent));
 
             // If role changed, produce Kafka event
             if (updateDto.getRole() != null && !updateDto.getRole().isBlank() && !updateDto.getRole().equals(oldRole)) {
@@ -202,8 +272,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     // ----- Mapping Helpers -----
     private EmployeeEntity toEntityForCreate(EmployeeDto dto) {
-        EmployeeEntity entity = new EmployeeEntity();
-        BeanUtils.copyProperties(dto, entity, "id", "userId");
+        EmployeeEntity entity = employeeMapper.toEntityForCreate(dto);
 
         // Apply default role if not provided
         if (entity.getRole() == null || entity.getRole().isBlank()) {
@@ -213,15 +282,11 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     private EmployeeDto toDto(EmployeeEntity entity) {
-        EmployeeDto dto = new EmployeeDto();
-        BeanUtils.copyProperties(entity, dto);
-        return dto;
+        return employeeMapper.toDto(entity);
     }
 
     private EmployeeResponseDto toResponseDto(EmployeeEntity entity) {
-        EmployeeResponseDto dto = new EmployeeResponseDto();
-        BeanUtils.copyProperties(entity, dto);
-        return dto;
+        return employeeMapper.toResponseDto(entity);
     }
 
     private void updateNonNullFields(EmployeeUpdateDto source, EmployeeEntity target) {
@@ -0,0 +1,125 @@
+package com.ibm.fscc.employeeservice.search
+
+import com.ibm.fscc.employeeservice.model.EmployeeEntity
+import com.ibm.fscc.employeeservice.repository.EmployeeRepository
+import org.springframework.data.domain.Page
+import org.springframework.data.domain.PageImpl
+import org.springframework.data.domain.PageRequest
+import org.springframework.data.domain.Pageable
+import org.springframework.data.jpa.domain.Specification
+import spock.lang.Subject
+
+/**
+ * Spock tests for the trigram-index employee search engine.
+ */
+class NGramEmployeeSearchEngineSpec extends spock.lang.Specification {
+
+    EmployeeRepository employeeRepository = Mock()
+    EmployeeSearchEngine fallback = Mock()
+
+    @Subject
+    NGramEmployeeSearchEngine engine = new NGramEmployeeSearchEngine(employeeRepository, fallback, 3, 100)
+
+    def pageable = PageRequest.of(0, 10)
+
+    def "search should fall back to LIKE until the index has been built"() {
+        when:
+        engine.search("john", pageable)
+
+        then:
+        1 * fallback.search("john", pageable) >> Page.empty()
+        0 * employeeRepository.findAll(_ as Specification, _ as Pageable)
+    }
+
+    def "search should fall back to LIKE for terms shorter than the gram size"() {
+        given:
+        buildIndex([employee(1L, "John", "Doe", "john@example.com")])
+
+        when:
+        engine.search("jo", pageable)
+
+        then:
+        1 * fallback.search("jo", pageable) >> Page.empty()
+    }
+
+    def "search should load only the indexed matches by id"() {
+        given:
+        buildIndex([
+                employee(1L, "John", "Doe", "john@example.com"),
+                employee(2L, "Jane", "Smith", "jane@example.com")
+        ])
+
+        when:
+        engine.search("SMIT", pageable)
+
+        then:
+        1 * employeeRepository.findAll(_ as Specification, pageable) >> new PageImpl([])
+        0 * fallback.search(_, _)
+    }
+
+    def "search should return an empty page without querying when nothing matches"() {
+        given:
+        buildIndex([employee(1L, "John", "Doe", "john@example.com")])
+
+        when:
+        def result = engine.search("zzz", pageable)
+
+        then:
+        result.totalElements == 0
+        0 * employeeRepository.findAll(_ as Specification, _ as Pageable)
+        0 * fallback.search(_, _)
+    }
+
+    def "index should not match terms spanning two fields"() {
+        given:
+        def index = new NGramIndex(3)
+        index.put(1L, "John", "Doe")
+
+        expect:
+        index.search("johndoe").isEmpty()
+        index.search("ohn") == [1L]
+    }
+
+    def "onSaved and onDeleted should keep the index current"() {
+        given:
+        def index = buildIndex([employee(1L, "John", "Doe", "john@example.com")])
+
+        when: "an employee is renamed and another is added"
+        engine.onSaved(employee(1L, "Johnny", "Walker", "johnny@example.com"))
+        engine.onSaved(employee(2L, "Mary", "Doe", "mary@example.com"))
+
+        then:
+        engine.index.search("walker") == [1L]
+        engine.index.search("doe") == [2L]
+
+        when: "an employee is deleted"
+        engine.onDeleted(employee(2L, "Mary", "Doe", "mary@example.com"))
+
+        then:
+        engine.index.search("mary").isEmpty()
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private NGramIndex buildIndex(List<EmployeeEntity> employees) {
+        employeeRepository.findAll(_ as Pageable) >> new PageImpl(employees)
+        engine.rebuild()
+        return engine.index
+    }
+
+    private EmployeeEntity employee(Long id, String firstName, String lastName, String email) {
+        def entity = new EmployeeEntity()
+        entity.id = id
+        entity.userId = UUID.randomUUID().toString()
+        entity.firstName = firstName
+        entity.lastName = lastName
+        entity.email = email
+        entity.city = "Springfield"
+        entity.state = "IL"
+        entity.zip = "62701"
+        entity.cellPhone = "555-1234"
+        entity.homePhone = "555-5678"
+        entity.role = "USER"
+        return entity
+    }
+}
@@ -1,21 +1,30 @@
 package com.ibm.fscc.employeeservice.services
 
 import com.ibm.fscc.common.exception.ResourceNotFoundException
+import com.ibm.fscc.employeeservice.cache.EmployeeProfileCache
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager
 import org.springframework.data.domain.PageRequest
 import org.springframework.data.domain.PageImpl
 import org.springframework.data.domain.Pageable
 import com.ibm.fscc.employeeservice.dto.EmployeeDto
 import com.ibm.fscc.employeeservice.dto.EmployeeUpdateDto
 import com.ibm.fscc.employeeservice.exception.DuplicateEmployeeEmailException
+import com.ibm.fscc.employeeservice.exception.InvalidCursorException
 import com.ibm.fscc.employeeservice.kafka.EmployeeAdminAddedProducer
 import com.ibm.fscc.employeeservice.kafka.EmployeeDeletedProducer
 import com.ibm.fscc.employeeservice.kafka.EmployeeEmailChangedProducer
 import com.ibm.fscc.employeeservice.kafka.EmployeeRoleChangeProducer
+import com.ibm.fscc.employeeservice.kafka.EmployeeUpdatedProducer
+import com.ibm.fscc.employeeservice.mapper.EmployeeMapper
+import org.mapstruct.factory.Mappers
 import com.ibm.fscc.employeeservice.model.EmployeeEntity
 import com.ibm.fscc.employeeservice.repository.EmployeeRepository
+import com.ibm.fscc.employeeservice.search.LikeEmployeeSearchEngine
 import com.ibm.fscc.employeeservice.services.impl.EmployeeServiceImpl
 import com.ibm.fscc.kafka.dto.EmployeeEventDto
 import org.springframework.dao.DuplicateKeyException
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.security.access.AccessDeniedException
 import org.springframework.security.core.Authentication
 import org.springframework.security.core.GrantedAuthority
@@ -37,6 +46,9 @@ class EmployeeServiceSpec extends spock.lang.Specification {
     EmployeeAdminAddedProducer adminAddedProducer = Mock()
     EmployeeDeletedProducer deletedProducer = Mock()
     EmployeeEmailChangedProducer emailChangedProducer = Mock()
+    EmployeeUpdatedProducer updatedProducer = Mock()
+    EmployeeProfileCache profileCache = new EmployeeProfileCache(
+            new ConcurrentMapCacheManager(EmployeeProfileCache.CACHE_NAME))
 
     @Subject
     EmployeeServiceImpl employeeService = new EmployeeServiceImpl(
@@ -44,7 +56,11 @@ class EmployeeServiceSpec extends spock.lang.Specification {
             roleChangeProducer,
             adminAddedProducer,
             deletedProducer,
-            emailChangedProducer
+            emailChangedProducer,
+            updatedProducer,
+            new LikeEmployeeSearchEngine(employeeRepository),
+            profileCache,
+            Mappers.getMapper(EmployeeMapper)
     )
 
     def setup() {
@@ -54,6 +70,9 @@ class EmployeeServiceSpec extends spock.lang.Specification {
 
     def cleanup() {
         SecurityContextHolder.clearContext()
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization()
+        }
     }
 
     // ========== EMPLOYEE CREATION TESTS ==========
@@ -170,6 +189,54 @@ class EmployeeServiceSpec extends spock.lang.Specification {
         resultPage.content.size() == 2
     }
 
+    def "getEmployeesAfter should return a cursor when more rows follow"() {
+        given: "one more row than requested"
+        def rows = (1..3).collect { i -> def e = createEmployeeEntity(); e.id = i; e.lastName = "Doe" + i; e }
+        employeeRepository.findSlice(_ as Specification, _, 3) >> rows
+
+        when:
+        def slice = employeeService.getEmployeesAfter(null, null, "lastName", 2)
+
+        then:
+        slice.content*.id == [1L, 2L]
+        slice.hasNext
+        slice.next != null
+    }
+
+    def "getEmployeesAfter should not return a cursor on the last slice"() {
+        given:
+        employeeRepository.findSlice(_ as Specification, _, 3) >> [createEmployeeEntity()]
+
+        when:
+        def slice = employeeService.getEmployeesAfter(null, null, null, 2)
+
+        then:
+        slice.size == 1
+        !slice.hasNext
+        slice.next == null
+    }
+
+    def "getEmployeesAfter should reject a cursor issued for a different sort"() {
+        given: "a cursor from a lastName-sorted scroll"
+        def rows = (1..3).collect { i -> def e = createEmployeeEntity(); e.id = i; e }
+        employeeRepository.findSlice(_ as Specification, _, 3) >> rows
+        def cursor = employeeService.getEmployeesAfter(null, null, "lastName", 2).next
+
+        when: "resuming with another sort order"
+        employeeService.getEmployeesAfter(null, cursor, "email,desc", 2)
+
+        then:
+        thrown(InvalidCursorException)
+    }
+
+    def "getEmployeesAfter should reject a malformed cursor"() {
+        when:
+        employeeService.getEmployeesAfter(null, "not-a-cursor", null, 10)
+
+        then:
+        thrown(InvalidCursorException)
+    }
+
     def "getEmployeeByUserId should return employee when found"() {
         given: "an employee exists"
         def entity = createEmployeeEntity()
@@ -195,6 +262,88 @@ class EmployeeServiceSpec extends spock.lang.Specification {
         exception.message.contains("userId")
     }
 
+    def "getEmployeeByUserId should serve repeated lookups from the profile cache"() {
+        given: "an employee exists"
+        def entity = createEmployeeEntity()
+
+        when: "the profile is requested twice"
+        def first = employeeService.getEmployeeByUserId(entity.userId)
+        def second = employeeService.getEmployeeByUserId(entity.userId)
+
+        then: "the repository is hit only once"
+        1 * employeeRepository.findByUserId(entity.userId) >> Optional.of(entity)
+        first.email == second.email
+    }
+
+    def "updateEmployeePartial should evict the cached profile and publish an update event"() {
+        given: "a cached profile"
+        def entity = createEmployeeEntity()
+        employeeRepository.findByUserId(entity.userId) >> Optional.of(entity)
+        employeeService.getEmployeeByUserId(entity.userId)
+
+        and: "setup security context as admin"
+        setupSecurityContext("admin-user", true)
+        employeeRepository.findById(1L) >> Optional.of(entity)
+        employeeRepository.save(_ as EmployeeEntity) >> { EmployeeEntity e -> e }
+
+        when: "the employee is updated"
+        def updateDto = new EmployeeUpdateDto()
+        updateDto.city = "Chicago"
+        employeeService.updateEmployeePartial(1L, updateDto)
+
+        then: "an update event is sent"
+        1 * updatedProducer.sendEmployeeUpdated({ it.userId == entity.userId })
+
+        and: "the next lookup sees the new data"
+        employeeService.getEmployeeByUserId(entity.userId).city == "Chicago"
+    }
+
+    def "updateEmployeePartial should publish the update event only after commit"() {
+        given: "an employee updated inside a transaction"
+        def entity = createEmployeeEntity()
+        setupSecurityContext("admin-user", true)
+        employeeRepository.findById(1L) >> Optional.of(entity)
+        employeeRepository.save(_ as EmployeeEntity) >> { EmployeeEntity e -> e }
+        TransactionSynchronizationManager.initSynchronization()
+
+        when: "the employee is updated"
+        def updateDto = new EmployeeUpdateDto()
+        updateDto.city = "Chicago"
+        employeeService.updateEmployeePartial(1L, updateDto)
+
+        then: "nothing is sent before the transaction completes"
+        0 * updatedProducer.sendEmployeeUpdated(_)
+
+        when: "the transaction commits"
+        def synchronizations = TransactionSynchronizationManager.getSynchronizations()
+        TransactionSynchronizationManager.clearSynchronization()
+        synchronizations*.afterCommit()
+        synchronizations*.afterCompletion(TransactionSynchronization.STATUS_COMMITTED)
+
+        then: "the update event is sent"
+        1 * updatedProducer.sendEmployeeUpdated({ it.userId == entity.userId })
+    }
+
+    def "updateEmployeePartial should not publish the update event when the transaction rolls back"() {
+        given: "an employee updated inside a transaction"
+        def entity = createEmployeeEntity()
+        setupSecurityContext("admin-user", true)
+        employeeRepository.findById(1L) >> Optional.of(entity)
+        employeeRepository.save(_ as EmployeeEntity) >> { EmployeeEntity e -> e }
+        TransactionSynchronizationManager.initSynchronization()
+
+        when: "the employee is updated and the transaction rolls back"
+        def updateDto = new EmployeeUpdateDto()
+        updateDto.city = "Chicago"
+        employeeService.updateEmployeePartial(1L, updateDto)
+        def synchronizations = TransactionSynchronizationManager.getSynchronizations()
+        TransactionSynchronizationManager.clearSynchronization()
+        synchronizations*.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK)
+
+        then: "no update event is sent"
+        0 * updatedProducer.sendEmployeeUpdated(_)
+    }
+
     // ========== EMPLOYEE UPDATE TESTS ==========
 
     def "updateEmployeePartial should only update non-null fields"() {
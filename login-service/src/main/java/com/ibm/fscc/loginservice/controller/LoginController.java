@@ -2,6 +2,7 @@ package com.ibm.fscc.loginservice.controller;
 
 import com.ibm.fscc.loginservice.dto.*;
 import com.ibm.fscc.loginservice.services.LoginService;
+import com.ibm.fscc.loginservice.services.PasswordResetCoalescer;
 import jakarta.validation.Valid;
 import org.springframework.core.env.Environment;
 import org.springframework.http.ResponseEntity;
@@ -17,10 +18,13 @@ public class LoginController {
 
     private final Environment env;
     private final LoginService loginService;
+    private final PasswordResetCoalescer passwordResetCoalescer;
 
-    public LoginController(Environment env, LoginService loginService) {
+    public LoginController(Environment env, LoginService loginService,
+            PasswordResetCoalescer passwordResetCoalescer) {
         this.env = env;
         this.loginService = loginService;
+        this.passwordResetCoalescer = passwordResetCoalescer;
     }
 
     @PostMapping("/authenticate")
@@ -31,7 +35,10 @@ public class LoginController {
 
     @PostMapping("/request-password-reset")
     public ResponseEntity<Void> requestPasswordReset(@Valid @RequestBody EmailDto request) {
-        loginService.requestPasswordReset(request.getEmail());
+        // Same response whether or not a reset is issued, so callers learn nothing
+        if (passwordResetCoalescer.shouldIssue(request.getEmail())) {
+            loginService.requestPasswordReset(request.getEmail());
+        }
         return ResponseEntity.noContent().build();
     }
 
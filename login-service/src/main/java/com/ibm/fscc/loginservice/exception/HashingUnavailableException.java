@@ -0,0 +1,7 @@
+package com.ibm.fscc.loginservice.exception;
+
+public class HashingUnavailableException extends RuntimeException {
+    public HashingUnavailableException(String message) {
+        super(message);
+    }
+}
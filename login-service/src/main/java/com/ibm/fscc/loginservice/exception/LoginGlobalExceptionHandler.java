@@ -2,6 +2,7 @@ package com.ibm.fscc.loginservice.exception;
 
 import com.ibm.fscc.common.exception.ApiError;
 import com.ibm.fscc.common.exception.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -29,4 +30,12 @@ public class LoginGlobalExceptionHandler {
         ApiError error = new ApiError("USER_NOT_FOUND", ex.getMessage(), Instant.now());
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(HashingUnavailableException.class)
+    public ResponseEntity<ApiError> handleHashingUnavailable(HashingUnavailableException ex) {
+        ApiError error = new ApiError("SERVICE_BUSY", ex.getMessage(), Instant.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
@@ -0,0 +1,16 @@
+package com.ibm.fscc.loginservice.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.ibm.fscc.loginservice.dto.LoginDto;
+import com.ibm.fscc.loginservice.model.LoginEntity;
+
+/**
+ * Entity/DTO conversion for logins. The implementation is generated
+ * by MapStruct at compile time as plain getter/setter calls.
+ */
+@Mapper(componentModel = "spring")
+public interface LoginMapper {
+
+    LoginDto toDto(LoginEntity entity);
+}
@@ -2,11 +2,9 @@ package com.ibm.fscc.loginservice.services;
 
 import javax.naming.AuthenticationException;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.ibm.fscc.common.exception.ResourceNotFoundException;
 import com.ibm.fscc.kafka.dto.PasswordResetEventDto;
@@ -16,6 +14,7 @@ import com.ibm.fscc.loginservice.dto.LoginDto;
 import com.ibm.fscc.loginservice.exception.InvalidPasswordException;
 import com.ibm.fscc.loginservice.exception.InvalidResetTokenException;
 import com.ibm.fscc.loginservice.kafka.KafkaProducerService;
+import com.ibm.fscc.loginservice.mapper.LoginMapper;
 import com.ibm.fscc.loginservice.model.LoginEntity;
 import com.ibm.fscc.loginservice.repository.LoginRepository;
 import com.ibm.fscc.loginservice.util.JwtUtil;
@@ -45,11 +44,14 @@ public class LoginServiceImpl implements LoginService {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     
     @Autowired
     private KafkaProducerService kafkaProducerService;
 
+    @Autowired
+    private LoginMapper loginMapper;
+
     @Override
     public LoginDto getLogin(String email) {
         LoginEntity loginEntity = loginRepository.findByEmail(email);
@@ -58,10 +60,7 @@ public class LoginServiceImpl implements LoginService {
             return null;
         }
 
-        LoginDto loginDto = new LoginDto();
-        BeanUtils.copyProperties(loginEntity, loginDto);
-
-        return loginDto;
+        return loginMapper.toDto(loginEntity);
     }
 
     @Override
@@ -73,11 +72,20 @@ public class LoginServiceImpl implements LoginService {
             throw new ResourceNotFoundException("User", "email", email);
         }
 
-        // Password validation using BCrypt
-        if (!passwordEncoder.matches(password, storedUserDetails.getPassword())) {
+        // Password validation using BCrypt, on the hashing pool rather than this request thread
+        PasswordHasher.Verification verification = passwordHasher.verify(password, storedUserDetails.getPassword());
+        if (!verification.matches()) {
             throw new InvalidPasswordException("Password is incorrect");
         }
 
+        // The stored hash was made at a different cost; replace it while we have the password
+        if (verification.rehashed() != null) {
+            LoginEntity loginEntity = loginRepository.findByEmail(email);
+            loginEntity.setPassword(verification.rehashed());
+            loginRepository.save(loginEntity);
+            logger.info("Rehashed password for {} at the configured cost", email);
+        }
+
         // Generate JWT token - handle null ID by using email as ID if needed
         String token = jwtUtil.generateAuthToken(
                 storedUserDetails.getEmail(),
@@ -153,7 +161,7 @@ public class LoginServiceImpl implements LoginService {
         }
 
         // Update password
-        loginEntity.setPassword(passwordEncoder.encode(newPassword));
+        loginEntity.setPassword(passwordHasher.encode(newPassword));
         loginEntity.setPasswordSet(true);
         loginEntity.setResetToken(null);
         loginEntity.setResetTokenExpiry(null);
@@ -0,0 +1,169 @@
+package com.ibm.fscc.loginservice.services;
+
+import com.ibm.fscc.loginservice.exception.HashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt hashing on a dedicated pool sized to the CPU count, so a login
+ * storm cannot occupy every servlet thread with hashing. Requests wait for
+ * their hash without using CPU. Once queue-capacity hashes are waiting, new
+ * ones are rejected with {@link HashingUnavailableException}, which is
+ * answered with 503.
+ *
+ * <p>When a password verifies against a hash whose cost differs from
+ * password.bcrypt.strength, the password is hashed again at the configured
+ * cost so the caller can store it. Changing the cost therefore migrates users
+ * as they log in.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.bcrypt.strength:10}")
+    private int strength;
+
+    // 0 uses one thread per available processor
+    @Value("${password.hashing.threads:0}")
+    private int threads;
+
+    @Value("${password.hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Timer verifyLatency;
+    private Timer encodeLatency;
+    private Timer queueWait;
+    private Counter rejected;
+    private Counter rehashed;
+
+    /**
+     * Outcome of {@link #verify}
+     *
+     * @param matches  whether the password matched
+     * @param rehashed the password hashed at the configured cost, or null if the stored hash is current
+     */
+    public record Verification(boolean matches, String rehashed) {
+    }
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        verifyLatency = Timer.builder("login.password.hash.latency")
+                .description("Time spent hashing on the hashing pool")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        encodeLatency = Timer.builder("login.password.hash.latency")
+                .description("Time spent hashing on the hashing pool")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        queueWait = Timer.builder("login.password.hash.queue.wait")
+                .description("Time a hash waited for a hashing thread")
+                .register(meterRegistry);
+        rejected = Counter.builder("login.password.hash.rejected")
+                .description("Hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+        rehashed = Counter.builder("login.password.rehashed")
+                .description("Passwords hashed again at a changed cost on login")
+                .register(meterRegistry);
+        Gauge.builder("login.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Checks a password against its stored hash
+     *
+     * @throws HashingUnavailableException if the hashing queue is full
+     */
+    public Verification verify(String rawPassword, String encodedPassword) {
+        return run(() -> verifyLatency.record(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            if (!needsRehash(encodedPassword)) {
+                return new Verification(true, null);
+            }
+            rehashed.increment();
+            return new Verification(true, passwordEncoder.encode(rawPassword));
+        }));
+    }
+
+    /**
+     * Hashes a password at the configured cost
+     *
+     * @throws HashingUnavailableException if the hashing queue is full
+     */
+    public String encode(String rawPassword) {
+        return run(() -> encodeLatency.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new HashingUnavailableException("Too many login requests, please retry shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ibm.fscc.loginservice.services;
+
+import com.ibm.fscc.loginservice.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Decides whether a public password reset request issues a new token. Each
+ * email gets max-requests-per-window resets per sliding coalesce window; any
+ * further request in the window is answered the same way but does nothing, so
+ * repeated clicks or a bot cost no DB write, JWT signing or Kafka message.
+ * The window is shorter than the 30 minute token lifetime, so the link from
+ * an earlier reset in the window still works.
+ *
+ * <p>At most max-tracked-emails addresses are tracked at once, so a flood of
+ * distinct addresses cannot exhaust the heap. Beyond that a request for an
+ * untracked address is issued without being throttled. A flood therefore
+ * cannot block resets for real users.
+ * login.password.reset.untracked counts these requests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordResetCoalescer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.reset.coalesce-window-seconds:900}")
+    private long coalesceWindowSeconds;
+
+    @Value("${password.reset.max-requests-per-window:3}")
+    private int maxRequestsPerWindow;
+
+    @Value("${password.reset.max-tracked-emails:100000}")
+    private int maxTrackedEmails;
+
+    private SlidingWindowCounter requests;
+    private Counter coalesced;
+
+    @PostConstruct
+    public void init() {
+        requests = new SlidingWindowCounter(coalesceWindowSeconds * 1000, maxTrackedEmails);
+        coalesced = Counter.builder("login.password.reset.coalesced")
+                .description("Password reset requests answered without issuing a new token")
+                .register(meterRegistry);
+        FunctionCounter.builder("login.password.reset.untracked", requests, SlidingWindowCounter::untrackedCount)
+                .description("Password reset requests issued unthrottled because max-tracked-emails was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if a reset should be issued for the email, false if it is coalesced
+     */
+    public boolean shouldIssue(String email) {
+        if (requests.tryAcquire(email.trim().toLowerCase(Locale.ROOT), maxRequestsPerWindow)) {
+            return true;
+        }
+        coalesced.increment();
+        log.info("Password reset for {} coalesced, an earlier link is still valid", email);
+        return false;
+    }
+}
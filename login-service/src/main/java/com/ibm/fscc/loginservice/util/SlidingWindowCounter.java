@@ -0,0 +1,109 @@
+package com.ibm.fscc.loginservice.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key sliding window counter. Each key keeps the count of the current and
+ * the previous fixed window, and the previous count is weighted by how much of
+ * it still overlaps the sliding window. This needs two counters per key instead
+ * of a timestamp per event, at the cost of assuming events in the previous
+ * window were evenly spread.
+ *
+ * <p>Keys idle for two windows are dropped, at most once per window. At most
+ * maxKeys keys are tracked; while that many are, an event for a new key is let
+ * through without being tracked. A flood of distinct keys therefore cannot grow
+ * the map, and it cannot lock out keys it has not seen either.
+ */
+public class SlidingWindowCounter {
+
+    private final long windowMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong lastPrune = new AtomicLong();
+    private final AtomicLong untracked = new AtomicLong();
+
+    public SlidingWindowCounter(long windowMillis, int maxKeys) {
+        this(windowMillis, maxKeys, System::currentTimeMillis);
+    }
+
+    public SlidingWindowCounter(long windowMillis, int maxKeys, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts an event for the key if fewer than limit events fall in the sliding window
+     *
+     * @return true if the event was counted, or let through untracked because the
+     *         key is new while maxKeys keys are tracked; false if the key is over its limit
+     */
+    public boolean tryAcquire(String key, int limit) {
+        long now = clock.getAsLong();
+        long windowStart = now - now % windowMillis;
+        pruneIfDue(now);
+        // Racing new keys may pass together, so the bound is approximate
+        if (windows.size() >= maxKeys && !windows.containsKey(key)) {
+            untracked.incrementAndGet();
+            return true;
+        }
+
+        boolean[] acquired = new boolean[1];
+        windows.compute(key, (k, window) -> {
+            if (window == null) {
+                window = new Window(windowStart);
+            }
+            window.roll(windowStart, windowMillis);
+            double previousWeight = (double) (windowMillis - (now - windowStart)) / windowMillis;
+            if (window.previous * previousWeight + window.current < limit) {
+                window.current++;
+                acquired[0] = true;
+            }
+            return window;
+        });
+        return acquired[0];
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    /**
+     * Events let through without tracking because maxKeys keys were tracked
+     */
+    public long untrackedCount() {
+        return untracked.get();
+    }
+
+    private void pruneIfDue(long now) {
+        long last = lastPrune.get();
+        if (now - last >= windowMillis && lastPrune.compareAndSet(last, now)) {
+            long cutoff = now - now % windowMillis - windowMillis;
+            windows.values().removeIf(window -> window.start < cutoff);
+        }
+    }
+
+    private static final class Window {
+
+        private long start;
+        private int previous;
+        private int current;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private void roll(long windowStart, long windowMillis) {
+            if (windowStart == start) {
+                return;
+            }
+            previous = windowStart - start == windowMillis ? current : 0;
+            current = 0;
+            start = windowStart;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ibm.fscc.loginservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.fscc.loginservice.exception.HashingUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    public void testHashAtOldCostIsRehashedOnSuccessfulLogin() {
+        // Given a hash made at cost 5 while the configured cost is 4
+        hasher = start(new BCryptPasswordEncoder(4), 1, 1);
+        String oldHash = new BCryptPasswordEncoder(5).encode("password123");
+
+        // When
+        PasswordHasher.Verification verification = hasher.verify("password123", oldHash);
+        PasswordHasher.Verification wrongPassword = hasher.verify("wrong", oldHash);
+
+        // Then
+        assertTrue(verification.matches());
+        assertTrue(verification.rehashed().startsWith("$2a$04$"));
+        assertFalse(wrongPassword.matches());
+        assertNull(wrongPassword.rehashed());
+        assertEquals(1.0, meterRegistry.get("login.password.rehashed").counter().count());
+    }
+
+    @Test
+    public void testHashAtConfiguredCostIsKept() {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        hasher = start(encoder, 1, 1);
+
+        // When
+        PasswordHasher.Verification verification = hasher.verify("password123", encoder.encode("password123"));
+
+        // Then
+        assertTrue(verification.matches());
+        assertNull(verification.rehashed());
+    }
+
+    @Test
+    public void testFullQueueIsRejected() throws Exception {
+        // Given one hashing thread that is busy and a queue of one that is full
+        BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        hasher = start(encoder, 1, 1);
+        CompletableFuture<PasswordHasher.Verification> running =
+                CompletableFuture.supplyAsync(() -> hasher.verify("a", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<PasswordHasher.Verification> queued =
+                CompletableFuture.supplyAsync(() -> hasher.verify("b", "hash"));
+        while (meterRegistry.get("login.password.hash.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        // When/Then
+        assertThrows(HashingUnavailableException.class, () -> hasher.verify("c", "hash"));
+        assertEquals(1.0, meterRegistry.get("login.password.hash.rejected").counter().count());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).matches());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).matches());
+    }
+
+    private PasswordHasher start(BCryptPasswordEncoder encoder, int threads, int queueCapacity) {
+        PasswordHasher passwordHasher = new PasswordHasher(encoder, meterRegistry);
+        ReflectionTestUtils.setField(passwordHasher, "strength", 4);
+        ReflectionTestUtils.setField(passwordHasher, "threads", threads);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", queueCapacity);
+        passwordHasher.init();
+        return passwordHasher;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ibm.fscc.loginservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PasswordResetCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordResetCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new PasswordResetCoalescer(meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "coalesceWindowSeconds", 900L);
+        ReflectionTestUtils.setField(coalescer, "maxRequestsPerWindow", 2);
+        ReflectionTestUtils.setField(coalescer, "maxTrackedEmails", 2);
+        coalescer.init();
+    }
+
+    @Test
+    public void testRequestsOverTheLimitAreCoalesced() {
+        // When
+        boolean first = coalescer.shouldIssue("user@example.com");
+        boolean second = coalescer.shouldIssue("user@example.com");
+        boolean third = coalescer.shouldIssue("user@example.com");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(1.0, meterRegistry.get("login.password.reset.coalesced").counter().count());
+    }
+
+    @Test
+    public void testEmailIsTrimmedAndLowerCased() {
+        // When
+        boolean first = coalescer.shouldIssue("User@Example.com");
+        boolean second = coalescer.shouldIssue("  user@example.com ");
+        boolean third = coalescer.shouldIssue("USER@EXAMPLE.COM");
+
+        // Then the three spellings share one limit
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+    }
+
+    @Test
+    public void testUntrackedEmailIsIssuedWhenFull() {
+        // Given
+        coalescer.shouldIssue("a@example.com");
+        coalescer.shouldIssue("b@example.com");
+
+        // When
+        boolean untracked = coalescer.shouldIssue("c@example.com");
+        boolean untrackedAgain = coalescer.shouldIssue("c@example.com");
+        boolean untrackedThird = coalescer.shouldIssue("c@example.com");
+
+        // Then a flood of distinct emails cannot block a real user's reset
+        assertTrue(untracked);
+        assertTrue(untrackedAgain);
+        assertTrue(untrackedThird);
+        assertEquals(3.0, meterRegistry.get("login.password.reset.untracked").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("login.password.reset.coalesced").counter().count());
+    }
+}
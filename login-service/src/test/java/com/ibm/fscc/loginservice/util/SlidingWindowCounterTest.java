@@ -0,0 +1,97 @@
+package com.ibm.fscc.loginservice.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowCounterTest {
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 2, now::get);
+
+    @Test
+    public void testLimitIsPerKey() {
+        // When
+        boolean first = counter.tryAcquire("a@example.com", 2);
+        boolean second = counter.tryAcquire("a@example.com", 2);
+        boolean third = counter.tryAcquire("a@example.com", 2);
+        boolean otherKey = counter.tryAcquire("b@example.com", 2);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(otherKey);
+    }
+
+    @Test
+    public void testPreviousWindowIsWeightedByOverlap() {
+        // Given two events at the end of one window
+        now.set(10_900);
+        counter.tryAcquire("a@example.com", 2);
+        counter.tryAcquire("a@example.com", 2);
+
+        // When a quarter into the next window, 3/4 of them still count
+        now.set(11_250);
+        boolean early = counter.tryAcquire("a@example.com", 2);
+        boolean earlyAgain = counter.tryAcquire("a@example.com", 2);
+
+        // And three quarters in, only 1/4 of them do
+        now.set(11_750);
+        boolean late = counter.tryAcquire("a@example.com", 2);
+
+        // Then
+        assertTrue(early);
+        assertFalse(earlyAgain);
+        assertTrue(late);
+    }
+
+    @Test
+    public void testIdleKeysArePruned() {
+        // Given
+        counter.tryAcquire("a@example.com", 1);
+
+        // When
+        now.set(13_000);
+        counter.tryAcquire("b@example.com", 1);
+
+        // Then
+        assertEquals(1, counter.size());
+    }
+
+    @Test
+    public void testNewKeysPassUntrackedWhenFull() {
+        // Given
+        counter.tryAcquire("a@example.com", 1);
+        counter.tryAcquire("b@example.com", 1);
+
+        // When
+        boolean newKey = counter.tryAcquire("c@example.com", 1);
+        boolean newKeyAgain = counter.tryAcquire("c@example.com", 1);
+        boolean trackedKey = counter.tryAcquire("a@example.com", 1);
+
+        // Then the new key is neither limited nor stored, tracked keys stay limited
+        assertTrue(newKey);
+        assertTrue(newKeyAgain);
+        assertFalse(trackedKey);
+        assertEquals(2, counter.size());
+        assertEquals(2, counter.untrackedCount());
+    }
+
+    @Test
+    public void testPruningMakesRoomForNewKeys() {
+        // Given
+        counter.tryAcquire("a@example.com", 5);
+        counter.tryAcquire("b@example.com", 5);
+
+        // When both are idle for two windows
+        now.set(13_000);
+        boolean newKey = counter.tryAcquire("c@example.com", 5);
+
+        // Then
+        assertTrue(newKey);
+        assertEquals(1, counter.size());
+    }
+}
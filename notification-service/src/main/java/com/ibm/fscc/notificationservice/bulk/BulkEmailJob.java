@@ -0,0 +1,106 @@
+package com.ibm.fscc.notificationservice.bulk;
+
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRecipientStatus;
+import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Progress of one bulk send. Each recipient's result is recorded once, by
+ * whichever thread finished its delivery; status snapshots can be taken at
+ * any time while the job runs.
+ */
+public class BulkEmailJob {
+
+    @Getter
+    private final String jobId;
+    private final String templateName;
+    private final String subject;
+    private final List<String> emails;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final AtomicReferenceArray<BulkEmailRecipientStatus> results;
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger done = new AtomicInteger();
+    private volatile LocalDateTime completedAt;
+
+    public BulkEmailJob(String jobId, String templateName, String subject, List<String> emails) {
+        this.jobId = jobId;
+        this.templateName = templateName;
+        this.subject = subject;
+        this.emails = List.copyOf(emails);
+        this.results = new AtomicReferenceArray<>(emails.size());
+    }
+
+    public void recordResult(int index, EmailResponse response) {
+        if (response.isSent()) {
+            record(index, BulkEmailRecipientStatus.Status.SENT, response.getSentAt(), null);
+        } else {
+            record(index, BulkEmailRecipientStatus.Status.FAILED, null, response.getErrorMessage());
+        }
+    }
+
+    public void recordFailure(int index, String errorMessage) {
+        record(index, BulkEmailRecipientStatus.Status.FAILED, null, errorMessage);
+    }
+
+    public boolean isCompletedBefore(LocalDateTime cutoff) {
+        LocalDateTime completed = completedAt;
+        return completed != null && completed.isBefore(cutoff);
+    }
+
+    public BulkEmailJobResponse toResponse(boolean includeRecipients) {
+        int sentCount = sent.get();
+        int failedCount = failed.get();
+        LocalDateTime completed = completedAt;
+        BulkEmailJobResponse.BulkEmailJobResponseBuilder response = BulkEmailJobResponse.builder()
+                .jobId(jobId)
+                .templateName(templateName)
+                .subject(subject)
+                .status(completed != null ? BulkEmailJobResponse.Status.COMPLETED : BulkEmailJobResponse.Status.RUNNING)
+                .total(emails.size())
+                .sent(sentCount)
+                .failed(failedCount)
+                .pending(emails.size() - sentCount - failedCount)
+                .createdAt(createdAt)
+                .completedAt(completed);
+        if (includeRecipients) {
+            List<BulkEmailRecipientStatus> recipients = new ArrayList<>(emails.size());
+            for (int i = 0; i < emails.size(); i++) {
+                BulkEmailRecipientStatus result = results.get(i);
+                recipients.add(result != null
+                        ? result
+                        : BulkEmailRecipientStatus.builder()
+                                .email(emails.get(i))
+                                .status(BulkEmailRecipientStatus.Status.PENDING)
+                                .build());
+            }
+            response.recipients(recipients);
+        }
+        return response.build();
+    }
+
+    private void record(int index, BulkEmailRecipientStatus.Status status, LocalDateTime sentAt,
+            String errorMessage) {
+        BulkEmailRecipientStatus result = BulkEmailRecipientStatus.builder()
+                .email(emails.get(index))
+                .status(status)
+                .sentAt(sentAt)
+                .errorMessage(errorMessage)
+                .build();
+        if (!results.compareAndSet(index, null, result)) {
+            return;
+        }
+        (status == BulkEmailRecipientStatus.Status.SENT ? sent : failed).incrementAndGet();
+        if (done.incrementAndGet() == emails.size()) {
+            completedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -9,10 +9,12 @@ public enum KafkaTopics {
     // Topics that this service consumes
     PASSWORD_SETUP_REQUESTED("password-setup-requested"),
     PASSWORD_RESET_REQUESTED("password-reset-requested"),
+    BULK_EMAIL_REQUESTED("bulk-email-requested"),
     
     // Dead letter topics
     DLT_PASSWORD_SETUP_REQUESTED("dlt.password-setup-requested"),
-    DLT_PASSWORD_RESET_REQUESTED("dlt.password-reset-requested");
+    DLT_PASSWORD_RESET_REQUESTED("dlt.password-reset-requested"),
+    DLT_BULK_EMAIL_REQUESTED("dlt.bulk-email-requested");
     
     private final String topicName;
     
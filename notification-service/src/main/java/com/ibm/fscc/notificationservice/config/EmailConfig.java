@@ -3,7 +3,6 @@ package com.ibm.fscc.notificationservice.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.core.env.Environment;
 import org.thymeleaf.spring6.SpringTemplateEngine;
@@ -22,7 +21,7 @@ public class EmailConfig {
     }
 
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(env.getProperty("spring.mail.host"));
         mailSender.setPort(Integer.parseInt(env.getProperty("spring.mail.port", "587")));
@@ -51,6 +50,8 @@ public class EmailConfig {
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode("HTML");
         templateResolver.setCharacterEncoding("UTF-8");
+        // Keep parsed templates; TemplateRenderer.evict() clears them
+        templateResolver.setCacheable(true);
         return templateResolver;
     }
 
@@ -66,6 +66,8 @@ public class KafkaErrorHandlingConfig {
             return KafkaTopics.DLT_PASSWORD_SETUP_REQUESTED.topicName();
         } else if (originalTopic.equals(KafkaTopics.PASSWORD_RESET_REQUESTED.topicName())) {
             return KafkaTopics.DLT_PASSWORD_RESET_REQUESTED.topicName();
+        } else if (originalTopic.equals(KafkaTopics.BULK_EMAIL_REQUESTED.topicName())) {
+            return KafkaTopics.DLT_BULK_EMAIL_REQUESTED.topicName();
         } else {
             // Default fallback - should not happen in normal operation
             return "dlt." + originalTopic;
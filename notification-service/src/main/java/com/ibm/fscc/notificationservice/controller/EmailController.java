@@ -1,7 +1,13 @@
 package com.ibm.fscc.notificationservice.controller;
 
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.dto.OutboxEntryResponse;
+import com.ibm.fscc.notificationservice.outbox.NotificationOutbox;
+import com.ibm.fscc.notificationservice.outbox.OutboxEntry;
+import com.ibm.fscc.notificationservice.services.BulkEmailService;
 import com.ibm.fscc.notificationservice.services.EmailService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,8 +15,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,6 +28,8 @@ import java.util.Map;
 public class EmailController {
 
         private final EmailService emailService;
+        private final BulkEmailService bulkEmailService;
+        private final NotificationOutbox outbox;
 
         @PostMapping("/send")
         public ResponseEntity<EmailResponse> sendEmail(@Valid @RequestBody EmailRequest emailRequest) {
@@ -86,4 +96,50 @@ public class EmailController {
                 return ResponseEntity.status(response.isSent() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(response);
         }
+
+        @PostMapping("/bulk")
+        public ResponseEntity<BulkEmailJobResponse> sendBulkEmail(@Valid @RequestBody BulkEmailRequest request) {
+                log.info("Received request to send template {} to {} recipients",
+                                request.getTemplateName(), request.getRecipients().size());
+                BulkEmailJobResponse job = bulkEmailService.submit(request);
+                return ResponseEntity.accepted()
+                                .location(UriComponentsBuilder.fromPath("/api/v1/emails/bulk/{jobId}")
+                                                .buildAndExpand(job.getJobId())
+                                                .toUri())
+                                .body(job);
+        }
+
+        @GetMapping("/bulk/{jobId}")
+        public ResponseEntity<BulkEmailJobResponse> getBulkEmailJob(
+                        @PathVariable String jobId,
+                        @RequestParam(defaultValue = "true") boolean includeRecipients) {
+                return bulkEmailService.getJob(jobId, includeRecipients)
+                                .map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
+        @GetMapping("/outbox")
+        public List<OutboxEntryResponse> getOutboxEntries(@RequestParam(required = false) OutboxEntry.State state) {
+                return outbox.list(state).stream().map(OutboxEntryResponse::from).toList();
+        }
+
+        @PostMapping("/outbox/{id}/replay")
+        public ResponseEntity<OutboxEntryResponse> replayOutboxEntry(@PathVariable String id) {
+                OutboxEntry entry = outbox.find(id).orElse(null);
+                if (entry == null) {
+                        return ResponseEntity.notFound().build();
+                }
+                if (!outbox.replay(id)) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(OutboxEntryResponse.from(entry));
+                }
+                log.info("Replaying outbox entry {} on request", id);
+                return ResponseEntity.accepted().body(OutboxEntryResponse.from(entry));
+        }
+
+        @PostMapping("/outbox/replay")
+        public ResponseEntity<Map<String, Integer>> replayDeadOutboxEntries() {
+                int replayed = outbox.replayDead();
+                log.info("Replaying {} dead outbox entries on request", replayed);
+                return ResponseEntity.accepted().body(Map.of("replayed", replayed));
+        }
 }
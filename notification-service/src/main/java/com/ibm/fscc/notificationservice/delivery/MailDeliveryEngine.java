@@ -0,0 +1,275 @@
+package com.ibm.fscc.notificationservice.delivery;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends mail off the caller's thread. Messages are queued per destination
+ * domain (the domain of the first recipient) and a fixed pool of worker threads
+ * sends them over connections from the {@link SmtpTransportPool}. At most
+ * per-domain-concurrency messages to one domain are in flight at a time, so a
+ * slow or throttling mail server holds a few workers rather than all of them.
+ *
+ * <p>The queue is bounded: when queue-capacity messages are waiting or in flight,
+ * {@link #submit} blocks the caller for up to enqueue-timeout-ms and then fails
+ * the returned future with a {@link RejectedExecutionException}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MailDeliveryEngine {
+
+    private final SmtpTransportPool transportPool;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.mail.delivery.threads:8}")
+    private int threads;
+
+    @Value("${notification.mail.delivery.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${notification.mail.delivery.per-domain-concurrency:2}")
+    private int perDomainConcurrency;
+
+    @Value("${notification.mail.delivery.enqueue-timeout-ms:5000}")
+    private long enqueueTimeoutMs;
+
+    @Value("${notification.mail.delivery.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final Map<String, DomainLane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile boolean accepting;
+
+    private Semaphore capacity;
+    private ThreadPoolExecutor executor;
+    private Timer queueWait;
+    private Timer sendSuccess;
+    private Timer sendFailure;
+
+    @PostConstruct
+    public void init() {
+        capacity = new Semaphore(queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Unbounded work queue: the capacity semaphore already bounds what can be in it
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "mail-delivery-" + threadNumber.incrementAndGet()));
+
+        Gauge.builder("notification.mail.queue.depth", queued, AtomicInteger::get)
+                .description("Messages accepted and waiting for a delivery worker")
+                .register(meterRegistry);
+        Gauge.builder("notification.mail.delivery.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Messages being sent right now")
+                .register(meterRegistry);
+        queueWait = Timer.builder("notification.mail.queue.wait")
+                .description("Time from submit until a worker started sending")
+                .register(meterRegistry);
+        sendSuccess = Timer.builder("notification.mail.send.latency")
+                .description("SMTP send time per message")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        sendFailure = Timer.builder("notification.mail.send.latency")
+                .description("SMTP send time per message")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        accepting = true;
+    }
+
+    /**
+     * Queues a message for delivery. The future completes when the SMTP server
+     * accepted it, or exceptionally with the send failure.
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            String domain = destinationDomain(message);
+            if (!accepting) {
+                throw new RejectedExecutionException("Mail delivery is shutting down");
+            }
+            if (!capacity.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Mail delivery queue is full (" + queueCapacity + " messages)");
+            }
+            queued.incrementAndGet();
+            dispatch(new Delivery(message, domain, result));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (MessagingException | RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        try {
+            // Every queued or in-flight message holds a permit, getting them all back means drained
+            if (!capacity.tryAcquire(queueCapacity, shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Mail delivery stopped with {} messages unsent",
+                        queueCapacity - capacity.availablePermits());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+    }
+
+    private void dispatch(Delivery delivery) {
+        lanes.compute(delivery.domain, (domain, lane) -> {
+            DomainLane current = lane != null ? lane : new DomainLane();
+            if (current.inFlight < perDomainConcurrency) {
+                current.inFlight++;
+                delivery.admitted = true;
+            } else {
+                current.waiting.addLast(delivery);
+            }
+            return current;
+        });
+        if (delivery.admitted) {
+            start(delivery);
+        }
+    }
+
+    // Hands the lane's slot to its next waiting message, or frees it
+    private Delivery nextInLane(String domain) {
+        Delivery[] next = new Delivery[1];
+        lanes.compute(domain, (key, lane) -> {
+            next[0] = lane.waiting.pollFirst();
+            if (next[0] == null) {
+                lane.inFlight--;
+            }
+            return lane.inFlight == 0 ? null : lane;
+        });
+        return next[0];
+    }
+
+    private void start(Delivery delivery) {
+        try {
+            executor.execute(() -> deliver(delivery));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            complete(delivery, e);
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        queued.decrementAndGet();
+        queueWait.record(System.nanoTime() - delivery.enqueuedNanos, TimeUnit.NANOSECONDS);
+        long started = System.nanoTime();
+        Exception failure = null;
+        try {
+            send(delivery.message);
+        } catch (Exception e) {
+            failure = e;
+        }
+        (failure == null ? sendSuccess : sendFailure).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        complete(delivery, failure);
+    }
+
+    private void complete(Delivery delivery, Exception failure) {
+        capacity.release();
+        Delivery next = nextInLane(delivery.domain);
+        if (failure == null) {
+            delivery.result.complete(null);
+        } else {
+            delivery.result.completeExceptionally(failure);
+        }
+        if (next != null) {
+            start(next);
+        }
+    }
+
+    private void send(MimeMessage message) throws MessagingException {
+        // Same preparation as JavaMailSenderImpl.doSend
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+        Address[] recipients = message.getAllRecipients();
+
+        SmtpTransportPool.PooledTransport pooled = transportPool.borrow();
+        try {
+            pooled.getTransport().sendMessage(message, recipients);
+        } catch (MessagingException | RuntimeException e) {
+            transportPool.discard(pooled);
+            // A pooled connection may have been dropped by the server while idle; a
+            // rejected recipient or a fresh connection failing is a real failure
+            if (!pooled.isReused() || e instanceof SendFailedException) {
+                throw e;
+            }
+            log.debug("Pooled SMTP connection failed ({}), retrying on a new one", e.getMessage());
+            pooled = transportPool.open();
+            try {
+                pooled.getTransport().sendMessage(message, recipients);
+            } catch (MessagingException | RuntimeException retryFailure) {
+                transportPool.discard(pooled);
+                throw retryFailure;
+            }
+        }
+        transportPool.release(pooled);
+    }
+
+    private static String destinationDomain(MimeMessage message) throws MessagingException {
+        Address[] recipients = message.getAllRecipients();
+        if (recipients == null || recipients.length == 0) {
+            throw new MessagingException("Message has no recipients");
+        }
+        String address = recipients[0] instanceof InternetAddress internet
+                ? internet.getAddress()
+                : recipients[0].toString();
+        return address.substring(address.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Delivery {
+
+        private final MimeMessage message;
+        private final String domain;
+        private final CompletableFuture<Void> result;
+        private final long enqueuedNanos = System.nanoTime();
+        private boolean admitted;
+
+        private Delivery(MimeMessage message, String domain, CompletableFuture<Void> result) {
+            this.message = message;
+            this.domain = domain;
+            this.result = result;
+        }
+    }
+
+    // Guarded by the lanes map's per-key locking in compute
+    private static final class DomainLane {
+
+        private int inFlight;
+        private final Deque<Delivery> waiting = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ibm.fscc.notificationservice.delivery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps connected SMTP transports between sends so that the TCP connect, TLS
+ * handshake and AUTH are paid once per connection instead of once per message.
+ * Connections are taken most-recently-used first; one that sat idle longer than
+ * the idle timeout (servers drop quiet sessions) or has carried its message
+ * quota is closed rather than reused. The pool holds idle connections only, the
+ * number in use is bounded by the delivery engine's worker threads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final MeterRegistry meterRegistry;
+
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+
+    @Value("${notification.mail.transport.max-idle:8}")
+    private int maxIdle;
+
+    @Value("${notification.mail.transport.idle-timeout-ms:30000}")
+    private long idleTimeoutMs;
+
+    @Value("${notification.mail.transport.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    private Counter connects;
+    private Counter reuses;
+
+    @PostConstruct
+    public void init() {
+        connects = Counter.builder("notification.mail.transport.connects")
+                .description("SMTP connections opened")
+                .register(meterRegistry);
+        reuses = Counter.builder("notification.mail.transport.reuses")
+                .description("Sends that reused an already open SMTP connection")
+                .register(meterRegistry);
+        Gauge.builder("notification.mail.transport.idle", idle, Deque::size)
+                .description("Open SMTP connections waiting in the pool")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns an idle connection if a fresh enough one is pooled, otherwise opens one
+     */
+    public PooledTransport borrow() throws MessagingException {
+        long now = System.nanoTime();
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (now - pooled.lastUsedNanos < TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs)) {
+                pooled.reused = true;
+                reuses.increment();
+                return pooled;
+            }
+            close(pooled);
+        }
+        return open();
+    }
+
+    /**
+     * Opens a new connection, bypassing the idle connections
+     */
+    public PooledTransport open() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        // Same normalisation as JavaMailSenderImpl: blank credentials mean no AUTH
+        String username = emptyToNull(mailSender.getUsername());
+        String password = emptyToNull(mailSender.getPassword());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        connects.increment();
+        return new PooledTransport(transport);
+    }
+
+    /**
+     * Hands a connection back after a successful send
+     */
+    public void release(PooledTransport pooled) {
+        pooled.messagesSent++;
+        pooled.lastUsedNanos = System.nanoTime();
+        pooled.reused = false;
+        if (pooled.messagesSent >= maxMessagesPerConnection || idle.size() >= maxIdle) {
+            close(pooled);
+            return;
+        }
+        idle.offerFirst(pooled);
+    }
+
+    /**
+     * Closes a connection whose last send failed, its session state is unknown
+     */
+    public void discard(PooledTransport pooled) {
+        close(pooled);
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * A connected transport and its usage, owned by one sender at a time
+     */
+    public static final class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedNanos = System.nanoTime();
+        private boolean reused;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        /**
+         * True if the connection was taken from the pool rather than just opened
+         */
+        public boolean isReused() {
+            return reused;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ibm.fscc.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmailJobResponse {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+
+    private String jobId;
+    private String templateName;
+    private String subject;
+    private Status status;
+    private int total;
+    private int sent;
+    private int failed;
+    private int pending;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private List<BulkEmailRecipientStatus> recipients;
+}
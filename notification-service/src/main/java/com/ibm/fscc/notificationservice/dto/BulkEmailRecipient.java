@@ -0,0 +1,23 @@
+package com.ibm.fscc.notificationservice.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmailRecipient {
+
+    @NotBlank(message = "Recipient email is required")
+    @Email(message = "Invalid email format")
+    private String email;
+
+    private Map<String, Object> variables;
+}
@@ -0,0 +1,26 @@
+package com.ibm.fscc.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmailRecipientStatus {
+
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED
+    }
+
+    private String email;
+    private Status status;
+    private LocalDateTime sentAt;
+    private String errorMessage;
+}
@@ -0,0 +1,45 @@
+package com.ibm.fscc.notificationservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmailRequest {
+
+    /**
+     * Optional caller-chosen id; a job with this id that already exists is
+     * returned instead of sending again. It becomes a path segment of the
+     * job's status URL, so it is limited to URL-safe characters.
+     */
+    @Size(max = 64, message = "Job id must be at most 64 characters")
+    @Pattern(regexp = "[A-Za-z0-9._-]+", message = "Job id may only contain letters, digits, '.', '_' and '-'")
+    private String jobId;
+
+    @NotBlank(message = "Template name is required")
+    private String templateName;
+
+    @NotBlank(message = "Subject is required")
+    private String subject;
+
+    /**
+     * Template variables shared by every recipient; a recipient's own variables take precedence
+     */
+    private Map<String, Object> variables;
+
+    @NotEmpty(message = "At least one recipient is required")
+    @Size(max = 1000, message = "At most 1000 recipients per job")
+    private List<@Valid BulkEmailRecipient> recipients;
+}
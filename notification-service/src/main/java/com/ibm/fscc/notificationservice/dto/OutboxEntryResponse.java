@@ -0,0 +1,44 @@
+package com.ibm.fscc.notificationservice.dto;
+
+import com.ibm.fscc.notificationservice.outbox.OutboxEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry as returned by the API. The template model is left out because
+ * it carries password reset and setup links.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntryResponse {
+
+    private String id;
+    private String to;
+    private String subject;
+    private String templateName;
+    private OutboxEntry.State state;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+
+    public static OutboxEntryResponse from(OutboxEntry entry) {
+        return OutboxEntryResponse.builder()
+                .id(entry.getId())
+                .to(entry.getTo())
+                .subject(entry.getSubject())
+                .templateName(entry.getTemplateName())
+                .state(entry.getState())
+                .attempts(entry.getAttempts())
+                .createdAt(entry.getCreatedAt())
+                .nextAttemptAt(entry.getNextAttemptAt())
+                .lastError(entry.getLastError())
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ibm.fscc.notificationservice.kafka;
+
+import com.ibm.fscc.kafka.dto.BulkEmailEventDto;
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRecipient;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRequest;
+import com.ibm.fscc.notificationservice.services.BulkEmailService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka listener for bulk email requests.
+ * Starts a bulk job for each event; the job id in the event makes redelivery safe.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkEmailListener {
+
+    private final BulkEmailService bulkEmailService;
+    private final Validator validator;
+
+    /**
+     * Handles bulk email events from Kafka.
+     * Invalid events are rejected so that they end up on the dead letter topic.
+     *
+     * @param event The bulk email event data
+     */
+    @KafkaListener(topics = "#{T(com.ibm.fscc.notificationservice.common.KafkaTopics).BULK_EMAIL_REQUESTED.topicName()}",
+                  groupId = "${spring.kafka.consumer.group-id}")
+    public void handleBulkEmailRequested(BulkEmailEventDto event) {
+        log.info("Received bulk-email-requested event, job: {}, template: {}", event.getJobId(), event.getTemplateName());
+
+        BulkEmailRequest request = toRequest(event);
+        Set<ConstraintViolation<BulkEmailRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Invalid bulk email event " + event.getJobId() + ": "
+                    + violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .collect(Collectors.joining(", ")));
+        }
+
+        BulkEmailJobResponse job = bulkEmailService.submit(request);
+        log.info("Bulk email job {} accepted with {} recipients", job.getJobId(), job.getTotal());
+    }
+
+    private static BulkEmailRequest toRequest(BulkEmailEventDto event) {
+        List<BulkEmailRecipient> recipients = event.getRecipients() == null
+                ? List.of()
+                : event.getRecipients().stream()
+                        .map(recipient -> BulkEmailRecipient.builder()
+                                .email(recipient.getEmail())
+                                .variables(recipient.getVariables())
+                                .build())
+                        .toList();
+        return BulkEmailRequest.builder()
+                .jobId(event.getJobId())
+                .templateName(event.getTemplateName())
+                .subject(event.getSubject())
+                .variables(event.getVariables())
+                .recipients(recipients)
+                .build();
+    }
+}
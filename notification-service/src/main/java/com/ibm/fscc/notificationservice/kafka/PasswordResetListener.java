@@ -1,26 +1,32 @@
 package com.ibm.fscc.notificationservice.kafka;
 
 import com.ibm.fscc.kafka.dto.PasswordResetEventDto;
-import com.ibm.fscc.notificationservice.dto.EmailResponse;
-import com.ibm.fscc.notificationservice.services.EmailService;
+import com.ibm.fscc.notificationservice.outbox.NotificationOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Kafka listener for password reset events.
  * Sends password reset emails to users who request to reset their password.
+ * Resets for the same email within the coalesce window are merged, and only
+ * the latest link is sent.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PasswordResetListener {
 
-    private final EmailService emailService;
+    private final NotificationOutbox outbox;
+
+    @Value("${notification.password-reset.coalesce-window-ms:10000}")
+    private long coalesceWindowMs;
 
     /**
      * Handles password reset events from Kafka.
@@ -33,26 +39,19 @@ public class PasswordResetListener {
     public void handlePasswordResetRequested(PasswordResetEventDto event) {
         log.info("Received password-reset-requested event for email: {}", event.getEmail());
 
-        try {
-            // Prepare template variables
-            Map<String, Object> templateModel = new HashMap<>();
-            templateModel.put("resetUrl", event.getResetLink());
-
-            // Send password reset email
-            EmailResponse response = emailService.sendTemplateEmail(
-                    event.getEmail(),
-                    "Password Reset Request",
-                    "password-reset-email",
-                    templateModel);
-
-            if (response.isSent()) {
-                log.info("Password reset email sent successfully to: {}", event.getEmail());
-            } else {
-                log.error("Failed to send password reset email to: {}, error: {}",
-                        event.getEmail(), response.getErrorMessage());
-            }
-        } catch (Exception e) {
-            log.error("Error sending password reset email to {}: {}", event.getEmail(), e.getMessage(), e);
-        }
+        // Prepare template variables
+        Map<String, Object> templateModel = new HashMap<>();
+        templateModel.put("resetUrl", event.getResetLink());
+
+        // Stored before returning, so the record is only acknowledged once the email is durable;
+        // delivery and retries happen off the consumer thread
+        String entryId = outbox.sendCoalescedTemplateEmail(
+                "password-reset:" + event.getEmail().toLowerCase(Locale.ROOT),
+                coalesceWindowMs,
+                event.getEmail(),
+                "Password Reset Request",
+                "password-reset-email",
+                templateModel);
+        log.info("Password reset email for {} queued as outbox entry {}", event.getEmail(), entryId);
     }
 }
\ No newline at end of file
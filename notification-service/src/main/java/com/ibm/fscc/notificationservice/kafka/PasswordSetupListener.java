@@ -1,8 +1,7 @@
 package com.ibm.fscc.notificationservice.kafka;
 
 import com.ibm.fscc.kafka.dto.PasswordSetupEventDto;
-import com.ibm.fscc.notificationservice.dto.EmailResponse;
-import com.ibm.fscc.notificationservice.services.EmailService;
+import com.ibm.fscc.notificationservice.outbox.NotificationOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -20,7 +19,7 @@ import java.util.Map;
 @Slf4j
 public class PasswordSetupListener {
 
-    private final EmailService emailService;
+    private final NotificationOutbox outbox;
 
     /**
      * Handles password setup events from Kafka.
@@ -34,27 +33,18 @@ public class PasswordSetupListener {
         log.info("Received password-setup-requested event for user: {}, email: {}",
                 event.getUserId(), event.getEmail());
 
-        try {
-            // Prepare template variables
-            Map<String, Object> templateModel = new HashMap<>();
-            templateModel.put("name", event.getFirstName() + " " + event.getLastName());
-            templateModel.put("loginUrl", event.getSetupUrl());
-
-            // Send password setup email
-            EmailResponse response = emailService.sendTemplateEmail(
-                    event.getEmail(),
-                    "Welcome - Set Up Your Password",
-                    "password-setup-email",
-                    templateModel);
-
-            if (response.isSent()) {
-                log.info("Password setup email sent successfully to: {}", event.getEmail());
-            } else {
-                log.error("Failed to send password setup email to: {}, error: {}",
-                        event.getEmail(), response.getErrorMessage());
-            }
-        } catch (Exception e) {
-            log.error("Error sending password setup email to {}: {}", event.getEmail(), e.getMessage(), e);
-        }
+        // Prepare template variables
+        Map<String, Object> templateModel = new HashMap<>();
+        templateModel.put("name", event.getFirstName() + " " + event.getLastName());
+        templateModel.put("loginUrl", event.getSetupUrl());
+
+        // Stored before returning, so the record is only acknowledged once the email is durable;
+        // delivery and retries happen off the consumer thread
+        String entryId = outbox.sendTemplateEmail(
+                event.getEmail(),
+                "Welcome - Set Up Your Password",
+                "password-setup-email",
+                templateModel);
+        log.info("Password setup email for {} queued as outbox entry {}", event.getEmail(), entryId);
     }
 }
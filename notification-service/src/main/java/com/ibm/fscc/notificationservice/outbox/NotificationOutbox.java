@@ -0,0 +1,319 @@
+package com.ibm.fscc.notificationservice.outbox;
+
+import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.services.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Durable delivery for template emails. An email is written to the
+ * {@link OutboxStore} before {@link #sendTemplateEmail} returns, so a Kafka
+ * listener can acknowledge its record knowing the email will survive a
+ * restart. A failed attempt is rescheduled with exponential backoff and
+ * jitter on a {@link TimingWheel}. Once max-attempts is used up the entry is
+ * marked dead and kept until it is replayed. Attempts never run on the
+ * caller's thread after the first hand-off to the delivery engine.
+ *
+ * <p>{@link #sendCoalescedTemplateEmail} holds an email for a window before its
+ * first attempt. A newer email with the same key replaces the held one, so a
+ * burst of requests results in one email with the latest content.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutbox {
+
+    private final OutboxStore store;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${notification.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${notification.outbox.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${notification.outbox.wheel-size:512}")
+    private int wheelSize;
+
+    private final Map<String, OutboxEntry> entries = new ConcurrentHashMap<>();
+    // Coalesce key -> id of its HELD entry
+    private final Map<String, String> heldByKey = new ConcurrentHashMap<>();
+
+    private TimingWheel<String> retryWheel;
+    // Starting an attempt renders the template and may wait on delivery back-pressure,
+    // which must not happen on the wheel's thread
+    private ExecutorService retryDispatcher;
+    private Counter delivered;
+    private Counter failedAttempts;
+    private Counter coalesced;
+
+    @PostConstruct
+    public void init() {
+        retryDispatcher = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "outbox-retry"));
+        retryWheel = new TimingWheel<>(tickMs, wheelSize, "outbox-timer",
+                id -> retryDispatcher.execute(() -> retry(id)));
+
+        for (OutboxEntry.State state : OutboxEntry.State.values()) {
+            Gauge.builder("notification.outbox.entries", entries, all -> count(all, state))
+                    .description("Undelivered emails in the outbox")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        delivered = Counter.builder("notification.outbox.delivered")
+                .description("Outbox emails accepted by the SMTP server")
+                .register(meterRegistry);
+        failedAttempts = Counter.builder("notification.outbox.attempts.failed")
+                .description("Failed outbox delivery attempts")
+                .register(meterRegistry);
+        coalesced = Counter.builder("notification.outbox.coalesced")
+                .description("Emails that replaced a held email with the same coalesce key")
+                .register(meterRegistry);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEntry entry : store.loadAll()) {
+            entries.put(entry.getId(), entry);
+            if (entry.getState() == OutboxEntry.State.HELD) {
+                heldByKey.put(entry.getCoalesceKey(), entry.getId());
+            }
+            if (entry.getState() != OutboxEntry.State.DEAD) {
+                // PENDING entries were cut off mid-attempt by the restart and go out right away
+                LocalDateTime due = entry.getNextAttemptAt() != null ? entry.getNextAttemptAt() : now;
+                retryWheel.schedule(entry.getId(), Math.max(0, Duration.between(now, due).toMillis()));
+            }
+        }
+        if (!entries.isEmpty()) {
+            log.info("Loaded {} undelivered emails from the outbox", entries.size());
+        }
+        retryWheel.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryWheel.stop();
+        retryDispatcher.shutdownNow();
+    }
+
+    /**
+     * Stores a template email and starts delivering it
+     *
+     * @return the outbox entry id
+     * @throws UncheckedIOException if the email could not be stored
+     */
+    public String sendTemplateEmail(String to, String subject, String templateName,
+            Map<String, Object> templateModel) {
+        OutboxEntry entry = newEntry(to, subject, templateName, templateModel, OutboxEntry.State.PENDING, 0);
+        store.save(entry);
+        entries.put(entry.getId(), entry);
+        attempt(entry);
+        return entry.getId();
+    }
+
+    /**
+     * Stores a template email that is sent holdMillis from now, unless an email
+     * with the same coalesce key is already held. In that case the held email
+     * takes this one's recipient, subject and model and keeps its send time.
+     *
+     * @return the id of the outbox entry that will carry the email
+     * @throws UncheckedIOException if the email could not be stored
+     */
+    public String sendCoalescedTemplateEmail(String coalesceKey, long holdMillis, String to, String subject,
+            String templateName, Map<String, Object> templateModel) {
+        return heldByKey.compute(coalesceKey, (key, heldId) -> {
+            OutboxEntry held = heldId != null ? entries.get(heldId) : null;
+            if (held != null) {
+                synchronized (held) {
+                    if (held.getState() == OutboxEntry.State.HELD) {
+                        OutboxEntry replacement = held.toBuilder()
+                                .to(to)
+                                .subject(subject)
+                                .templateName(templateName)
+                                .templateModel(templateModel)
+                                .build();
+                        store.save(replacement);
+                        held.setTo(to);
+                        held.setSubject(subject);
+                        held.setTemplateName(templateName);
+                        held.setTemplateModel(templateModel);
+                        coalesced.increment();
+                        log.info("Coalesced {} email to {} into held outbox entry {}", templateName, to, heldId);
+                        return heldId;
+                    }
+                }
+            }
+            OutboxEntry entry = newEntry(to, subject, templateName, templateModel, OutboxEntry.State.HELD,
+                    holdMillis);
+            entry.setCoalesceKey(key);
+            store.save(entry);
+            entries.put(entry.getId(), entry);
+            retryWheel.schedule(entry.getId(), holdMillis);
+            return entry.getId();
+        });
+    }
+
+    public List<OutboxEntry> list(OutboxEntry.State state) {
+        return entries.values().stream()
+                .filter(entry -> state == null || entry.getState() == state)
+                .sorted(Comparator.comparing(OutboxEntry::getCreatedAt))
+                .toList();
+    }
+
+    public Optional<OutboxEntry> find(String id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    /**
+     * Gives a dead entry a fresh set of attempts, starting now
+     *
+     * @return false if there is no such entry or it is not dead
+     */
+    public boolean replay(String id) {
+        OutboxEntry entry = entries.get(id);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            if (entry.getState() != OutboxEntry.State.DEAD) {
+                return false;
+            }
+            entry.setState(OutboxEntry.State.PENDING);
+            entry.setAttempts(0);
+            entry.setNextAttemptAt(LocalDateTime.now());
+            saveQuietly(entry);
+        }
+        log.info("Replaying outbox entry {} to {}", id, entry.getTo());
+        retryDispatcher.execute(() -> attempt(entry));
+        return true;
+    }
+
+    public int replayDead() {
+        int replayed = 0;
+        for (OutboxEntry entry : list(OutboxEntry.State.DEAD)) {
+            if (replay(entry.getId())) {
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    private void retry(String id) {
+        OutboxEntry entry = entries.get(id);
+        if (entry == null) {
+            return;
+        }
+        boolean wasHeld;
+        synchronized (entry) {
+            if (entry.getState() == OutboxEntry.State.DEAD) {
+                return;
+            }
+            wasHeld = entry.getState() == OutboxEntry.State.HELD;
+            if (wasHeld) {
+                entry.setState(OutboxEntry.State.PENDING);
+                saveQuietly(entry);
+            }
+        }
+        if (wasHeld) {
+            // Outside the entry lock: sendCoalescedTemplateEmail takes the map lock first
+            heldByKey.remove(entry.getCoalesceKey(), id);
+        }
+        attempt(entry);
+    }
+
+    private void attempt(OutboxEntry entry) {
+        emailService.sendTemplateEmailAsync(entry.getTo(), entry.getSubject(), entry.getTemplateName(),
+                entry.getTemplateModel())
+                .thenAccept(response -> attemptFinished(entry, response));
+    }
+
+    private void attemptFinished(OutboxEntry entry, EmailResponse response) {
+        synchronized (entry) {
+            if (response.isSent()) {
+                entries.remove(entry.getId());
+                store.delete(entry.getId());
+                delivered.increment();
+                log.info("Delivered {} email to {} on attempt {}", entry.getTemplateName(), entry.getTo(),
+                        entry.getAttempts() + 1);
+                return;
+            }
+            failedAttempts.increment();
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setLastError(response.getErrorMessage());
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setState(OutboxEntry.State.DEAD);
+                entry.setNextAttemptAt(null);
+                saveQuietly(entry);
+                log.error("Giving up on {} email to {} after {} attempts, last error: {}", entry.getTemplateName(),
+                        entry.getTo(), entry.getAttempts(), entry.getLastError());
+                return;
+            }
+            long delay = backoff(entry.getAttempts());
+            entry.setState(OutboxEntry.State.RETRYING);
+            entry.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+            saveQuietly(entry);
+            log.warn("Attempt {} of {} email to {} failed ({}), retrying in {}s", entry.getAttempts(),
+                    entry.getTemplateName(), entry.getTo(), entry.getLastError(), delay / 1000);
+            retryWheel.schedule(entry.getId(), delay);
+        }
+    }
+
+    private static OutboxEntry newEntry(String to, String subject, String templateName,
+            Map<String, Object> templateModel, OutboxEntry.State state, long delayMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEntry.builder()
+                .id(UUID.randomUUID().toString())
+                .to(to)
+                .subject(subject)
+                .templateName(templateName)
+                .templateModel(templateModel)
+                .state(state)
+                .createdAt(now)
+                .nextAttemptAt(now.plus(Duration.ofMillis(delayMillis)))
+                .build();
+    }
+
+    // Exponential backoff with "equal jitter": half the delay is fixed, half random
+    private long backoff(int attempts) {
+        long delay = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    // The retry is already scheduled in memory; only a restart would lose the state change
+    private void saveQuietly(OutboxEntry entry) {
+        try {
+            store.save(entry);
+        } catch (UncheckedIOException e) {
+            log.error("Could not update outbox entry {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    private static double count(Map<String, OutboxEntry> entries, OutboxEntry.State state) {
+        return entries.values().stream().filter(entry -> entry.getState() == state).count();
+    }
+}
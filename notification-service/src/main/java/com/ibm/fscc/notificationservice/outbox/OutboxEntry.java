@@ -0,0 +1,44 @@
+package com.ibm.fscc.notificationservice.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A template email that has been accepted but not yet delivered, as stored in
+ * the outbox. Entries are deleted once the SMTP server accepts the message.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntry {
+
+    public enum State {
+        /** Waiting out its coalescing window; a newer email with the same key replaces it */
+        HELD,
+        /** Accepted, first delivery attempt not finished */
+        PENDING,
+        /** Failed at least once, waiting for its next attempt */
+        RETRYING,
+        /** Out of attempts; stays until replayed */
+        DEAD
+    }
+
+    private String id;
+    private String to;
+    private String subject;
+    private String templateName;
+    private Map<String, Object> templateModel;
+    private State state;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    /** Set on coalesced emails; at most one HELD entry exists per key */
+    private String coalesceKey;
+}
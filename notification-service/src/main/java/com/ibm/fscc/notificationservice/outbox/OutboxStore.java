@@ -0,0 +1,90 @@
+package com.ibm.fscc.notificationservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps outbox entries on local disk, one JSON file per entry. A write goes to
+ * a temporary file that is synced and then atomically renamed over the entry,
+ * so after a crash every entry file is either the old or the new version.
+ * Stray temporary files are removed on load.
+ */
+@Component
+@Slf4j
+public class OutboxStore {
+
+    private static final String ENTRY_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    public OutboxStore(ObjectMapper objectMapper,
+            @Value("${notification.outbox.directory:data/outbox}") String directory) {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Writes the entry durably, replacing any earlier version
+     *
+     * @throws UncheckedIOException if the entry could not be written
+     */
+    public void save(OutboxEntry entry) {
+        Path target = directory.resolve(entry.getId() + ENTRY_SUFFIX);
+        Path temp = directory.resolve(entry.getId() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Files.write(temp, objectMapper.writeValueAsBytes(entry), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write outbox entry " + entry.getId(), e);
+        }
+    }
+
+    public void delete(String id) {
+        try {
+            Files.deleteIfExists(directory.resolve(id + ENTRY_SUFFIX));
+        } catch (IOException e) {
+            // A leftover entry is only sent again after a restart
+            log.warn("Could not delete outbox entry {}: {}", id, e.getMessage());
+        }
+    }
+
+    public List<OutboxEntry> loadAll() {
+        List<OutboxEntry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(ENTRY_SUFFIX)) {
+                    try {
+                        entries.add(objectMapper.readValue(file.toFile(), OutboxEntry.class));
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable outbox entry {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read outbox directory " + directory, e);
+        }
+        return entries;
+    }
+}
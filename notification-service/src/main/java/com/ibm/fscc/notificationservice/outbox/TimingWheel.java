@@ -0,0 +1,105 @@
+package com.ibm.fscc.notificationservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel. Delays are rounded up to whole ticks, and each item goes
+ * into the bucket of the tick it expires on, so scheduling is constant time and
+ * a tick only looks at one bucket. A delay longer than one revolution waits out
+ * the extra rounds in its bucket. Expired items are handed to the consumer on
+ * the wheel's own thread, which must not block.
+ */
+@Slf4j
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<List<Slot<T>>> buckets;
+    private final Consumer<T> onExpire;
+    private final ScheduledExecutorService ticker;
+
+    // Guarded by this
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, String threadName, Consumer<T> onExpire) {
+        this.tickMillis = tickMillis;
+        this.onExpire = onExpire;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public synchronized void schedule(T item, long delayMillis) {
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        int bucket = (int) ((currentTick + ticks) % buckets.size());
+        buckets.get(bucket).add(new Slot<>(item, (ticks - 1) / buckets.size()));
+        size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Moves the wheel one tick forward and returns the items that expired
+     */
+    synchronized List<T> advance() {
+        currentTick++;
+        List<T> expired = new ArrayList<>();
+        Iterator<Slot<T>> slots = buckets.get((int) (currentTick % buckets.size())).iterator();
+        while (slots.hasNext()) {
+            Slot<T> slot = slots.next();
+            if (slot.rounds == 0) {
+                expired.add(slot.item);
+                slots.remove();
+            } else {
+                slot.rounds--;
+            }
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    private void tick() {
+        for (T item : advance()) {
+            try {
+                onExpire.accept(item);
+            } catch (RuntimeException e) {
+                log.error("Timing wheel task failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class Slot<T> {
+
+        private final T item;
+        private long rounds;
+
+        private Slot(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ibm.fscc.notificationservice.rendering;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A template rendered once with placeholders and cut at them: the static HTML
+ * between variables is kept as plain strings, so rendering a message is string
+ * concatenation plus escaping the variable values the way Thymeleaf does for
+ * th:text and attribute output.
+ */
+final class CompiledTemplate {
+
+    private final String[] segments;
+    private final String[] variables;
+    private final int staticLength;
+
+    private CompiledTemplate(String[] segments, String[] variables) {
+        this.segments = segments;
+        this.variables = variables;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * Cuts rendered output at each placeholder match, whose first group is the
+     * index of the variable in {@code variableNames}
+     */
+    static CompiledTemplate parse(String rendered, Pattern placeholder, List<String> variableNames) {
+        List<String> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = placeholder.matcher(rendered);
+        int start = 0;
+        while (matcher.find()) {
+            segments.add(rendered.substring(start, matcher.start()));
+            variables.add(variableNames.get(Integer.parseInt(matcher.group(1))));
+            start = matcher.end();
+        }
+        segments.add(rendered.substring(start));
+        return new CompiledTemplate(segments.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    String render(Map<String, Object> model) {
+        StringBuilder out = new StringBuilder(staticLength + 64 * variables.length);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(segments[i]);
+            out.append(HtmlEscape.escapeHtml4Xml((String) model.get(variables[i])));
+        }
+        return out.append(segments[variables.length]).toString();
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+}
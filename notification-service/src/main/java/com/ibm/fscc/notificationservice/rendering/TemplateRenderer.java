@@ -0,0 +1,161 @@
+package com.ibm.fscc.notificationservice.rendering;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders email templates. A template whose only Thymeleaf markup is th:text
+ * or a URL attribute bound to a plain {@code ${variable}} is run through
+ * Thymeleaf once per variable set and cached as a {@link CompiledTemplate}.
+ * After that, messages only interpolate their escaped values into the static
+ * parts. Anything else (conditionals, loops, inlined or unescaped
+ * expressions, values that are not non-empty strings) is rendered by Thymeleaf
+ * as before.
+ *
+ * <p>Compiled templates are keyed by name, variable names and
+ * {@code notification.templates.version}. Bump the version when the template
+ * files change without a restart, or call {@link #evict()}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateRenderer {
+
+    private static final Pattern THYMELEAF_ATTRIBUTE =
+            Pattern.compile("(?<![\\w-])(?:th:|data-th-)([\\w-]+)\\s*=\\s*([\"'])(.*?)\\2", Pattern.DOTALL);
+    private static final Pattern THYMELEAF_MARKUP = Pattern.compile("(?<![\\w-])(?:th:|data-th-)|\\[\\[|\\[\\(");
+    private static final Pattern PLAIN_VARIABLE = Pattern.compile("\\$\\{\\s*[A-Za-z_]\\w*\\s*}");
+    private static final Set<String> OUTPUT_ATTRIBUTES = Set.of("text", "href", "src", "alt", "title", "value");
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final Map<TemplateKey, Optional<CompiledTemplate>> compiled = new ConcurrentHashMap<>();
+
+    @Value("${notification.templates.version:1}")
+    private String version;
+
+    @Value("${notification.templates.precompile:true}")
+    private boolean precompile;
+
+    public String render(String templateName, Map<String, Object> model) {
+        if (precompile && model.values().stream().allMatch(TemplateRenderer::interpolatable)) {
+            TemplateKey key = new TemplateKey(templateName, version, Set.copyOf(model.keySet()));
+            Optional<CompiledTemplate> template = compiled.computeIfAbsent(key, this::compile);
+            if (template.isPresent()) {
+                return template.get().render(model);
+            }
+        }
+        return process(templateName, model);
+    }
+
+    /**
+     * Drops the compiled templates and Thymeleaf's parsed ones, so that the next
+     * render reads the template files again
+     */
+    public void evict() {
+        compiled.clear();
+        templateEngine.clearTemplateCache();
+    }
+
+    private Optional<CompiledTemplate> compile(TemplateKey key) {
+        try {
+            String source = source(key.name());
+            if (source == null || !onlyPlainOutput(source)) {
+                log.debug("Template {} uses more than plain variable output, rendering it with Thymeleaf",
+                        key.name());
+                return Optional.empty();
+            }
+            List<String> variables = new ArrayList<>(key.variables());
+            String nonce = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            Map<String, Object> placeholders = new HashMap<>();
+            Map<String, Object> probe = new HashMap<>();
+            for (int i = 0; i < variables.size(); i++) {
+                placeholders.put(variables.get(i), "@@" + nonce + "_" + i + "@@");
+                probe.put(variables.get(i), "<b title=\"x\">O'Brien & Zoë " + i + "</b>");
+            }
+            CompiledTemplate template = CompiledTemplate.parse(process(key.name(), placeholders),
+                    Pattern.compile("@@" + nonce + "_(\\d+)@@"), variables);
+
+            // Escaping must match Thymeleaf's exactly, check it on values that need it
+            if (!template.render(probe).equals(process(key.name(), probe))) {
+                log.warn("Compiled template {} does not match Thymeleaf output, rendering it with Thymeleaf",
+                        key.name());
+                return Optional.empty();
+            }
+            log.info("Compiled template {} (version {}) into {} static segments",
+                    key.name(), key.version(), template.segmentCount());
+            return Optional.of(template);
+        } catch (RuntimeException e) {
+            log.warn("Template {} could not be compiled, rendering it with Thymeleaf: {}", key.name(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String process(String templateName, Map<String, Object> model) {
+        Context context = new Context();
+        context.setVariables(model);
+        return templateEngine.process(templateName, context);
+    }
+
+    // Thymeleaf drops URL attributes whose value is null or empty, interpolation would not
+    private static boolean interpolatable(Object value) {
+        return value instanceof String text && !text.isEmpty();
+    }
+
+    private static boolean onlyPlainOutput(String source) {
+        Matcher attribute = THYMELEAF_ATTRIBUTE.matcher(source);
+        StringBuilder remaining = new StringBuilder();
+        while (attribute.find()) {
+            if (!OUTPUT_ATTRIBUTES.contains(attribute.group(1))
+                    || !PLAIN_VARIABLE.matcher(attribute.group(3).trim()).matches()) {
+                return false;
+            }
+            attribute.appendReplacement(remaining, "");
+        }
+        attribute.appendTail(remaining);
+        return !THYMELEAF_MARKUP.matcher(remaining).find();
+    }
+
+    private String source(String templateName) {
+        IEngineConfiguration configuration = templateEngine.getConfiguration();
+        for (ITemplateResolver resolver : configuration.getTemplateResolvers()) {
+            TemplateResolution resolution = resolver.resolveTemplate(configuration, null, templateName, null);
+            if (resolution == null || !resolution.getTemplateResource().exists()) {
+                continue;
+            }
+            try (Reader reader = resolution.getTemplateResource().reader()) {
+                StringWriter source = new StringWriter();
+                reader.transferTo(source);
+                return source.toString();
+            } catch (IOException e) {
+                log.warn("Could not read template {}: {}", templateName, e.getMessage());
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private record TemplateKey(String name, String version, Set<String> variables) {
+    }
+}
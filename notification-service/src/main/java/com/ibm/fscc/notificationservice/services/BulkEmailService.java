@@ -0,0 +1,26 @@
+package com.ibm.fscc.notificationservice.services;
+
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRequest;
+
+import java.util.Optional;
+
+public interface BulkEmailService {
+
+    /**
+     * Start sending a template to every recipient of the request and return without waiting
+     * 
+     * @param request template, subject, shared variables and recipients
+     * @return the accepted job, or the existing one if the request's job id was already used
+     */
+    BulkEmailJobResponse submit(BulkEmailRequest request);
+
+    /**
+     * Look up the progress of a bulk job
+     * 
+     * @param jobId             id returned by {@link #submit}
+     * @param includeRecipients whether to list the status of every recipient
+     * @return the job, or empty if it is unknown or completed longer ago than the retention period
+     */
+    Optional<BulkEmailJobResponse> getJob(String jobId, boolean includeRecipients);
+}
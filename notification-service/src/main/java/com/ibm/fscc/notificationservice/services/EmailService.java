@@ -4,6 +4,7 @@ import com.ibm.fscc.notificationservice.dto.EmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailResponse;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface EmailService {
 
@@ -38,6 +39,28 @@ public interface EmailService {
      */
     EmailResponse sendTemplateEmail(String to, String subject, String templateName, Map<String, Object> templateModel);
 
+    /**
+     * Queue an email with HTML content without waiting for the SMTP server
+     * 
+     * @param to          recipient email address
+     * @param subject     email subject
+     * @param htmlContent HTML content for the email body
+     * @return future EmailResponse, completed once the message was sent or failed
+     */
+    CompletableFuture<EmailResponse> sendHtmlEmailAsync(String to, String subject, String htmlContent);
+
+    /**
+     * Queue an email using a template without waiting for the SMTP server
+     * 
+     * @param to            recipient email address
+     * @param subject       email subject
+     * @param templateName  name of the template to use
+     * @param templateModel model containing variables for the template
+     * @return future EmailResponse, completed once the message was sent or failed
+     */
+    CompletableFuture<EmailResponse> sendTemplateEmailAsync(String to, String subject, String templateName,
+            Map<String, Object> templateModel);
+
     /**
      * Process and send an email based on the complete EmailRequest
      * 
@@ -0,0 +1,137 @@
+package com.ibm.fscc.notificationservice.services.impl;
+
+import com.ibm.fscc.notificationservice.bulk.BulkEmailJob;
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRecipient;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRequest;
+import com.ibm.fscc.notificationservice.rendering.TemplateRenderer;
+import com.ibm.fscc.notificationservice.services.BulkEmailService;
+import com.ibm.fscc.notificationservice.services.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends one template to many recipients in the background. Recipients are
+ * rendered in parallel on the bulk render threads and handed to the mail
+ * delivery engine, which sends them over its pooled SMTP connections. At most
+ * max-in-flight bulk messages are queued or being sent at a time, so a large
+ * job never fills the delivery queue and password emails still get through.
+ *
+ * <p>Jobs are kept in memory and dropped job-retention-minutes after they complete.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkEmailServiceImpl implements BulkEmailService {
+
+    private final EmailService emailService;
+    private final TemplateRenderer templateRenderer;
+
+    @Value("${notification.bulk.render-threads:4}")
+    private int renderThreads;
+
+    @Value("${notification.bulk.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${notification.bulk.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final Map<String, BulkEmailJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService renderExecutor;
+    private Semaphore inFlight;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        renderExecutor = Executors.newFixedThreadPool(renderThreads,
+                runnable -> new Thread(runnable, "bulk-render-" + threadNumber.incrementAndGet()));
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @Override
+    public BulkEmailJobResponse submit(BulkEmailRequest request) {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isCompletedBefore(cutoff));
+
+        String jobId = request.getJobId() != null && !request.getJobId().isBlank()
+                ? request.getJobId()
+                : UUID.randomUUID().toString();
+        List<BulkEmailRecipient> recipients = request.getRecipients();
+        BulkEmailJob job = new BulkEmailJob(jobId, request.getTemplateName(), request.getSubject(),
+                recipients.stream().map(BulkEmailRecipient::getEmail).toList());
+        BulkEmailJob existing = jobs.putIfAbsent(jobId, job);
+        if (existing != null) {
+            log.info("Bulk email job {} was already accepted, not sending it again", jobId);
+            return existing.toResponse(false);
+        }
+
+        for (int i = 0; i < recipients.size(); i++) {
+            int index = i;
+            renderExecutor.execute(() -> send(job, index, request, recipients.get(index)));
+        }
+        log.info("Accepted bulk email job {}: template {} to {} recipients",
+                jobId, request.getTemplateName(), recipients.size());
+        return job.toResponse(false);
+    }
+
+    @Override
+    public Optional<BulkEmailJobResponse> getJob(String jobId, boolean includeRecipients) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.toResponse(includeRecipients));
+    }
+
+    private void send(BulkEmailJob job, int index, BulkEmailRequest request, BulkEmailRecipient recipient) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.recordFailure(index, "Bulk email job interrupted");
+            return;
+        }
+        try {
+            String htmlContent = templateRenderer.render(request.getTemplateName(), variables(request, recipient));
+            emailService.sendHtmlEmailAsync(recipient.getEmail(), request.getSubject(), htmlContent)
+                    .thenAccept(response -> {
+                        inFlight.release();
+                        job.recordResult(index, response);
+                    });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            log.error("Failed to render bulk email {} for {}: {}", job.getJobId(), recipient.getEmail(),
+                    e.getMessage(), e);
+            job.recordFailure(index, e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> variables(BulkEmailRequest request, BulkEmailRecipient recipient) {
+        Map<String, Object> variables = new HashMap<>();
+        if (request.getVariables() != null) {
+            variables.putAll(request.getVariables());
+        }
+        if (recipient.getVariables() != null) {
+            variables.putAll(recipient.getVariables());
+        }
+        return variables;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ibm.fscc.notificationservice.services.impl;
 
+import com.ibm.fscc.notificationservice.delivery.MailDeliveryEngine;
 import com.ibm.fscc.notificationservice.dto.EmailAttachment;
 import com.ibm.fscc.notificationservice.dto.EmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.rendering.TemplateRenderer;
 import com.ibm.fscc.notificationservice.services.EmailService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -10,16 +12,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +29,8 @@ import java.util.UUID;
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender emailSender;
-    private final SpringTemplateEngine templateEngine;
+    private final TemplateRenderer templateRenderer;
+    private final MailDeliveryEngine deliveryEngine;
 
     @Value("${notification.email.default-sender}")
     private String defaultSender;
@@ -38,15 +41,13 @@ public class EmailServiceImpl implements EmailService {
     @Override
     public EmailResponse sendSimpleEmail(String to, String subject, String text) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
+            MimeMailMessage message = new MimeMailMessage(emailSender.createMimeMessage());
             message.setFrom(defaultSender);
             message.setTo(to);
             message.setSubject(subject);
             message.setText(text);
 
-            emailSender.send(message);
-
-            return createSuccessResponse(to, subject);
+            return deliver(message.getMimeMessage(), to, subject).join();
         } catch (Exception e) {
             log.error("Failed to send simple email to {}: {}", to, e.getMessage(), e);
             return createErrorResponse(to, subject, e.getMessage());
@@ -55,6 +56,17 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public EmailResponse sendHtmlEmail(String to, String subject, String htmlContent) {
+        return sendHtmlEmailAsync(to, subject, htmlContent).join();
+    }
+
+    @Override
+    public EmailResponse sendTemplateEmail(String to, String subject, String templateName,
+            Map<String, Object> templateModel) {
+        return sendTemplateEmailAsync(to, subject, templateName, templateModel).join();
+    }
+
+    @Override
+    public CompletableFuture<EmailResponse> sendHtmlEmailAsync(String to, String subject, String htmlContent) {
         try {
             MimeMessage message = emailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -64,27 +76,22 @@ public class EmailServiceImpl implements EmailService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
 
-            emailSender.send(message);
-
-            return createSuccessResponse(to, subject);
+            return deliver(message, to, subject);
         } catch (Exception e) {
             log.error("Failed to send HTML email to {}: {}", to, e.getMessage(), e);
-            return createErrorResponse(to, subject, e.getMessage());
+            return CompletableFuture.completedFuture(createErrorResponse(to, subject, e.getMessage()));
         }
     }
 
     @Override
-    public EmailResponse sendTemplateEmail(String to, String subject, String templateName,
+    public CompletableFuture<EmailResponse> sendTemplateEmailAsync(String to, String subject, String templateName,
             Map<String, Object> templateModel) {
         try {
-            Context context = new Context();
-            context.setVariables(templateModel);
-
-            String htmlContent = templateEngine.process(templateName, context);
-            return sendHtmlEmail(to, subject, htmlContent);
+            String htmlContent = templateRenderer.render(templateName, templateModel);
+            return sendHtmlEmailAsync(to, subject, htmlContent);
         } catch (Exception e) {
             log.error("Failed to send template email to {}: {}", to, e.getMessage(), e);
-            return createErrorResponse(to, subject, e.getMessage());
+            return CompletableFuture.completedFuture(createErrorResponse(to, subject, e.getMessage()));
         }
     }
 
@@ -110,11 +117,10 @@ public class EmailServiceImpl implements EmailService {
 
             // Process content based on whether it's a template or direct content
             if (emailRequest.getTemplateName() != null && !emailRequest.getTemplateName().isEmpty()) {
-                Context context = new Context();
-                if (emailRequest.getTemplateVariables() != null) {
-                    context.setVariables(emailRequest.getTemplateVariables());
-                }
-                String htmlContent = templateEngine.process(emailRequest.getTemplateName(), context);
+                Map<String, Object> templateVariables = emailRequest.getTemplateVariables() != null
+                        ? emailRequest.getTemplateVariables()
+                        : Map.of();
+                String htmlContent = templateRenderer.render(emailRequest.getTemplateName(), templateVariables);
                 helper.setText(htmlContent, true);
             } else {
                 helper.setText(emailRequest.getBody(), emailRequest.isHtml() || enableHtml);
@@ -130,15 +136,27 @@ public class EmailServiceImpl implements EmailService {
                 }
             }
 
-            emailSender.send(message);
-
-            return createSuccessResponse(emailRequest.getTo(), emailRequest.getSubject());
+            return deliver(message, emailRequest.getTo(), emailRequest.getSubject()).join();
         } catch (MessagingException e) {
             log.error("Failed to send email to {}: {}", emailRequest.getTo(), e.getMessage(), e);
             return createErrorResponse(emailRequest.getTo(), emailRequest.getSubject(), e.getMessage());
         }
     }
 
+    // Hands the message to the delivery engine; the future never completes exceptionally
+    private CompletableFuture<EmailResponse> deliver(MimeMessage message, String to, String subject) {
+        return deliveryEngine.submit(message).handle((ignored, failure) -> {
+            if (failure == null) {
+                return createSuccessResponse(to, subject);
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            log.error("Failed to send email to {}: {}", to, cause.getMessage(), cause);
+            return createErrorResponse(to, subject, cause.getMessage());
+        });
+    }
+
     private EmailResponse createSuccessResponse(String to, String subject) {
         return EmailResponse.builder()
                 .messageId(UUID.randomUUID().toString())
@@ -1,8 +1,14 @@
 package com.ibm.fscc.notificationservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRecipient;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.outbox.NotificationOutbox;
+import com.ibm.fscc.notificationservice.outbox.OutboxEntry;
+import com.ibm.fscc.notificationservice.services.BulkEmailService;
 import com.ibm.fscc.notificationservice.services.EmailService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,14 +21,20 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +50,12 @@ public class EmailControllerTest {
         @MockBean
         private EmailService emailService;
 
+        @MockBean
+        private BulkEmailService bulkEmailService;
+
+        @MockBean
+        private NotificationOutbox outbox;
+
         private EmailRequest emailRequest;
         private EmailResponse successResponse;
         private EmailResponse failureResponse;
@@ -157,4 +175,104 @@ public class EmailControllerTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.sent").value(true));
         }
+
+        @Test
+        @WithMockUser
+        void sendBulkEmail_ReturnsJobWithoutWaiting() throws Exception {
+                BulkEmailRequest request = BulkEmailRequest.builder()
+                                .templateName("welcome-email")
+                                .subject("Welcome")
+                                .recipients(List.of(
+                                                BulkEmailRecipient.builder().email("a@example.com").build(),
+                                                BulkEmailRecipient.builder().email("b@example.com").build()))
+                                .build();
+                BulkEmailJobResponse job = BulkEmailJobResponse.builder()
+                                .jobId("job-1")
+                                .templateName("welcome-email")
+                                .status(BulkEmailJobResponse.Status.RUNNING)
+                                .total(2)
+                                .pending(2)
+                                .build();
+                when(bulkEmailService.submit(any(BulkEmailRequest.class))).thenReturn(job);
+
+                mockMvc.perform(post("/api/v1/emails/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().string("Location", "/api/v1/emails/bulk/job-1"))
+                                .andExpect(jsonPath("$.jobId").value("job-1"))
+                                .andExpect(jsonPath("$.status").value("RUNNING"))
+                                .andExpect(jsonPath("$.pending").value(2));
+        }
+
+        @Test
+        @WithMockUser
+        void sendBulkEmail_WithoutRecipients_BadRequest() throws Exception {
+                BulkEmailRequest request = BulkEmailRequest.builder()
+                                .templateName("welcome-email")
+                                .subject("Welcome")
+                                .recipients(List.of())
+                                .build();
+
+                mockMvc.perform(post("/api/v1/emails/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser
+        void sendBulkEmail_WithUnsafeJobId_BadRequest() throws Exception {
+                BulkEmailRequest request = BulkEmailRequest.builder()
+                                .jobId("job 1#2")
+                                .templateName("welcome-email")
+                                .subject("Welcome")
+                                .recipients(List.of(BulkEmailRecipient.builder().email("a@example.com").build()))
+                                .build();
+
+                mockMvc.perform(post("/api/v1/emails/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isBadRequest());
+                verify(bulkEmailService, never()).submit(any(BulkEmailRequest.class));
+        }
+
+        @Test
+        @WithMockUser
+        void getBulkEmailJob_Unknown_NotFound() throws Exception {
+                when(bulkEmailService.getJob(eq("missing"), eq(true))).thenReturn(Optional.empty());
+
+                mockMvc.perform(get("/api/v1/emails/bulk/missing"))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @WithMockUser
+        void getOutboxEntries_HidesTemplateModel() throws Exception {
+                OutboxEntry entry = OutboxEntry.builder()
+                                .id("entry-1")
+                                .to(recipient)
+                                .templateName("password-reset-email")
+                                .templateModel(Map.of("resetUrl", "https://example.com/reset?token=secret"))
+                                .state(OutboxEntry.State.DEAD)
+                                .attempts(8)
+                                .lastError("Connection refused")
+                                .build();
+                when(outbox.list(OutboxEntry.State.DEAD)).thenReturn(List.of(entry));
+
+                mockMvc.perform(get("/api/v1/emails/outbox").param("state", "DEAD"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value("entry-1"))
+                                .andExpect(jsonPath("$[0].attempts").value(8))
+                                .andExpect(jsonPath("$[0].templateModel").doesNotExist());
+        }
+
+        @Test
+        @WithMockUser
+        void replayOutboxEntry_Unknown_NotFound() throws Exception {
+                when(outbox.find("missing")).thenReturn(Optional.empty());
+
+                mockMvc.perform(post("/api/v1/emails/outbox/missing/replay"))
+                                .andExpect(status().isNotFound());
+        }
 }
@@ -0,0 +1,143 @@
+package com.ibm.fscc.notificationservice.delivery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDeliveryEngineTest {
+
+    @Mock
+    private SmtpTransportPool transportPool;
+
+    @Mock
+    private Transport transport;
+
+    @Mock
+    private Transport staleTransport;
+
+    private final Session session = Session.getInstance(new Properties());
+    private final CountDownLatch slowServer = new CountDownLatch(1);
+    private MailDeliveryEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        slowServer.countDown();
+        engine.shutdown();
+    }
+
+    @Test
+    void submit_LimitsConcurrencyPerDomainWithoutBlockingOtherDomains() throws Exception {
+        // Arrange
+        startEngine(10);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(transportPool.borrow()).thenAnswer(invocation -> new SmtpTransportPool.PooledTransport(transport));
+        doAnswer(invocation -> {
+            Address[] recipients = invocation.getArgument(1);
+            if (recipients[0].toString().endsWith("@slow.example")) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                slowServer.await(5, TimeUnit.SECONDS);
+                inFlight.decrementAndGet();
+            }
+            return null;
+        }).when(transport).sendMessage(any(), any());
+
+        // Act
+        List<CompletableFuture<Void>> slow = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            slow.add(engine.submit(message("user" + i + "@slow.example")));
+        }
+        CompletableFuture<Void> fast = engine.submit(message("user@fast.example"));
+
+        // Assert
+        fast.get(5, TimeUnit.SECONDS);
+        assertTrue(slow.stream().noneMatch(CompletableFuture::isDone));
+        slowServer.countDown();
+        CompletableFuture.allOf(slow.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(1, maxInFlight.get());
+        verify(transportPool, times(4)).release(any());
+    }
+
+    @Test
+    void submit_RetriesOnNewConnectionWhenPooledOneWasDropped() throws Exception {
+        // Arrange
+        startEngine(10);
+        SmtpTransportPool.PooledTransport stale = new SmtpTransportPool.PooledTransport(staleTransport);
+        ReflectionTestUtils.setField(stale, "reused", true);
+        when(transportPool.borrow()).thenReturn(stale);
+        when(transportPool.open()).thenReturn(new SmtpTransportPool.PooledTransport(transport));
+        doThrow(new MessagingException("Connection reset")).when(staleTransport).sendMessage(any(), any());
+
+        // Act
+        engine.submit(message("user@example.com")).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(transportPool).discard(stale);
+        verify(transport).sendMessage(any(), any());
+        verify(transportPool).release(any());
+    }
+
+    @Test
+    void submit_RejectsWhenQueueIsFull() throws Exception {
+        // Arrange
+        startEngine(1);
+        when(transportPool.borrow()).thenAnswer(invocation -> new SmtpTransportPool.PooledTransport(transport));
+        doAnswer(invocation -> {
+            slowServer.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(transport).sendMessage(any(), any());
+        CompletableFuture<Void> first = engine.submit(message("user@slow.example"));
+
+        // Act
+        CompletableFuture<Void> second = engine.submit(message("other@slow.example"));
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        slowServer.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    private void startEngine(int queueCapacity) {
+        engine = new MailDeliveryEngine(transportPool, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "threads", 4);
+        ReflectionTestUtils.setField(engine, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(engine, "perDomainConcurrency", 1);
+        ReflectionTestUtils.setField(engine, "enqueueTimeoutMs", 50L);
+        ReflectionTestUtils.setField(engine, "shutdownTimeoutMs", 1000L);
+        engine.init();
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setRecipients(Message.RecipientType.TO, to);
+        message.setSubject("Test Subject");
+        message.setText("Test Content");
+        return message;
+    }
+}
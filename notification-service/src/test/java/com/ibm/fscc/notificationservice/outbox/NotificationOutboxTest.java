@@ -0,0 +1,194 @@
+package com.ibm.fscc.notificationservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.services.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxTest {
+
+    private static final Map<String, Object> MODEL = Map.of("resetUrl", "https://example.com/reset");
+
+    @Mock
+    private EmailService emailService;
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxStore store;
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        store = new OutboxStore(new ObjectMapper().findAndRegisterModules(), directory.toString());
+        outbox = new NotificationOutbox(store, emailService, meterRegistry);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 2);
+        ReflectionTestUtils.setField(outbox, "initialBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(outbox, "maxBackoffMs", 3_600_000L);
+        ReflectionTestUtils.setField(outbox, "tickMs", 10L);
+        ReflectionTestUtils.setField(outbox, "wheelSize", 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.shutdown();
+    }
+
+    @Test
+    void sendTemplateEmail_DeliveredEntryIsRemoved() {
+        // Arrange
+        outbox.init();
+        when(emailService.sendTemplateEmailAsync(any(), any(), any(), any())).thenReturn(sent(true));
+
+        // Act
+        outbox.sendTemplateEmail("user@example.com", "Password Reset Request", "password-reset-email", MODEL);
+
+        // Assert
+        assertTrue(outbox.list(null).isEmpty());
+        assertTrue(store.loadAll().isEmpty());
+        assertEquals(1.0, meterRegistry.get("notification.outbox.delivered").counter().count());
+    }
+
+    @Test
+    void sendTemplateEmail_FailedAttemptIsStoredForRetry() {
+        // Arrange
+        outbox.init();
+        when(emailService.sendTemplateEmailAsync(any(), any(), any(), any())).thenReturn(sent(false));
+
+        // Act
+        String id = outbox.sendTemplateEmail("user@example.com", "Password Reset Request", "password-reset-email",
+                MODEL);
+
+        // Assert
+        OutboxEntry stored = store.loadAll().get(0);
+        assertEquals(id, stored.getId());
+        assertEquals(OutboxEntry.State.RETRYING, stored.getState());
+        assertEquals(1, stored.getAttempts());
+        assertEquals("Connection refused", stored.getLastError());
+        assertEquals(MODEL, stored.getTemplateModel());
+        // First backoff is 30-60s with jitter
+        assertTrue(stored.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(29)));
+        assertEquals(1.0, meterRegistry.get("notification.outbox.entries").tag("state", "retrying").gauge().value());
+    }
+
+    @Test
+    void replay_DeadEntryIsSentAgain() {
+        // Arrange
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 1);
+        outbox.init();
+        when(emailService.sendTemplateEmailAsync(any(), any(), any(), any())).thenReturn(sent(false), sent(true));
+        String id = outbox.sendTemplateEmail("user@example.com", "Password Reset Request", "password-reset-email",
+                MODEL);
+        assertEquals(OutboxEntry.State.DEAD, outbox.find(id).orElseThrow().getState());
+        assertEquals(1.0, meterRegistry.get("notification.outbox.entries").tag("state", "dead").gauge().value());
+
+        // Act
+        boolean replayed = outbox.replay(id);
+
+        // Assert
+        assertTrue(replayed);
+        verify(emailService, timeout(2000).times(2))
+                .sendTemplateEmailAsync(eq("user@example.com"), any(), eq("password-reset-email"), eq(MODEL));
+        assertFalse(outbox.replay(id));
+    }
+
+    @Test
+    void init_ResendsEntriesLeftByPreviousRun() throws InterruptedException {
+        // Arrange
+        store.save(OutboxEntry.builder()
+                .id("left-over")
+                .to("user@example.com")
+                .subject("Password Reset Request")
+                .templateName("password-reset-email")
+                .templateModel(MODEL)
+                .state(OutboxEntry.State.PENDING)
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .nextAttemptAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+        when(emailService.sendTemplateEmailAsync(any(), any(), any(), any())).thenReturn(sent(true));
+
+        // Act
+        outbox.init();
+
+        // Assert
+        verify(emailService, timeout(2000)).sendTemplateEmailAsync(eq("user@example.com"), any(), any(), any());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!outbox.list(null).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(store.loadAll().isEmpty());
+    }
+
+    @Test
+    void sendCoalescedTemplateEmail_OnlyLatestEmailInWindowIsSent() {
+        // Arrange
+        outbox.init();
+        when(emailService.sendTemplateEmailAsync(any(), any(), any(), any())).thenReturn(sent(true));
+        Map<String, Object> latest = Map.of("resetUrl", "https://example.com/reset?token=3");
+
+        // Act
+        String first = outbox.sendCoalescedTemplateEmail("password-reset:user@example.com", 200,
+                "user@example.com", "Password Reset Request", "password-reset-email",
+                Map.of("resetUrl", "https://example.com/reset?token=1"));
+        String second = outbox.sendCoalescedTemplateEmail("password-reset:user@example.com", 200,
+                "user@example.com", "Password Reset Request", "password-reset-email",
+                Map.of("resetUrl", "https://example.com/reset?token=2"));
+        String third = outbox.sendCoalescedTemplateEmail("password-reset:user@example.com", 200,
+                "user@example.com", "Password Reset Request", "password-reset-email", latest);
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(first, third);
+        assertEquals(latest, store.loadAll().get(0).getTemplateModel());
+        verify(emailService, timeout(2000)).sendTemplateEmailAsync(eq("user@example.com"), any(), any(), eq(latest));
+        verify(emailService, times(1)).sendTemplateEmailAsync(any(), any(), any(), any());
+        assertEquals(2.0, meterRegistry.get("notification.outbox.coalesced").counter().count());
+    }
+
+    @Test
+    void sendCoalescedTemplateEmail_NewWindowAfterHeldEmailIsSent() {
+        // Arrange
+        outbox.init();
+        when(emailService.sendTemplateEmailAsync(any(), any(), any(), any())).thenReturn(sent(true));
+        String first = outbox.sendCoalescedTemplateEmail("password-reset:user@example.com", 50,
+                "user@example.com", "Password Reset Request", "password-reset-email", MODEL);
+        verify(emailService, timeout(2000)).sendTemplateEmailAsync(any(), any(), any(), any());
+
+        // Act
+        String second = outbox.sendCoalescedTemplateEmail("password-reset:user@example.com", 50,
+                "user@example.com", "Password Reset Request", "password-reset-email", MODEL);
+
+        // Assert
+        assertNotEquals(first, second);
+        verify(emailService, timeout(2000).times(2)).sendTemplateEmailAsync(any(), any(), any(), any());
+    }
+
+    private static CompletableFuture<EmailResponse> sent(boolean sent) {
+        return CompletableFuture.completedFuture(EmailResponse.builder()
+                .to("user@example.com")
+                .sent(sent)
+                .errorMessage(sent ? null : "Connection refused")
+                .build());
+    }
+}
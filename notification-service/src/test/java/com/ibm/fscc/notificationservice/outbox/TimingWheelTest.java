@@ -0,0 +1,50 @@
+package com.ibm.fscc.notificationservice.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(100, 8, "test-wheel", item -> { });
+
+    @Test
+    void advance_ExpiresItemOnItsTick() {
+        // Arrange
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 100);
+
+        // Act
+        List<String> first = wheel.advance();
+        List<String> second = wheel.advance();
+        List<String> third = wheel.advance();
+
+        // Assert
+        assertEquals(List.of("b"), first);
+        assertEquals(List.of(), second);
+        assertEquals(List.of("a"), third);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_DelayLongerThanOneRevolutionWaitsExtraRounds() {
+        // Arrange
+        wheel.schedule("late", 2_000);
+        wheel.schedule("zero", 0);
+
+        // Act
+        List<String> expired = new ArrayList<>();
+        int ticks = 0;
+        while (!expired.contains("late")) {
+            expired.addAll(wheel.advance());
+            ticks++;
+        }
+
+        // Assert
+        assertEquals(20, ticks);
+        assertEquals(List.of("zero", "late"), expired);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ibm.fscc.notificationservice.rendering;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateRendererTest {
+
+    private SpringTemplateEngine templateEngine;
+    private TemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode("HTML");
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        renderer = new TemplateRenderer(templateEngine);
+        ReflectionTestUtils.setField(renderer, "version", "1");
+        ReflectionTestUtils.setField(renderer, "precompile", true);
+    }
+
+    @Test
+    void render_CompiledTemplatesMatchThymeleafOutput() {
+        // Arrange
+        Map<String, Object> setup = Map.of(
+                "name", "Zoë O'Brien <admin>",
+                "loginUrl", "https://example.com/setup?token=a&b=\"c\"");
+        Map<String, Object> reset = Map.of("resetUrl", "https://example.com/reset?token=x&y=1");
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(thymeleaf("password-setup-email", setup), renderer.render("password-setup-email", setup));
+            assertEquals(thymeleaf("welcome-email", setup), renderer.render("welcome-email", setup));
+            assertEquals(thymeleaf("password-reset-email", reset), renderer.render("password-reset-email", reset));
+        }
+        assertTrue(renderer.render("password-reset-email", reset).contains("token=x&amp;y=1"));
+    }
+
+    @Test
+    void render_TemplateBranchingOnVariableIsRenderedByThymeleaf() {
+        // Arrange
+        Map<String, Object> user = Map.of("name", "Jane");
+        Map<String, Object> admin = Map.of("name", "Admin");
+
+        // Act
+        String userHtml = renderer.render("conditional-test-email", user);
+        String adminHtml = renderer.render("conditional-test-email", admin);
+
+        // Assert
+        assertFalse(userHtml.contains("administrator access"));
+        assertTrue(adminHtml.contains("administrator access"));
+    }
+
+    @Test
+    void render_NonStringValuesAreRenderedByThymeleaf() {
+        // Arrange
+        Map<String, Object> model = Map.of("name", 42, "loginUrl", "https://example.com");
+
+        // Act
+        String html = renderer.render("welcome-email", model);
+
+        // Assert
+        assertEquals(thymeleaf("welcome-email", model), html);
+    }
+
+    private String thymeleaf(String templateName, Map<String, Object> model) {
+        Context context = new Context();
+        context.setVariables(model);
+        return templateEngine.process(templateName, context);
+    }
+}
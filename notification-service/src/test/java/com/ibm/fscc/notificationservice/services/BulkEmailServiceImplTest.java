@@ -0,0 +1,150 @@
+package com.ibm.fscc.notificationservice.services;
+
+import com.ibm.fscc.notificationservice.dto.BulkEmailJobResponse;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRecipient;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRecipientStatus;
+import com.ibm.fscc.notificationservice.dto.BulkEmailRequest;
+import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.rendering.TemplateRenderer;
+import com.ibm.fscc.notificationservice.services.impl.BulkEmailServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkEmailServiceImplTest {
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TemplateRenderer templateRenderer;
+
+    @InjectMocks
+    private BulkEmailServiceImpl bulkEmailService;
+
+    private BulkEmailRequest request;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkEmailService, "renderThreads", 2);
+        ReflectionTestUtils.setField(bulkEmailService, "maxInFlight", 10);
+        ReflectionTestUtils.setField(bulkEmailService, "jobRetentionMinutes", 60L);
+        bulkEmailService.init();
+
+        request = BulkEmailRequest.builder()
+                .jobId("cohort-2024-09")
+                .templateName("welcome-email")
+                .subject("Welcome")
+                .variables(Map.of("loginUrl", "https://example.com/login"))
+                .recipients(List.of(
+                        BulkEmailRecipient.builder().email("a@example.com").variables(Map.of("name", "Ann")).build(),
+                        BulkEmailRecipient.builder().email("b@example.com").variables(Map.of("name", "Bob")).build()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkEmailService.shutdown();
+    }
+
+    @Test
+    void submit_RendersEachRecipientAndTracksStatus() throws Exception {
+        // Arrange
+        when(templateRenderer.render(eq("welcome-email"), any()))
+                .thenAnswer(invocation -> "<p>" + invocation.<Map<String, Object>>getArgument(1).get("name") + "</p>");
+        when(emailService.sendHtmlEmailAsync(eq("a@example.com"), eq("Welcome"), eq("<p>Ann</p>")))
+                .thenReturn(CompletableFuture.completedFuture(
+                        EmailResponse.builder().to("a@example.com").sent(true).sentAt(LocalDateTime.now()).build()));
+        when(emailService.sendHtmlEmailAsync(eq("b@example.com"), eq("Welcome"), eq("<p>Bob</p>")))
+                .thenReturn(CompletableFuture.completedFuture(
+                        EmailResponse.builder().to("b@example.com").sent(false).errorMessage("Mailbox full").build()));
+
+        // Act
+        BulkEmailJobResponse accepted = bulkEmailService.submit(request);
+        BulkEmailJobResponse completed = awaitCompletion(accepted.getJobId());
+
+        // Assert
+        assertEquals("cohort-2024-09", accepted.getJobId());
+        assertEquals(2, accepted.getTotal());
+        assertEquals(1, completed.getSent());
+        assertEquals(1, completed.getFailed());
+        assertEquals(0, completed.getPending());
+        assertNotNull(completed.getCompletedAt());
+        BulkEmailRecipientStatus failed = completed.getRecipients().get(1);
+        assertEquals(BulkEmailRecipientStatus.Status.FAILED, failed.getStatus());
+        assertEquals("Mailbox full", failed.getErrorMessage());
+        verify(templateRenderer).render("welcome-email", Map.of("name", "Ann", "loginUrl", "https://example.com/login"));
+    }
+
+    @Test
+    void submit_SameJobIdIsNotSentTwice() throws Exception {
+        // Arrange
+        when(templateRenderer.render(eq("welcome-email"), any())).thenReturn("<p>Hello</p>");
+        when(emailService.sendHtmlEmailAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(EmailResponse.builder().sent(true).build()));
+        bulkEmailService.submit(request);
+        awaitCompletion(request.getJobId());
+
+        // Act
+        BulkEmailJobResponse again = bulkEmailService.submit(request);
+
+        // Assert
+        assertEquals(BulkEmailJobResponse.Status.COMPLETED, again.getStatus());
+        verify(emailService, times(2)).sendHtmlEmailAsync(any(), any(), any());
+    }
+
+    @Test
+    void submit_RenderFailureMarksOnlyThatRecipient() throws Exception {
+        // Arrange
+        when(templateRenderer.render(eq("welcome-email"), any())).thenAnswer(invocation -> {
+            if ("Bob".equals(invocation.<Map<String, Object>>getArgument(1).get("name"))) {
+                throw new IllegalStateException("Template error");
+            }
+            return "<p>Ann</p>";
+        });
+        when(emailService.sendHtmlEmailAsync(eq("a@example.com"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(EmailResponse.builder().sent(true).build()));
+
+        // Act
+        bulkEmailService.submit(request);
+        BulkEmailJobResponse completed = awaitCompletion(request.getJobId());
+
+        // Assert
+        assertEquals(1, completed.getSent());
+        assertEquals(1, completed.getFailed());
+        assertEquals("Template error", completed.getRecipients().get(1).getErrorMessage());
+    }
+
+    @Test
+    void getJob_UnknownJob_Empty() {
+        assertTrue(bulkEmailService.getJob("missing", true).isEmpty());
+    }
+
+    private BulkEmailJobResponse awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            BulkEmailJobResponse job = bulkEmailService.getJob(jobId, true).orElseThrow();
+            if (job.getStatus() == BulkEmailJobResponse.Status.COMPLETED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Bulk job " + jobId + " did not complete");
+    }
+}
@@ -1,7 +1,9 @@
 package com.ibm.fscc.notificationservice.services;
 
+import com.ibm.fscc.notificationservice.delivery.MailDeliveryEngine;
 import com.ibm.fscc.notificationservice.dto.EmailRequest;
 import com.ibm.fscc.notificationservice.dto.EmailResponse;
+import com.ibm.fscc.notificationservice.rendering.TemplateRenderer;
 import com.ibm.fscc.notificationservice.services.impl.EmailServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,14 +11,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,7 +31,10 @@ public class EmailServiceImplTest {
     private JavaMailSender emailSender;
 
     @Mock
-    private SpringTemplateEngine templateEngine;
+    private TemplateRenderer templateRenderer;
+
+    @Mock
+    private MailDeliveryEngine deliveryEngine;
 
     @Mock
     private MimeMessage mimeMessage;
@@ -53,7 +58,7 @@ public class EmailServiceImplTest {
     @Test
     void sendSimpleEmail_Success() {
         // Arrange
-        doNothing().when(emailSender).send(any(SimpleMailMessage.class));
+        when(deliveryEngine.submit(any(MimeMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         EmailResponse response = emailService.sendSimpleEmail(recipient, subject, content);
@@ -66,13 +71,14 @@ public class EmailServiceImplTest {
         assertNotNull(response.getSentAt());
         assertNull(response.getErrorMessage());
 
-        verify(emailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(deliveryEngine, times(1)).submit(mimeMessage);
     }
 
     @Test
     void sendSimpleEmail_Failure() {
         // Arrange
-        doThrow(new RuntimeException("Test exception")).when(emailSender).send(any(SimpleMailMessage.class));
+        when(deliveryEngine.submit(any(MimeMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new MessagingException("Test exception")));
 
         // Act
         EmailResponse response = emailService.sendSimpleEmail(recipient, subject, content);
@@ -85,13 +91,13 @@ public class EmailServiceImplTest {
         assertNull(response.getSentAt());
         assertNotNull(response.getErrorMessage());
 
-        verify(emailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(deliveryEngine, times(1)).submit(mimeMessage);
     }
 
     @Test
     void sendHtmlEmail_Success() throws Exception {
         // Arrange
-        doNothing().when(emailSender).send(any(MimeMessage.class));
+        when(deliveryEngine.submit(any(MimeMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         EmailResponse response = emailService.sendHtmlEmail(recipient, subject, "<p>" + content + "</p>");
@@ -104,7 +110,7 @@ public class EmailServiceImplTest {
         assertNotNull(response.getSentAt());
         assertNull(response.getErrorMessage());
 
-        verify(emailSender, times(1)).send(any(MimeMessage.class));
+        verify(deliveryEngine, times(1)).submit(mimeMessage);
     }
 
     @Test
@@ -114,8 +120,8 @@ public class EmailServiceImplTest {
         Map<String, Object> templateModel = new HashMap<>();
         templateModel.put("name", "Test User");
 
-        when(templateEngine.process(eq(templateName), any())).thenReturn("<p>Hello Test User</p>");
-        doNothing().when(emailSender).send(any(MimeMessage.class));
+        when(templateRenderer.render(eq(templateName), any())).thenReturn("<p>Hello Test User</p>");
+        when(deliveryEngine.submit(any(MimeMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         EmailResponse response = emailService.sendTemplateEmail(recipient, subject, templateName, templateModel);
@@ -128,8 +134,25 @@ public class EmailServiceImplTest {
         assertNotNull(response.getSentAt());
         assertNull(response.getErrorMessage());
 
-        verify(templateEngine, times(1)).process(eq(templateName), any());
-        verify(emailSender, times(1)).send(any(MimeMessage.class));
+        verify(templateRenderer, times(1)).render(eq(templateName), any());
+        verify(deliveryEngine, times(1)).submit(mimeMessage);
+    }
+
+    @Test
+    void sendTemplateEmailAsync_ReturnsBeforeDelivery() {
+        // Arrange
+        CompletableFuture<Void> delivery = new CompletableFuture<>();
+        when(templateRenderer.render(eq("test-template"), any())).thenReturn("<p>Hello</p>");
+        when(deliveryEngine.submit(any(MimeMessage.class))).thenReturn(delivery);
+
+        // Act
+        CompletableFuture<EmailResponse> pending = emailService.sendTemplateEmailAsync(
+                recipient, subject, "test-template", new HashMap<>());
+
+        // Assert
+        assertFalse(pending.isDone());
+        delivery.complete(null);
+        assertTrue(pending.join().isSent());
     }
 
     @Test
@@ -142,7 +165,7 @@ public class EmailServiceImplTest {
                 .isHtml(true)
                 .build();
 
-        doNothing().when(emailSender).send(any(MimeMessage.class));
+        when(deliveryEngine.submit(any(MimeMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         EmailResponse response = emailService.sendEmail(request);
@@ -155,6 +178,6 @@ public class EmailServiceImplTest {
         assertNotNull(response.getSentAt());
         assertNull(response.getErrorMessage());
 
-        verify(emailSender, times(1)).send(any(MimeMessage.class));
+        verify(deliveryEngine, times(1)).submit(mimeMessage);
     }
 }
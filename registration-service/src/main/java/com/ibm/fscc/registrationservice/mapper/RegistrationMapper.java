@@ -0,0 +1,27 @@
+package com.ibm.fscc.registrationservice.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.ibm.fscc.registrationservice.dto.RegistrationRequestDto;
+import com.ibm.fscc.registrationservice.dto.RegistrationResponseDto;
+import com.ibm.fscc.registrationservice.model.RegistrationEntity;
+
+/**
+ * Entity/DTO conversions for registrations. The implementation is generated
+ * by MapStruct at compile time as plain getter/setter calls.
+ */
+@Mapper(componentModel = "spring")
+public interface RegistrationMapper {
+
+    // userId, status and statusDate are assigned by the registration workflow
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "statusDate", ignore = true)
+    RegistrationEntity toEntity(RegistrationRequestDto request);
+
+    // status is validated and converted by the service
+    @Mapping(target = "status", ignore = true)
+    RegistrationResponseDto toDto(RegistrationEntity entity);
+}
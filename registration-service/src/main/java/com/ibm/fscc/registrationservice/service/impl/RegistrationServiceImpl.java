@@ -5,7 +5,6 @@ import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
@@ -29,6 +28,7 @@ import com.ibm.fscc.registrationservice.exception.DuplicateEmailException;
 import com.ibm.fscc.registrationservice.exception.InvalidStateTransitionException;
 import com.ibm.fscc.registrationservice.exception.InvalidStatusException;
 import com.ibm.fscc.registrationservice.exception.KafkaPublishException;
+import com.ibm.fscc.registrationservice.mapper.RegistrationMapper;
 import com.ibm.fscc.registrationservice.model.RegistrationEntity;
 import com.ibm.fscc.registrationservice.repository.RegistrationRepository;
 import com.ibm.fscc.registrationservice.service.ProducerService;
@@ -42,12 +42,14 @@ public class RegistrationServiceImpl implements RegistrationService {
     private final RegistrationRepository registrationRepository;
     private final ProducerService producerService;
     private final KafkaMongoSyncHealthIndicator healthIndicator;
+    private final RegistrationMapper registrationMapper;
 
     public RegistrationServiceImpl(RegistrationRepository kafkaRepository, ProducerService producerService,
-            KafkaMongoSyncHealthIndicator healthIndicator) {
+            KafkaMongoSyncHealthIndicator healthIndicator, RegistrationMapper registrationMapper) {
         this.registrationRepository = kafkaRepository;
         this.producerService = producerService;
         this.healthIndicator = healthIndicator;
+        this.registrationMapper = registrationMapper;
     }
 
     // Get all registrations, regardless of status
@@ -99,8 +101,7 @@ public class RegistrationServiceImpl implements RegistrationService {
         }
 
         try {
-            RegistrationEntity entity = new RegistrationEntity();
-            BeanUtils.copyProperties(request, entity);
+            RegistrationEntity entity = registrationMapper.toEntity(request);
 
             entity.setUserId(UUID.randomUUID().toString());
             log.debug("[REGISTER] Generated UUID for {}: {}", request.getEmail(), entity.getUserId());
@@ -229,8 +230,7 @@ public class RegistrationServiceImpl implements RegistrationService {
     }
 
     private RegistrationResponseDto toDto(RegistrationEntity entity) {
-        RegistrationResponseDto dto = new RegistrationResponseDto();
-        BeanUtils.copyProperties(entity, dto, "status");
+        RegistrationResponseDto dto = registrationMapper.toDto(entity);
 
         try {
             dto.setStatus(RegistrationStatus.valueOf(entity.getStatus()));
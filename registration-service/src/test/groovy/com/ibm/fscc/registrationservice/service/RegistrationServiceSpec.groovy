@@ -11,6 +11,8 @@ import com.ibm.fscc.registrationservice.service.ProducerService
 import com.ibm.fscc.registrationservice.config.KafkaMongoSyncHealthIndicator
 import com.ibm.fscc.registrationservice.exception.DuplicateEmailException
 import com.ibm.fscc.registrationservice.exception.InvalidStateTransitionException
+import com.ibm.fscc.registrationservice.mapper.RegistrationMapper
+import org.mapstruct.factory.Mappers
 import com.ibm.fscc.common.exception.ResourceNotFoundException
 import com.ibm.fscc.registrationservice.dto.RegistrationRequestDto
 import com.ibm.fscc.registrationservice.dto.RegistrationResponseDto
@@ -41,7 +43,8 @@ class RegistrationServiceSpec extends Specification {
     RegistrationServiceImpl registrationService = new RegistrationServiceImpl(
         registrationRepository,
         producerService,
-        healthIndicator
+        healthIndicator,
+        Mappers.getMapper(RegistrationMapper)
     )
 
     def setup() {
@@ -6,6 +6,7 @@ import com.ibm.fscc.kafka.dto.EmployeeEventDto;
 import com.ibm.fscc.registrationservice.dto.RegistrationResponseDto;
 import com.ibm.fscc.registrationservice.dto.RegistrationStatus;
 import com.ibm.fscc.registrationservice.exception.KafkaPublishException;
+import com.ibm.fscc.registrationservice.mapper.RegistrationMapper;
 import com.ibm.fscc.registrationservice.model.RegistrationEntity;
 import com.ibm.fscc.registrationservice.repository.RegistrationRepository;
 import com.ibm.fscc.registrationservice.service.impl.RegistrationServiceImpl;
@@ -15,6 +16,7 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.support.SendResult;
@@ -49,7 +51,8 @@ public class KafkaMongoSyncTest {
         healthIndicator = mock(KafkaMongoSyncHealthIndicator.class);
 
         MockitoAnnotations.openMocks(this);
-        registrationService = new RegistrationServiceImpl(kafkaRepository, producerService, healthIndicator);
+        registrationService = new RegistrationServiceImpl(kafkaRepository, producerService, healthIndicator,
+                Mappers.getMapper(RegistrationMapper.class));
 
         // Set up dummy SendResult with valid RecordMetadata
         ProducerRecord<String, EmployeeEventDto> record = new ProducerRecord<>(